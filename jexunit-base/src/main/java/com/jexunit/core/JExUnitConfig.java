@@ -66,11 +66,99 @@ public class JExUnitConfig {
          */
         COMMAND_VALIDATION_TYPE("jexunit.command.validation.type", ValidationType.WARN.name()),
 
+        /**
+         * Default timeout of the test commands in milliseconds. A test command running longer will be interrupted (and
+         * abandoned) and fail. <code>0</code> (default) disables the timeout.
+         */
+        COMMAND_TIMEOUT("jexunit.command.timeout", "0"),
+
+        /**
+         * Threshold in milliseconds for logging slow test commands. <code>0</code> (default) disables the logging.
+         */
+        COMMAND_SLOW_THRESHOLD("jexunit.command.slow_threshold", "0"),
+
         /**
          * Limit annotation scan (for command implementations) to given packages and sub-packages.
          * Multiple packages can be split by "<code>,</code>" (comma).
          */
-        ANNOTATION_SCAN_PACKAGE("jexunit.annotation-scan.package", "");
+        ANNOTATION_SCAN_PACKAGE("jexunit.annotation-scan.package", ""),
+
+        /**
+         * Read the test commands out of the index written at compile time (by the TestCommandIndexProcessor) instead
+         * of scanning the classpath. The classpath is still scanned, if there is no index found.
+         */
+        ANNOTATION_SCAN_INDEX("jexunit.annotation-scan.index", "true"),
+
+        /**
+         * Directory for the persistent cache of the classpath scan (if there is no test command index). Only the
+         * classpath entries changed will be scanned again. If empty (default), the cache is disabled.
+         */
+        ANNOTATION_SCAN_CACHE_DIRECTORY("jexunit.annotation-scan.cache_directory", ""),
+
+        /**
+         * Number of threads scanning the classpath roots (if there is no test command index). <code>1</code> will scan
+         * them one after another, <code>0</code> will use as many threads as processors are available.
+         */
+        ANNOTATION_SCAN_PARALLELISM("jexunit.annotation-scan.parallelism", "1"),
+
+        /**
+         * Read the excel-files with the streaming (SAX based) reader instead of loading the whole workbook into memory.
+         * This can also be activated per test via {@code @ExcelFile(streaming = true)}.
+         */
+        EXCEL_STREAMING("jexunit.excel.streaming", "false"),
+
+        /**
+         * How to evaluate the formulas of the excel-files: evaluate all formulas (ALL), only the formulas of the cells
+         * read (ON_READ) or use the cached results (CACHED). See {@link com.jexunit.core.dataprovider.FormulaEvaluation}.
+         */
+        EXCEL_FORMULA_EVALUATION("jexunit.excel.formula_evaluation", "ALL"),
+
+        /**
+         * Number of threads reading the worksheets and excel-files in parallel. <code>1</code> will read them one after
+         * another, <code>0</code> will use as many threads as processors are available.
+         */
+        EXCEL_PARALLELISM("jexunit.excel.parallelism", "1"),
+
+        /**
+         * Directory for the persistent cache of the test data read out of the excel-files. If empty (default), the
+         * cache is disabled.
+         */
+        EXCEL_CACHE_DIRECTORY("jexunit.excel.cache_directory", ""),
+
+        /**
+         * Maximum number of parsed excel-files held in memory to be reused by other tests (classes) in the same JVM.
+         * <code>0</code> (default) disables the cache.
+         */
+        EXCEL_WORKBOOK_CACHE_SIZE("jexunit.excel.workbook_cache_size", "0"),
+
+        /**
+         * Maximum number of parsed OGNL expressions (property names) to be reused for setting and getting the
+         * properties of the test objects. <code>0</code> disables the cache.
+         */
+        OGNL_EXPRESSION_CACHE_SIZE("jexunit.ognl.expression_cache_size", "4096"),
+
+        /**
+         * Set plain and nested bean properties (i.e. <code>address.street</code>) of the test objects directly via
+         * method handles instead of evaluating an OGNL expression. All other property names are still set via OGNL.
+         */
+        OGNL_DIRECT_BINDING("jexunit.ognl.direct_binding", "true"),
+
+        /**
+         * Set the plain bean properties of the test objects via the binders generated at compile time (see
+         * {@link com.jexunit.core.data.TestObjectBinderProcessor}), if there is a binder for the type.
+         */
+        GENERATED_BINDERS("jexunit.ognl.generated_binders", "true"),
+
+        /**
+         * Record the latencies of the test commands and print the statistics at the end of the run.
+         */
+        STATISTICS_ENABLED("jexunit.statistics.enabled", "true"),
+
+        /**
+         * File to write the statistics report to. The process id is added to the file name, so each JVM (i.e. each
+         * fork of surefire) writes its own report. If empty, the report is logged.
+         */
+        STATISTICS_REPORT_FILE("jexunit.statistics.report_file", "target/jexunit-statistics.txt");
 
         private final String key;
         private final String defaultConfig;
@@ -192,6 +280,38 @@ public class JExUnitConfig {
         return getStringProperty(key.getKey());
     }
 
+    /**
+     * Get the configured property with the given ConfigKey as boolean.
+     *
+     * @param key ConfigKey
+     * @return true, if the configured property value is "true" (ignoring case), else false
+     */
+    public static boolean getBooleanProperty(final ConfigKey key) {
+        return Boolean.parseBoolean(getStringProperty(key));
+    }
+
+    /**
+     * Get the configured property with the given ConfigKey as int.
+     *
+     * @param key ConfigKey
+     * @return the configured property value as int
+     * @throws NumberFormatException if the configured property value is not a number
+     */
+    public static int getIntProperty(final ConfigKey key) {
+        return Integer.parseInt(getStringProperty(key).trim());
+    }
+
+    /**
+     * Get the configured property with the given ConfigKey as long.
+     *
+     * @param key ConfigKey
+     * @return the configured property value as long
+     * @throws NumberFormatException if the configured property value is not a number
+     */
+    public static long getLongProperty(final ConfigKey key) {
+        return Long.parseLong(getStringProperty(key).trim());
+    }
+
     /**
      * Get the configured property (DefaultCommand) with the given key add prepend the configured prefix for the default
      * commands.
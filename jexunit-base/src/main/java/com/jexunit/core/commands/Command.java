@@ -1,5 +1,6 @@
 package com.jexunit.core.commands;
 
+import com.jexunit.core.commands.annotation.InstanceScope;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -37,6 +38,17 @@ public class Command {
      */
     private boolean fastFail;
 
+    /**
+     * the default timeout of the command in milliseconds (0 if not set). the invocation will be interrupted and fail
+     * if it takes longer.
+     */
+    private long timeout;
+
+    /**
+     * the scope of the instances of the test command (if type CLASS).
+     */
+    private InstanceScope scope = InstanceScope.ROW;
+
     public static enum Type {
         CLASS, METHOD;
     }
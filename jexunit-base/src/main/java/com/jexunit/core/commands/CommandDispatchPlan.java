@@ -0,0 +1,287 @@
+package com.jexunit.core.commands;
+
+import com.jexunit.core.commands.Command.Type;
+import com.jexunit.core.commands.annotation.InstanceScope;
+import com.jexunit.core.commands.annotation.TestParam;
+import com.jexunit.core.context.Context;
+import com.jexunit.core.context.TestContext;
+import com.jexunit.core.context.TestContextManager;
+import com.jexunit.core.data.TestObjectHelper;
+import com.jexunit.core.model.TestCase;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precompiled dispatch of a test command: the {@link Command} resolved for a command name and test type, the method to
+ * invoke, how to get the instance to invoke the method on and how to bind each parameter out of the test case. The
+ * plans are created once per command name and test type, so running a test case only has to bind the parameters and
+ * invoke the method.
+ *
+ * @author fabian
+ */
+final class CommandDispatchPlan {
+
+    /**
+     * Plan for command names without a test command implementation (the test type has to run the command itself).
+     */
+    static final CommandDispatchPlan NONE = new CommandDispatchPlan();
+
+    // the key for test commands without test type (ConcurrentHashMap doesn't support null keys)
+    private static final Object NO_TEST_TYPE = new Object();
+
+    private static final Map<Object, Map<String, CommandDispatchPlan>> PLANS = new ConcurrentHashMap<>();
+
+    /**
+     * How to get the instance to invoke the test command method on.
+     */
+    enum Receiver {
+        /**
+         * static method, there is no instance needed
+         */
+        STATIC,
+        /**
+         * instance method, invoked on the test instance or an instance out of the test-context
+         */
+        INSTANCE
+    }
+
+    /**
+     * Binds a parameter (or attribute) of the test command out of the current test case.
+     */
+    @FunctionalInterface
+    interface ParameterBinder {
+
+        Object bind(TestCase<?> testCase) throws Exception;
+    }
+
+    private final Command command;
+    private final Method method;
+    private final Receiver receiver;
+    private final ParameterBinder[] parameterBinders;
+    // the invocation chain of the test command (with the interceptors selected once per command)
+    private final TestCommandInvocationHandler.Chain chain;
+
+    // the attributes of the test command class to inject (only for commands of type CLASS)
+    private final Field[] injectedFields;
+    private final ParameterBinder[] fieldBinders;
+
+    private CommandDispatchPlan() {
+        this.command = null;
+        this.method = null;
+        this.receiver = null;
+        this.parameterBinders = null;
+        this.chain = null;
+        this.injectedFields = null;
+        this.fieldBinders = null;
+    }
+
+    CommandDispatchPlan(final Command command) {
+        this.command = command;
+        if (command.getType() == Type.METHOD) {
+            this.method = command.getMethod();
+            this.injectedFields = new Field[0];
+            this.fieldBinders = new ParameterBinder[0];
+        } else if (command.getType() == Type.CLASS) {
+            this.method = getSinglePublicMethod(command);
+            if (method == null) {
+                throw new IllegalArgumentException(
+                        "No public method found in test command class: " + command.getImplementation().getName());
+            }
+
+            final List<Field> fields = new ArrayList<>();
+            final List<ParameterBinder> binders = new ArrayList<>();
+            for (final Field field : command.getImplementation().getDeclaredFields()) {
+                final TestParam[] testParams = field.getAnnotationsByType(TestParam.class);
+                for (final TestParam param : testParams) {
+                    // if key is not set, the field name will be the key
+                    final String key = param.value().isEmpty() ? field.getName() : param.value();
+                    field.setAccessible(true);
+                    fields.add(field);
+                    binders.add(createTestParamBinder(field.getType(), key, param.required()));
+                }
+            }
+            if (!fields.isEmpty() && command.getScope() == InstanceScope.SINGLETON) {
+                // the singleton is shared by the threads, so the rows would overwrite each others parameters
+                throw new IllegalArgumentException(String.format(
+                        "@TestParam attributes are not supported for test commands of scope 'SINGLETON' (%s), "
+                                + "use method parameters instead!", command.getImplementation().getName()));
+            }
+            this.injectedFields = fields.toArray(new Field[fields.size()]);
+            this.fieldBinders = binders.toArray(new ParameterBinder[binders.size()]);
+        } else {
+            throw new IllegalArgumentException("Type of the TestCommand has to be one of 'METHOD' or 'CLASS'!");
+        }
+        this.receiver = Modifier.isStatic(method.getModifiers()) ? Receiver.STATIC : Receiver.INSTANCE;
+        this.parameterBinders = createParameterBinders(method);
+        this.chain = TestCommandInvocationHandler.createChain(command, method,
+                TestCommandInvocationHandler.getInterceptors(command));
+    }
+
+    /**
+     * Get the dispatch plan for the given command name and test type. The plan will be created on first access.
+     *
+     * @param commandName the name of the command (as defined in the test case)
+     * @param testType    the type of the test
+     * @return the dispatch plan or {@link #NONE}, if there is no test command implementation found
+     */
+    static CommandDispatchPlan get(final String commandName, final Class<?> testType) {
+        final Map<String, CommandDispatchPlan> plans = PLANS.computeIfAbsent(
+                testType != null ? testType : NO_TEST_TYPE, t -> new ConcurrentHashMap<>());
+        CommandDispatchPlan plan = plans.get(commandName);
+        if (plan == null) {
+            final Command command = TestCommandScanner.getTestCommand(commandName, testType);
+            plan = command != null ? new CommandDispatchPlan(command) : NONE;
+            if (TestCommandScanner.isScanned()) {
+                // the test commands found won't change anymore
+                plans.put(commandName, plan);
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Check the given test command for a single public method and return this method. If there is no public method
+     * declared, null will be returned. If there are multiple public methods found, an IllegalArgumentException will be
+     * thrown because test commands of type class are allowed only a single public method!
+     *
+     * @param testCommand test command
+     * @return method "behind" the test command
+     */
+    private static Method getSinglePublicMethod(final Command testCommand) {
+        Method method = null;
+        for (final Method m : testCommand.getImplementation().getDeclaredMethods()) {
+            if (Modifier.isPublic(m.getModifiers())) {
+                if (method == null) {
+                    method = m;
+                } else {
+                    throw new IllegalArgumentException(
+                            "Multiple public methods found in test command of type 'CLASS'. This is not allowed!");
+                }
+            }
+        }
+        return method;
+    }
+
+    private static ParameterBinder[] createParameterBinders(final Method method) {
+        final Parameter[] parameters = method.getParameters();
+        final Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        final ParameterBinder[] binders = new ParameterBinder[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            binders[i] = createParameterBinder(parameters[i], parameterAnnotations[i]);
+        }
+        return binders;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ParameterBinder createParameterBinder(final Parameter parameter, final Annotation[] annotations) {
+        final Class<?> parameterType = parameter.getType();
+        if (parameterType == TestCase.class) {
+            return testCase -> testCase;
+        } else if (parameterType == TestContext.class) {
+            return testCase -> TestContextManager.getTestContext();
+        }
+        for (final Annotation a : annotations) {
+            if (a instanceof Context) {
+                // add an instance out of the test-context
+                final String id = ((Context) a).value();
+                if (id.isEmpty()) {
+                    // lookup the instance out of the current TestContext
+                    return testCase -> TestContextManager.get(parameterType);
+                }
+                return testCase -> TestContextManager.get(parameterType, id);
+            } else if (a instanceof TestParam) {
+                // add "single" test-param here
+                final TestParam param = (TestParam) a;
+                String key = param.value();
+                // read out the parameters name if key is NOT set and parameter name is present (possible since jdk 1.8
+                // if compiler argument '-parameters' is set!
+                if (key.isEmpty() && parameter.isNamePresent()) {
+                    // try to get the parameters name as key
+                    key = parameter.getName();
+                }
+                return createTestParamBinder(parameterType, key, param.required());
+            }
+        }
+        return testCase -> TestObjectHelper.createObject(testCase, parameterType);
+    }
+
+    private static ParameterBinder createTestParamBinder(final Class<?> type, final String key,
+                                                         final boolean required) {
+        return testCase -> {
+            final String stringValue = TestObjectHelper.getPropertyByKey(testCase, key);
+            final Object value = TestObjectHelper.convertPropertyStringToObject(type, stringValue);
+            if (required && value == null) {
+                throw new IllegalArgumentException("Required parameter not found: " + key);
+            }
+            return value;
+        };
+    }
+
+    Command getCommand() {
+        return command;
+    }
+
+    Method getMethod() {
+        return method;
+    }
+
+    Receiver getReceiver() {
+        return receiver;
+    }
+
+    /**
+     * Invoke the test command method (via the interceptors) on the given instance.
+     *
+     * @param o          the instance to invoke the method on (null for static methods)
+     * @param parameters the parameters for the method
+     * @throws Exception the exception of the test command (or an interceptor)
+     */
+    void invoke(final Object o, final Object[] parameters) throws Exception {
+        chain.invoke(o, parameters);
+    }
+
+    /**
+     * Get the instance of the test command class (according to its scope, see {@link CommandInstances}), put it to the
+     * test-context and inject the test parameters.
+     *
+     * @param testCase the current test case
+     * @throws Exception in case that the instance cannot be created or the parameters cannot be injected
+     */
+    @SuppressWarnings("unchecked")
+    void prepareCommandInstance(final TestCase<?> testCase) throws Exception {
+        if (command.getType() != Type.CLASS) {
+            return;
+        }
+        final Object instance = CommandInstances.get(command, testCase);
+        TestContextManager.add((Class<Object>) command.getImplementation(), instance);
+
+        // inject Test-Parameters to the class
+        for (int i = 0; i < injectedFields.length; i++) {
+            injectedFields[i].set(instance, fieldBinders[i].bind(testCase));
+        }
+    }
+
+    /**
+     * Bind the parameters for the method out of the test case.
+     *
+     * @param testCase the current test case
+     * @return the parameters to invoke the method with
+     * @throws Exception in case that a parameter cannot be bound
+     */
+    Object[] bindParameters(final TestCase<?> testCase) throws Exception {
+        final Object[] parameters = new Object[parameterBinders.length];
+        for (int i = 0; i < parameterBinders.length; i++) {
+            parameters[i] = parameterBinders[i].bind(testCase);
+        }
+        return parameters;
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.jexunit.core.commands;
+
+import com.jexunit.core.commands.annotation.InstanceScope;
+import com.jexunit.core.model.TestCase;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the instances of the test commands implemented as class according to their {@link InstanceScope}. The
+ * instances are held per implementing class, so all the command names implemented by the same class share the
+ * instances.
+ *
+ * @author fabian
+ */
+final class CommandInstances {
+
+    private static final Map<Class<?>, Object> SINGLETONS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<Class<?>, Object>> THREAD_INSTANCES = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<Map<Class<?>, SheetInstance>> SHEET_INSTANCES =
+            ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * The instance for the worksheet (test group) of the data source (i.e. the excel-file) it was created for.
+     */
+    private static final class SheetInstance {
+
+        private final String source;
+        private final String testGroup;
+        private final Object instance;
+
+        SheetInstance(final String source, final String testGroup, final Object instance) {
+            this.source = source;
+            this.testGroup = testGroup;
+            this.instance = instance;
+        }
+
+        boolean isCreatedFor(final String source, final String testGroup) {
+            return Objects.equals(this.source, source) && Objects.equals(this.testGroup, testGroup);
+        }
+    }
+
+    /**
+     * Private constructor -> only static access.
+     */
+    private CommandInstances() {
+    }
+
+    /**
+     * Get the instance of the test command for the given test case. Depending on the scope of the test command, a new
+     * instance is created or an existing one is reused.
+     *
+     * @param command  the test command (of type CLASS)
+     * @param testCase the current test case
+     * @return the instance of the test command
+     * @throws Exception in case that the instance cannot be created
+     */
+    static Object get(final Command command, final TestCase<?> testCase) throws Exception {
+        final Class<?> type = command.getImplementation();
+        switch (command.getScope()) {
+            case SINGLETON:
+                Object singleton = SINGLETONS.get(type);
+                if (singleton == null) {
+                    synchronized (SINGLETONS) {
+                        singleton = SINGLETONS.get(type);
+                        if (singleton == null) {
+                            singleton = newInstance(type);
+                            SINGLETONS.put(type, singleton);
+                        }
+                    }
+                }
+                return singleton;
+            case THREAD:
+                final Map<Class<?>, Object> threadInstances = THREAD_INSTANCES.get();
+                Object instance = threadInstances.get(type);
+                if (instance == null) {
+                    instance = newInstance(type);
+                    threadInstances.put(type, instance);
+                }
+                return instance;
+            case SHEET:
+                // the worksheets of different excel-files may have the same name
+                final String source = testCase.getMetadata() != null ? testCase.getMetadata().getSource() : null;
+                final String testGroup = testCase.getMetadata() != null ? testCase.getMetadata().getTestGroup() : null;
+                final Map<Class<?>, SheetInstance> sheetInstances = SHEET_INSTANCES.get();
+                SheetInstance sheetInstance = sheetInstances.get(type);
+                if (sheetInstance == null || !sheetInstance.isCreatedFor(source, testGroup)) {
+                    sheetInstance = new SheetInstance(source, testGroup, newInstance(type));
+                    sheetInstances.put(type, sheetInstance);
+                }
+                return sheetInstance.instance;
+            default:
+                return newInstance(type);
+        }
+    }
+
+    /**
+     * Create a new instance of the test command class (via its no-arg constructor).
+     *
+     * @param type the test command class
+     * @return the new instance
+     * @throws Exception the exception of the constructor or in case that the instance cannot be created
+     */
+    private static Object newInstance(final Class<?> type) throws Exception {
+        try {
+            return type.getDeclaredConstructor().newInstance();
+        } catch (final InvocationTargetException e) {
+            // throw the exception of the constructor itself
+            final Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.jexunit.core.commands;
+
+import com.jexunit.core.commands.Command.Type;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable registry of the test commands found by the {@link TestCommandScanner}. The registry is created once the
+ * scan is done, so it can be read by multiple threads without locking.
+ * <p>
+ * The command names are held in an open addressing hash table with a case-insensitive hash, so looking up a command
+ * doesn't have to lower-case (i.e. copy) the command name of the test case. The result of the lookup for a test type
+ * (walking up the superclasses of the test type) is memoized per test type.
+ * </p>
+ *
+ * @author fabian
+ */
+final class CommandRegistry {
+
+    /**
+     * Registry without any test commands (before the scan is done).
+     */
+    static final CommandRegistry EMPTY = new CommandRegistry(new HashMap<>());
+
+    // the key for memoizing the missing test command (ConcurrentHashMap doesn't support null values)
+    private static final Command NOT_FOUND = new Command(null, null);
+
+    private final String[] names;
+    private final Entry[] entries;
+    private final int mask;
+
+    /**
+     * The test commands registered for a single command name.
+     */
+    private static final class Entry {
+
+        // the command of type class or the command method without test type
+        private final Command defaultCommand;
+        // the command methods per test type
+        private final Map<Class<?>, Command> typeCommands;
+        private final Map<Class<?>, Command> resolved = new ConcurrentHashMap<>();
+
+        Entry(final Map<Class<?>, Command> commands) {
+            this.defaultCommand = commands.get(null);
+            this.typeCommands = new HashMap<>(commands);
+            this.typeCommands.remove(null);
+        }
+
+        Command get(final Class<?> testType) {
+            if (testType == null || typeCommands.isEmpty()) {
+                return defaultCommand;
+            }
+            final Command command = resolved.computeIfAbsent(testType, this::resolve);
+            return command == NOT_FOUND ? null : command;
+        }
+
+        private Command resolve(final Class<?> testType) {
+            // not found? check superclass
+            Class<?> cls = testType;
+            do {
+                final Command c = typeCommands.get(cls);
+                if (c != null && (c.getType() == Type.CLASS || c.getImplementation() == cls)) {
+                    return c;
+                }
+            } while ((cls = cls.getSuperclass()) != null);
+            return defaultCommand != null ? defaultCommand : NOT_FOUND;
+        }
+    }
+
+    /**
+     * Create the registry for the given test commands.
+     *
+     * @param commands the test commands per (lower-case) command name and test type (<code>null</code> for test
+     *                 commands of type class or command methods without test type)
+     */
+    CommandRegistry(final Map<String, Map<Class<?>, Command>> commands) {
+        // the load factor is at most 0.5, so the probing sequences are short
+        int capacity = 2;
+        while (capacity < commands.size() * 2) {
+            capacity <<= 1;
+        }
+        this.names = new String[capacity];
+        this.entries = new Entry[capacity];
+        this.mask = capacity - 1;
+
+        for (final Map.Entry<String, Map<Class<?>, Command>> command : commands.entrySet()) {
+            if (command.getValue() == null || command.getValue().isEmpty()) {
+                continue;
+            }
+            int i = hash(command.getKey()) & mask;
+            while (names[i] != null) {
+                i = (i + 1) & mask;
+            }
+            names[i] = command.getKey();
+            entries[i] = new Entry(command.getValue());
+        }
+    }
+
+    /**
+     * Get the test command for the given command name (ignoring case) and test type. If there is no command method
+     * found for the test type (or one of its superclasses), the test command of type class or the command method
+     * without test type is returned.
+     *
+     * @param commandName the name of the command
+     * @param testType    the type of the test (or null)
+     * @return the test command or null, if there is none found
+     */
+    Command get(final String commandName, final Class<?> testType) {
+        final Entry entry = find(commandName);
+        return entry != null ? entry.get(testType) : null;
+    }
+
+    /**
+     * Check if there is a test command registered for the given command name (ignoring case).
+     *
+     * @param commandName the name of the command
+     * @return true, if there is a test command registered, else false
+     */
+    boolean contains(final String commandName) {
+        return find(commandName) != null;
+    }
+
+    private Entry find(final String commandName) {
+        int i = hash(commandName) & mask;
+        String name;
+        while ((name = names[i]) != null) {
+            if (name.length() == commandName.length() && name.regionMatches(true, 0, commandName, 0, name.length())) {
+                return entries[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Hash of the case-folded name. The characters are folded the way {@link String#regionMatches(boolean, int,
+     * String, int, int)} compares them ignoring case, so names equal ignoring case always have the same hash.
+     */
+    private static int hash(final String name) {
+        int h = 0;
+        for (int i = 0; i < name.length(); i++) {
+            h = 31 * h + Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+        }
+        // spread the higher bits, the table is indexed by the lower bits only
+        return h ^ (h >>> 16);
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.jexunit.core.commands;
+
+import com.jexunit.core.context.TestContext;
+import com.jexunit.core.context.TestContextManager;
+import com.jexunit.core.model.Metadata;
+import com.jexunit.core.model.TestCase;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Watchdog for the timeouts of the test commands. A test command with a timeout is invoked in a (daemon) thread of a
+ * shared, cached thread pool, while the thread of the test waits for it. If the test command doesn't finish in time,
+ * it will be interrupted and abandoned, so a hanging test command doesn't block the whole test run.
+ * <p>
+ * The thread shares the TestContext of the test (see {@link TestContextManager}). Everything else (i.e. the
+ * instances of the test commands and the parameters) is prepared in the thread of the test. An abandoned test command
+ * may still use the TestContext, so the TestContext is marked as tainted: the following test commands of the same
+ * worksheet fail fast (see {@link #checkTestContext(TestCase)}) and the next worksheet gets a new TestContext.
+ * </p>
+ *
+ * @author fabian
+ */
+final class CommandWatchdog {
+
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "jexunit-command-" + THREAD_NUMBER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // the test-contexts shared with a test command, that timed out (and may still be running)
+    private static final Map<TestContext, Taint> TAINTED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * The worksheet (test group) a test command timed out in.
+     */
+    private static final class Taint {
+
+        private final String source;
+        private final String testGroup;
+        private final String description;
+
+        Taint(final TestCase<?> testCase, final String description) {
+            final Metadata metadata = testCase != null ? testCase.getMetadata() : null;
+            this.source = metadata != null ? metadata.getSource() : null;
+            this.testGroup = metadata != null ? metadata.getTestGroup() : null;
+            this.description = description;
+        }
+
+        boolean isSheetOf(final TestCase<?> testCase) {
+            final Metadata metadata = testCase.getMetadata();
+            return metadata != null ? Objects.equals(source, metadata.getSource())
+                    && Objects.equals(testGroup, metadata.getTestGroup()) : source == null && testGroup == null;
+        }
+    }
+
+    /**
+     * Private constructor -> only static access.
+     */
+    private CommandWatchdog() {
+    }
+
+    /**
+     * Check the TestContext of the current thread before running the given test case. If a test command timed out
+     * with this TestContext in the worksheet of the test case, the test case fails fast. If the test case belongs to
+     * another worksheet, a new TestContext is set for the current thread.
+     *
+     * @param testCase the test case to run
+     * @throws IllegalStateException if a test command of the worksheet timed out before
+     */
+    static void checkTestContext(final TestCase<?> testCase) {
+        if (TAINTED.isEmpty()) {
+            return;
+        }
+        final TestContext testContext = TestContextManager.getTestContext();
+        final Taint taint = TAINTED.get(testContext);
+        if (taint == null) {
+            return;
+        }
+        if (taint.isSheetOf(testCase)) {
+            throw new IllegalStateException(String.format(
+                    "The TestContext may still be used by a timed out TestCommand! (%s)", taint.description));
+        }
+        TAINTED.remove(testContext);
+        TestContextManager.setTestContext(new TestContext());
+    }
+
+    /**
+     * Invoke the given test command with a timeout.
+     *
+     * @param invocable   the test command to invoke
+     * @param parameters  the parameters for the test command
+     * @param timeout     the timeout in milliseconds (has to be greater than 0)
+     * @param testCase    the current test case
+     * @param description the description of the test command for the failure (i.e. the command and the cell)
+     * @throws TimeoutException if the test command doesn't finish in time
+     * @throws Exception        the exception of the test command
+     */
+    static void invoke(final Invocable invocable, final Object[] parameters, final long timeout,
+                       final TestCase<?> testCase, final String description) throws Exception {
+        final TestContext testContext = TestContextManager.getTestContext();
+        final AtomicReference<Thread> worker = new AtomicReference<>();
+        final Future<?> future = EXECUTOR.submit(() -> {
+            worker.set(Thread.currentThread());
+            final TestContext previous = TestContextManager.getTestContext();
+            TestContextManager.setTestContext(testContext);
+            try {
+                invocable.invoke(parameters);
+            } finally {
+                TestContextManager.setTestContext(previous);
+            }
+            return null;
+        });
+
+        try {
+            future.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (final ExecutionException e) {
+            final Throwable thrown = e.getCause();
+            if (thrown instanceof Exception) {
+                throw (Exception) thrown;
+            } else if (thrown instanceof Error) {
+                throw (Error) thrown;
+            }
+            throw new IllegalStateException(thrown);
+        } catch (final TimeoutException e) {
+            // show where the test command hangs
+            final Thread thread = worker.get();
+            final StackTraceElement[] stackTrace = thread != null ? thread.getStackTrace() : e.getStackTrace();
+            future.cancel(true);
+            TAINTED.put(testContext, new Taint(testCase, description));
+            final TimeoutException timeoutException = new TimeoutException(
+                    String.format("TestCommand timed out after %d ms! (%s)", timeout, description));
+            timeoutException.setStackTrace(stackTrace);
+            throw timeoutException;
+        } catch (final InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        }
+    }
+
+}
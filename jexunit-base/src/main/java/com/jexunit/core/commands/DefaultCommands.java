@@ -4,7 +4,7 @@ import lombok.Getter;
 
 /**
  * Here the default/built-in commands and command-attributes are defined. These are the following ones: disabled,
- * exception_expected, report, breakpoint, comment.
+ * exception_expected, report, breakpoint, comment, fastFail, multiline, timeout.
  *
  * @author fabian
  */
@@ -38,6 +38,12 @@ public enum DefaultCommands {
      */
     FAST_FAIL("jexunit.defaultcommand.fastfail", "fastFail"),
 
+    /**
+     * Parameter for the timeout (in milliseconds) of a command. This parameter will override the default setting of
+     * the test command.
+     */
+    TIMEOUT("jexunit.defaultcommand.timeout", "timeout"),
+
     /**
      * Parameter for a multiline command. This parameter will override the default setting of
      * the test command.
@@ -0,0 +1,115 @@
+package com.jexunit.core.commands;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Invoker for the test command methods. Each method is converted into a {@link MethodHandle} once, so invoking the
+ * test command doesn't need the reflective access checks and argument handling of {@link Method#invoke(Object,
+ * Object...)} anymore. The invoker behaves like {@link Method#invoke(Object, Object...)}: arguments not matching the
+ * method exactly are passed to the reflection (to be converted or rejected), exceptions thrown by the method are
+ * wrapped into an {@link InvocationTargetException}.
+ *
+ * @author fabian
+ */
+final class MethodInvoker {
+
+    private static final Map<Method, MethodInvoker> INVOKERS = new ConcurrentHashMap<>();
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private final Method method;
+    // null, if the method is not accessible via method handle (the method will be invoked reflectively)
+    private final MethodHandle handle;
+    private final boolean staticMethod;
+    // the (boxed) parameter types to check the arguments
+    private final Class<?>[] parameterTypes;
+    private final boolean[] primitives;
+
+    private MethodInvoker(final Method method) {
+        this.method = method;
+        this.staticMethod = Modifier.isStatic(method.getModifiers());
+
+        final Class<?>[] types = method.getParameterTypes();
+        this.parameterTypes = new Class<?>[types.length];
+        this.primitives = new boolean[types.length];
+        for (int i = 0; i < types.length; i++) {
+            primitives[i] = types[i].isPrimitive();
+            parameterTypes[i] = primitives[i] ? MethodType.methodType(types[i]).wrap().returnType() : types[i];
+        }
+
+        MethodHandle methodHandle;
+        try {
+            methodHandle = MethodHandles.lookup().unreflect(method);
+            if (staticMethod) {
+                // ignore the instance
+                methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+            }
+            methodHandle = methodHandle.asSpreader(Object[].class, types.length).asType(INVOKER_TYPE);
+        } catch (final IllegalAccessException e) {
+            methodHandle = null;
+        }
+        this.handle = methodHandle;
+    }
+
+    /**
+     * Get the invoker for the given method. The invoker will be created on first access.
+     *
+     * @param method the method to invoke
+     * @return the invoker for the method
+     */
+    static MethodInvoker of(final Method method) {
+        return INVOKERS.computeIfAbsent(method, MethodInvoker::new);
+    }
+
+    /**
+     * Invoke the method.
+     *
+     * @param instance   the instance to invoke the method on (ignored for static methods)
+     * @param parameters the parameters for the method
+     * @return the result of the method
+     * @throws IllegalAccessException    if the method is not accessible
+     * @throws IllegalArgumentException  if the instance or the parameters don't match the method
+     * @throws InvocationTargetException if the method throws an exception
+     */
+    Object invoke(final Object instance, final Object... parameters)
+            throws IllegalAccessException, InvocationTargetException {
+        if (handle == null || !matches(instance, parameters)) {
+            // let the reflection report the invalid arguments (or convert them, i.e. widening of primitives)
+            return method.invoke(instance, parameters);
+        }
+        try {
+            return (Object) handle.invokeExact(instance, parameters);
+        } catch (final Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    /**
+     * Check if the arguments exactly match the method, so the method handle will never fail on converting the arguments
+     * (and every exception thrown is thrown by the method itself).
+     */
+    private boolean matches(final Object instance, final Object[] parameters) {
+        if (!staticMethod && !method.getDeclaringClass().isInstance(instance)) {
+            return false;
+        }
+        final int length = parameters == null ? 0 : parameters.length;
+        if (length != parameterTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            final Object parameter = parameters[i];
+            if (parameter == null ? primitives[i] : !parameterTypes[i].isInstance(parameter)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
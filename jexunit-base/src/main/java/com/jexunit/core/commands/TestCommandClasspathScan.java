@@ -0,0 +1,293 @@
+package com.jexunit.core.commands;
+
+import com.jexunit.core.JExUnitConfig;
+import com.jexunit.core.commands.annotation.TestCommand;
+import com.jexunit.core.commands.annotation.TestCommand.TestCommands;
+import eu.infomas.annotation.AnnotationDetector;
+import eu.infomas.annotation.AnnotationDetector.MethodReporter;
+import eu.infomas.annotation.AnnotationDetector.TypeReporter;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.annotation.Annotation;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Scan of the classpath roots (jar-files and directories) for the classes containing test commands. Each root is
+ * scanned on its own with the {@link AnnotationDetector}, so the roots can be scanned in parallel (see
+ * {@link JExUnitConfig.ConfigKey#ANNOTATION_SCAN_PARALLELISM}) and their results can be cached (see
+ * {@link TestCommandScanCache}). The classes found are not loaded, the result has the format of the test command index
+ * (see {@link TestCommandIndexProcessor}).
+ *
+ * @author fabian
+ */
+final class TestCommandClasspathScan {
+
+    /**
+     * Private constructor -> only static access.
+     */
+    private TestCommandClasspathScan() {
+    }
+
+    /**
+     * Get the configured parallelism.
+     *
+     * @return the number of threads to scan the classpath roots with
+     */
+    static int getParallelism() {
+        final int parallelism = JExUnitConfig.getIntProperty(JExUnitConfig.ConfigKey.ANNOTATION_SCAN_PARALLELISM);
+        return parallelism <= 0 ? Runtime.getRuntime().availableProcessors() : parallelism;
+    }
+
+    /**
+     * Get the classpath roots to scan. Without packages these are the entries of the classpath, else the directories of
+     * the packages and the jar-files containing the packages (like the {@link AnnotationDetector} does).
+     *
+     * @param packages the packages to scan (or null to scan the whole classpath)
+     * @return the existing jar-files and directories to scan
+     * @throws IOException in case that the packages cannot be resolved
+     */
+    static List<File> getRoots(final String[] packages) throws IOException {
+        final Set<File> roots = new LinkedHashSet<>();
+        if (packages == null) {
+            final String classPath = System.getProperty("java.class.path");
+            if (classPath != null) {
+                for (final String path : classPath.split(File.pathSeparator)) {
+                    final File root = new File(path);
+                    if (!path.isEmpty() && root.exists()) {
+                        roots.add(root);
+                    }
+                }
+            }
+            return new ArrayList<>(roots);
+        }
+
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        for (final String p : packages) {
+            final Enumeration<URL> urls = classLoader.getResources(p.trim().replace('.', '/') + "/");
+            while (urls.hasMoreElements()) {
+                final URL url = urls.nextElement();
+                if ("file".equals(url.getProtocol())) {
+                    roots.add(toFile(url));
+                } else if ("jar".equals(url.getProtocol())) {
+                    roots.add(toFile(((JarURLConnection) url.openConnection()).getJarFileURL()));
+                }
+            }
+        }
+        return new ArrayList<>(roots);
+    }
+
+    private static File toFile(final URL url) throws IOException {
+        try {
+            return new File(url.toURI());
+        } catch (final URISyntaxException | IllegalArgumentException e) {
+            throw new IOException("Not a file: " + url, e);
+        }
+    }
+
+    /**
+     * Read the test command indexes written at compile time (see {@link TestCommandIndexProcessor}) per classpath root.
+     *
+     * @param classLoader the class loader to get the indexes from
+     * @return the entries of the indexes per classpath root (the jar-file or directory containing the index). The
+     * entries of indexes not found in a jar-file or directory are mapped to the key <code>null</code>.
+     * @throws IOException in case that an index cannot be read
+     */
+    static Map<File, Collection<String>> readIndexes(final ClassLoader classLoader) throws IOException {
+        final Map<File, Collection<String>> indexes = new LinkedHashMap<>();
+        final Enumeration<URL> urls = classLoader.getResources(TestCommandIndexProcessor.INDEX_LOCATION);
+        while (urls.hasMoreElements()) {
+            final URL url = urls.nextElement();
+            final Collection<String> entries = indexes.computeIfAbsent(getIndexRoot(url), r -> new LinkedHashSet<>());
+            try (final BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.trim().isEmpty()) {
+                        entries.add(line.trim());
+                    }
+                }
+            }
+        }
+        return indexes;
+    }
+
+    private static File getIndexRoot(final URL index) throws IOException {
+        if ("file".equals(index.getProtocol())) {
+            File root = toFile(index);
+            for (int i = TestCommandIndexProcessor.INDEX_LOCATION.split("/").length; i > 0 && root != null; i--) {
+                root = root.getParentFile();
+            }
+            return root != null ? normalize(root) : null;
+        } else if ("jar".equals(index.getProtocol())) {
+            return normalize(toFile(((JarURLConnection) index.openConnection()).getJarFileURL()));
+        }
+        return null;
+    }
+
+    private static File normalize(final File file) {
+        return file.getAbsoluteFile().toPath().normalize().toFile();
+    }
+
+    /**
+     * Scan the given classpath roots. With a parallelism greater than one, the roots are scanned by multiple threads.
+     * The results are merged in the order of the roots.
+     *
+     * @param roots       the jar-files and directories to scan
+     * @param cache       the cache of the scan results (or null, if the cache is disabled)
+     * @param parallelism the number of threads to scan the roots with
+     * @return the entries in the format of the test command index
+     * @throws IOException in case that a root cannot be scanned
+     */
+    static Set<String> scan(final List<File> roots, final TestCommandScanCache cache, final int parallelism)
+            throws IOException {
+        return scan(roots, Collections.emptyMap(), cache, parallelism);
+    }
+
+    /**
+     * Scan the given classpath roots without a test command index. The roots with an index (or the package directories
+     * inside a directory with an index) are not scanned, the entries of their index are used instead. The entries of
+     * the indexes not belonging to any of the roots are added at the end.
+     *
+     * @param roots       the jar-files and directories to scan
+     * @param indexes     the entries of the test command indexes per classpath root (see
+     *                    {@link #readIndexes(ClassLoader)})
+     * @param cache       the cache of the scan results (or null, if the cache is disabled)
+     * @param parallelism the number of threads to scan the roots with
+     * @return the entries in the format of the test command index
+     * @throws IOException in case that a root cannot be scanned
+     */
+    static Set<String> scan(final List<File> roots, final Map<File, Collection<String>> indexes,
+                            final TestCommandScanCache cache, final int parallelism) throws IOException {
+        final Set<File> indexesUsed = new HashSet<>();
+        final List<Callable<Collection<String>>> tasks = new ArrayList<>(roots.size());
+        for (final File root : roots) {
+            final File indexRoot = findIndexRoot(root, indexes.keySet());
+            if (indexRoot != null) {
+                indexesUsed.add(indexRoot);
+                final Collection<String> indexed = indexes.get(indexRoot);
+                tasks.add(() -> indexed);
+            } else {
+                tasks.add(() -> scanRoot(root, cache));
+            }
+        }
+
+        final Set<String> entries = run(tasks, parallelism);
+        for (final Map.Entry<File, Collection<String>> index : indexes.entrySet()) {
+            if (!indexesUsed.contains(index.getKey())) {
+                entries.addAll(index.getValue());
+            }
+        }
+        return entries;
+    }
+
+    private static File findIndexRoot(final File root, final Set<File> indexRoots) {
+        if (indexRoots.isEmpty()) {
+            return null;
+        }
+        final File normalized = normalize(root);
+        if (indexRoots.contains(normalized)) {
+            return normalized;
+        }
+        // the package directories (if the scan is restricted to packages) are inside the classpath root
+        for (final File indexRoot : indexRoots) {
+            if (indexRoot != null && indexRoot.isDirectory() && normalized.toPath().startsWith(indexRoot.toPath())) {
+                return indexRoot;
+            }
+        }
+        return null;
+    }
+
+    private static Set<String> run(final List<Callable<Collection<String>>> tasks, final int parallelism)
+            throws IOException {
+        final Set<String> entries = new LinkedHashSet<>();
+        if (parallelism <= 1 || tasks.size() <= 1) {
+            for (final Callable<Collection<String>> task : tasks) {
+                try {
+                    entries.addAll(task.call());
+                } catch (final IOException | RuntimeException e) {
+                    throw e;
+                } catch (final Exception e) {
+                    throw new IOException("Cannot scan the classpath!", e);
+                }
+            }
+            return entries;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, tasks.size()), r -> {
+            final Thread thread = new Thread(r, "jexunit-annotation-scan");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<Collection<String>>> results = new ArrayList<>(tasks.size());
+            for (final Callable<Collection<String>> task : tasks) {
+                results.add(executor.submit(task));
+            }
+            for (final Future<Collection<String>> result : results) {
+                entries.addAll(result.get());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Scanning the classpath interrupted!", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Cannot scan the classpath!", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return entries;
+    }
+
+    private static Collection<String> scanRoot(final File root, final TestCommandScanCache cache) throws IOException {
+        return cache != null ? cache.scan(root) : scanRoot(root);
+    }
+
+    /**
+     * Scan the given classpath root (without the cache).
+     *
+     * @param root the jar-file or directory to scan
+     * @return the entries in the format of the test command index
+     * @throws IOException in case that the root cannot be scanned
+     */
+    static Collection<String> scanRoot(final File root) throws IOException {
+        final IndexCollector collector = new IndexCollector();
+        new AnnotationDetector(collector).detect(root);
+        return collector.entries;
+    }
+
+    /**
+     * Collects the classes reported by the {@link AnnotationDetector} without loading them.
+     */
+    private static final class IndexCollector implements TypeReporter, MethodReporter {
+
+        private final Set<String> entries = new TreeSet<>();
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Class<? extends Annotation>[] annotations() {
+            return new Class[]{TestCommand.class, TestCommands.class};
+        }
+
+        @Override
+        public void reportTypeAnnotation(final Class<? extends Annotation> annotation, final String className) {
+            entries.add(TestCommandIndexProcessor.TYPE_ENTRY + " " + className);
+        }
+
+        @Override
+        public void reportMethodAnnotation(final Class<? extends Annotation> annotation, final String className,
+                                           final String methodName) {
+            entries.add(TestCommandIndexProcessor.METHOD_ENTRY + " " + className);
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.jexunit.core.commands;
+
+import com.jexunit.core.commands.annotation.TestCommand;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Annotation processor writing the index of the test commands at compile time. The index lists each class annotated
+ * with {@code @TestCommand} (<i>"type"</i>) or declaring methods annotated with {@code @TestCommand}
+ * (<i>"method"</i>), so the {@link TestCommandScanner} doesn't have to scan the whole classpath.
+ * <p>
+ * The index is written to {@value #INDEX_LOCATION}, one entry per line: <code>&lt;type|method&gt; &lt;binary class
+ * name&gt;</code>. An existing index (i.e. of an incremental build) is merged with the entries found.
+ * </p>
+ *
+ * @author fabian
+ */
+public class TestCommandIndexProcessor extends AbstractProcessor {
+
+    /**
+     * The location of the test command index in the classpath.
+     */
+    public static final String INDEX_LOCATION = "META-INF/jexunit/test-commands.idx";
+
+    static final String TYPE_ENTRY = "type";
+    static final String METHOD_ENTRY = "method";
+
+    private final Set<String> entries = new TreeSet<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        final Set<String> annotationTypes = new HashSet<>();
+        annotationTypes.add(TestCommand.class.getCanonicalName());
+        annotationTypes.add(TestCommand.TestCommands.class.getCanonicalName());
+        return Collections.unmodifiableSet(annotationTypes);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        for (final TypeElement annotation : annotations) {
+            for (final Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.METHOD) {
+                    addEntry(METHOD_ENTRY, (TypeElement) element.getEnclosingElement());
+                } else if (element instanceof TypeElement) {
+                    addEntry(TYPE_ENTRY, (TypeElement) element);
+                }
+            }
+        }
+
+        if (roundEnv.processingOver() && !entries.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void addEntry(final String kind, final TypeElement type) {
+        entries.add(kind + " " + processingEnv.getElementUtils().getBinaryName(type));
+    }
+
+    private void writeIndex() {
+        try {
+            readExistingIndex();
+        } catch (final IOException e) {
+            // there is no index yet
+        }
+
+        try {
+            final FileObject index = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (final Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(index.openOutputStream(), StandardCharsets.UTF_8))) {
+                for (final String entry : entries) {
+                    writer.write(entry);
+                    writer.write('\n');
+                }
+            }
+        } catch (final IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Cannot write the test command index " + INDEX_LOCATION + ": " + e);
+        }
+    }
+
+    private void readExistingIndex() throws IOException {
+        final FileObject existing = processingEnv.getFiler()
+                .getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+        try (final BufferedReader reader = new BufferedReader(
+                new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty()) {
+                    entries.add(line);
+                }
+            }
+        }
+    }
+
+}
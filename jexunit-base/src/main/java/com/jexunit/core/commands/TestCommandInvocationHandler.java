@@ -1,43 +1,105 @@
 package com.jexunit.core.commands;
 
+import com.jexunit.core.spi.CommandInterceptor;
+import com.jexunit.core.spi.ServiceRegistry;
+
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * This class will invoke the test command. This will also be used as factory to be able to add proxies for auditing,
- * logging, statistics and so on.
+ * This class will invoke the test command. This will also be used as factory to add the {@link CommandInterceptor}s
+ * for auditing, logging, statistics and so on.
  *
  * @author Fabian
  */
 public class TestCommandInvocationHandler implements Invocable {
 
+    private static final CommandInterceptor[] NO_INTERCEPTORS = new CommandInterceptor[0];
+
+    /**
+     * Invocation chain of a test command (the interceptors and the test command method). The instance to invoke the
+     * method on is passed for each invocation, so the chain can be built once per test command.
+     */
+    @FunctionalInterface
+    interface Chain {
+
+        void invoke(Object o, Object[] parameters) throws Exception;
+    }
+
     public static Invocable getInvocationHandler(final Command testCommand, final Method method, final Object o) {
-        // TODO: here we can "decide" which proxies to use ...
-        final TestCommandInvocationHandler tcih = new TestCommandInvocationHandler(testCommand, method, o);
-
-        // ServiceLoader<InvocationHandler> invocationHandlers = ServiceLoader.load(InvocationHandler.class);
-        // invocationHandlers.
-        // for () {
-        //
-        // }
-        // return AuditProxy.newInstance(tcih);
-        return tcih;
+        final CommandInterceptor[] interceptors = getInterceptors(testCommand);
+        if (interceptors.length == 0) {
+            return new TestCommandInvocationHandler(testCommand, method, o);
+        }
+        final Chain chain = createChain(testCommand, method, interceptors);
+        return parameters -> chain.invoke(o, parameters);
+    }
+
+    /**
+     * Create the invocation chain for the test command with the given interceptors.
+     *
+     * @param testCommand  the test command
+     * @param method       the method to invoke
+     * @param interceptors the interceptors for the test command (see {@link #getInterceptors(Command)})
+     * @return the invocation chain (starting with the first interceptor)
+     */
+    static Chain createChain(final Command testCommand, final Method method, final CommandInterceptor[] interceptors) {
+        final MethodInvoker invoker = MethodInvoker.of(method);
+        Chain chain = (o, parameters) -> invoke(invoker, o, parameters);
+        // chain the interceptors from the last to the first one
+        for (int i = interceptors.length - 1; i >= 0; i--) {
+            final CommandInterceptor interceptor = interceptors[i];
+            final Chain next = chain;
+            chain = (o, parameters) -> interceptor.intercept(testCommand, parameters, p -> next.invoke(o, p));
+        }
+        return chain;
+    }
+
+    /**
+     * Get the interceptors registered (via {@link ServiceRegistry}) for the given test command.
+     *
+     * @param testCommand the test command
+     * @return the interceptors supporting the test command (in the order they are registered)
+     */
+    static CommandInterceptor[] getInterceptors(final Command testCommand) {
+        final List<CommandInterceptor> registered =
+                ServiceRegistry.getInstance().getServicesFor(CommandInterceptor.class);
+        if (registered == null || registered.isEmpty()) {
+            return NO_INTERCEPTORS;
+        }
+        final List<CommandInterceptor> interceptors = new ArrayList<>(registered.size());
+        for (final CommandInterceptor interceptor : registered) {
+            if (interceptor.supports(testCommand)) {
+                interceptors.add(interceptor);
+            }
+        }
+        return interceptors.toArray(NO_INTERCEPTORS);
     }
 
     Command testCommand;
     Method method;
     Object o;
+    // the method handle based invoker, created once per method
+    final MethodInvoker invoker;
 
     public TestCommandInvocationHandler(final Command testCommand, final Method method, final Object o) {
         this.testCommand = testCommand;
         this.method = method;
         this.o = o;
+        this.invoker = MethodInvoker.of(method);
     }
 
     @Override
     public void invoke(final Object... parameters) throws Exception {
+        invoke(invoker, o, parameters);
+    }
+
+    private static void invoke(final MethodInvoker invoker, final Object o, final Object[] parameters)
+            throws Exception {
         try {
-            method.invoke(o, parameters);
+            invoker.invoke(o, parameters);
         } catch (final IllegalAccessException | IllegalArgumentException e) {
             e.printStackTrace();
             throw e;
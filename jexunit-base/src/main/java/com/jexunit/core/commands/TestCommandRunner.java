@@ -1,21 +1,15 @@
 package com.jexunit.core.commands;
 
 import com.jexunit.core.JExUnitConfig;
-import com.jexunit.core.commands.Command.Type;
-import com.jexunit.core.commands.annotation.TestParam;
-import com.jexunit.core.context.Context;
-import com.jexunit.core.context.TestContext;
 import com.jexunit.core.context.TestContextManager;
-import com.jexunit.core.data.TestObjectHelper;
+import com.jexunit.core.jfr.JfrEvents;
+import com.jexunit.core.model.Metadata;
 import com.jexunit.core.model.TestCase;
+import com.jexunit.core.statistics.CommandStatistics;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-import java.lang.reflect.Parameter;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
 
 /**
  * Helper class for running the test-commands.
@@ -24,10 +18,22 @@ import java.util.List;
  */
 public class TestCommandRunner {
 
+    private static final Logger LOG = Logger.getLogger(TestCommandRunner.class.getName());
+
     private final TestCommandHost testBase;
+    private final boolean statistics;
+    // timeouts in milliseconds (0 if disabled)
+    private final long defaultTimeout;
+    private final long slowThreshold;
+    // the name of the worksheet for the statistics (of the last test group)
+    private String lastTestGroup;
+    private String lastSheet;
 
     public TestCommandRunner(final TestCommandHost testBase) {
         this.testBase = testBase;
+        this.statistics = CommandStatistics.isEnabled();
+        this.defaultTimeout = JExUnitConfig.getLongProperty(JExUnitConfig.ConfigKey.COMMAND_TIMEOUT);
+        this.slowThreshold = JExUnitConfig.getLongProperty(JExUnitConfig.ConfigKey.COMMAND_SLOW_THRESHOLD);
     }
 
     /**
@@ -36,208 +42,119 @@ public class TestCommandRunner {
      * @param testCase the current testCase to run
      * @throws Exception in case that something goes wrong
      */
-    @SuppressWarnings("unchecked")
     public void runTestCommand(final TestCase<?> testCase) throws Exception {
         // remove the parameters used by the framework
         removeFrameworkParameters(testCase);
 
         // check, which method to run for the current TestCommand
-        final Command testCommand = TestCommandScanner.getTestCommand(testCase.getTestCommand().toLowerCase(),
-                testBase.getTestType());
-        if (testCommand != null) {
+        final CommandDispatchPlan plan = CommandDispatchPlan.get(testCase.getTestCommand(), testBase.getTestType());
+        final Object event = JfrEvents.beginCommandInvocation();
+        final long start = statistics || slowThreshold > 0 ? System.nanoTime() : 0;
+        Throwable thrown = null;
+        try {
+            runTestCommand(plan, testCase);
+        } catch (final Throwable t) {
+            thrown = t;
+            throw t;
+        } finally {
+            if (statistics || slowThreshold > 0) {
+                final long nanos = System.nanoTime() - start;
+                if (statistics) {
+                    recordStatistics(plan, testCase, nanos);
+                }
+                if (slowThreshold > 0 && nanos > TimeUnit.MILLISECONDS.toNanos(slowThreshold)) {
+                    LOG.warning(String.format("Slow TestCommand: %s took %d ms (threshold: %d ms), %s",
+                            getCommandName(plan, testCase), TimeUnit.NANOSECONDS.toMillis(nanos), slowThreshold,
+                            getDetailedIdentifier(testCase)));
+                }
+            }
+            if (event != null) {
+                final Metadata metadata = testCase.getMetadata();
+                JfrEvents.commitCommandInvocation(event, getCommandName(plan, testCase),
+                        metadata != null ? metadata.getTestGroup() : null,
+                        metadata != null ? metadata.getIdentifier() : null, JfrEvents.getOutcome(thrown));
+            }
+        }
+    }
+
+    private void runTestCommand(final CommandDispatchPlan plan, final TestCase<?> testCase) throws Exception {
+        // fail fast, if a test command of the worksheet timed out before
+        CommandWatchdog.checkTestContext(testCase);
+        if (plan != CommandDispatchPlan.NONE) {
             // set the default value for fastFail if not set in the testCase
             if (testCase.getFastFail() == null) {
-                testCase.setFastFail(testCommand.isFastFail());
+                testCase.setFastFail(plan.getCommand().isFastFail());
             }
 
-            // prepare the test-method
-            final Method testMethod;
-            if (testCommand.getType() == Type.METHOD) {
-                testMethod = testCommand.getMethod();
-            } else if (testCommand.getType() == Type.CLASS) {
-                // prepare and run test-command defined by a class
-                final Object testCommandInstance = testCommand.getImplementation().newInstance();
-                TestContextManager.add((Class<Object>) testCommand.getImplementation(), testCommandInstance);
-
-                // inject Test-Parameters (and -Context) to the class
-                injectTestParams(testCase, testCommandInstance);
-
-                // invoke the test-command
-                testMethod = getSinglePublicMethod(testCommand);
-                if (testMethod == null) {
-                    throw new IllegalArgumentException(
-                            "No public method found in test command class: " + testCommand.getImplementation().getName());
-                }
-            } else {
-                throw new IllegalArgumentException("Type of the TestCommand has to be one of 'METHOD' or 'CLASS'!");
-            }
+            // prepare test-command defined by a class (inject Test-Parameters to the class)
+            plan.prepareCommandInstance(testCase);
 
             // prepare the parameters
-            final List<Object> parameters = prepareParameters(testCase, testMethod);
+            final Object[] parameters = plan.bindParameters(testCase);
 
             // invoke the method with the parameters
-            invokeTestCommandMethod(testCommand, testMethod, parameters.toArray());
+            invokeTestCommandMethod(plan, testCase, parameters);
         } else {
-            testBase.runCommand(testCase);
+            final long timeout = getTimeout(null, testCase);
+            if (timeout > 0) {
+                CommandWatchdog.invoke(p -> testBase.runCommand(testCase), new Object[0], timeout, testCase,
+                        getTimeoutDescription(testCase));
+            } else {
+                testBase.runCommand(testCase);
+            }
         }
     }
 
     /**
-     * Check the given test command for a single public method and return this method. If there is no public method
-     * declared, null will be returned. If there are multiple public methods found, an IllegalArgumentException will be
-     * thrown because test commands of type class are allowed only a single public method!
+     * Get the timeout for the test case: the timeout set in the test case, the timeout of the test command or the
+     * configured default timeout.
      *
-     * @param testCommand test command
-     * @return method "behind" the test command
+     * @return the timeout in milliseconds (0 if there is no timeout)
      */
-    private Method getSinglePublicMethod(final Command testCommand) {
-        Method method = null;
-        for (final Method m : testCommand.getImplementation().getDeclaredMethods()) {
-            if (Modifier.isPublic(m.getModifiers())) {
-                if (method == null) {
-                    method = m;
-                } else {
-                    throw new IllegalArgumentException(
-                            "Multiple public methods found in test command of type 'CLASS'. This is not allowed!");
-                }
-            }
+    private long getTimeout(final Command command, final TestCase<?> testCase) {
+        if (testCase.getTimeout() != null) {
+            return testCase.getTimeout();
+        } else if (command != null && command.getTimeout() > 0) {
+            return command.getTimeout();
         }
-        return method;
+        return defaultTimeout;
     }
 
-    /**
-     * Remove the parameters used by the framework to only pass the "users" parameters to the commands.
-     *
-     * @param testCase current TestCase
-     */
-    private void removeFrameworkParameters(final TestCase<?> testCase) {
-        for (final DefaultCommands dc : DefaultCommands.values()) {
-            testCase.getValues().remove(JExUnitConfig.getDefaultCommandProperty(dc));
-        }
+    private static String getTimeoutDescription(final TestCase<?> testCase) {
+        return String.format("command: %s, %s", testCase.getTestCommand(), getDetailedIdentifier(testCase));
+    }
+
+    private static String getDetailedIdentifier(final TestCase<?> testCase) {
+        return testCase.getMetadata() != null ? testCase.getMetadata().getDetailedIdentifier() : null;
     }
 
     /**
-     * Prepare the parameters for the given method (representing the test-command implementation) out of the given
-     * test-case.
-     *
-     * @param testCase the test-case to prepare the parameters from
-     * @param method   the method representing the test-command implementation
-     * @return the parameters-list to invoke the method with
-     * @throws Exception in case that something goes wrong
+     * Record the latency of the test command per command and per worksheet (test group) of the test type.
      */
-    private List<Object> prepareParameters(final TestCase<?> testCase, final Method method) throws Exception {
-        final List<Object> parameters = new ArrayList<>(method.getParameterTypes().length);
-        final Annotation[][] parameterAnnotations = method.getParameterAnnotations();
-        int i = 0;
-        for (final Parameter parameter : method.getParameters()) {
-            final Class<?> parameterType = parameter.getType();
-            if (parameterType == TestCase.class) {
-                parameters.add(testCase);
-            } else if (parameterType == TestContext.class) {
-                parameters.add(TestContextManager.getTestContext());
-            } else {
-                if (parameterAnnotations[i].length > 0) {
-                    boolean handled = false;
-                    for (final Annotation a : parameterAnnotations[i]) {
-                        if (a instanceof Context) {
-                            // add an instance out of the test-context
-                            final Context ctx = (Context) a;
-                            final String id = ctx.value();
-                            if (id.isEmpty()) {
-                                // lookup the instance out of the current TestContext
-                                parameters.add(TestContextManager.get(parameterType));
-                            } else {
-                                parameters.add(TestContextManager.get(parameterType, id));
-                            }
-                            handled = true;
-                            break;
-                        } else if (a instanceof TestParam) {
-                            // add "single" test-param here
-                            final TestParam param = (TestParam) a;
-                            String key = param.value();
-                            // read out the parameters name if key is NOT set and parameter name is
-                            // present (possible since jdk 1.8 if compiler argument '-parameters' is
-                            // set!
-                            if (key.isEmpty() && parameter.isNamePresent()) {
-                                // try to get the parameters name as key
-                                key = parameter.getName();
-                            }
-                            final String stringValue = TestObjectHelper.getPropertyByKey(testCase, key);
-                            final Object value = TestObjectHelper.convertPropertyStringToObject(parameterType, stringValue);
-                            if (param.required() && value == null) {
-                                throw new IllegalArgumentException("Required parameter not found: " + key);
-                            }
-                            parameters.add(value);
-                            handled = true;
-                        }
-                    }
-                    if (!handled) {
-                        parameters.add(TestObjectHelper.createObject(testCase, parameterType));
-                    }
-                } else {
-                    final Object o = TestObjectHelper.createObject(testCase, parameterType);
-                    parameters.add(o);
-                }
-            }
-            i++;
+    private void recordStatistics(final CommandDispatchPlan plan, final TestCase<?> testCase, final long nanos) {
+        final String command = getCommandName(plan, testCase);
+        final String testGroup = testCase.getMetadata() != null ? testCase.getMetadata().getTestGroup() : null;
+        if (testGroup != null && !testGroup.equals(lastTestGroup)) {
+            // the test cases of a worksheet run one after another, so the name is created once per worksheet
+            lastTestGroup = testGroup;
+            lastSheet = testBase.getTestType() != null ? testBase.getTestType().getSimpleName() + " / " + testGroup
+                    : testGroup;
         }
-        return parameters;
+        CommandStatistics.record(command, testGroup != null ? lastSheet : null, nanos);
+    }
+
+    private static String getCommandName(final CommandDispatchPlan plan, final TestCase<?> testCase) {
+        return plan != CommandDispatchPlan.NONE ? plan.getCommand().getName() : testCase.getTestCommand();
     }
 
     /**
-     * Prepare the attributes for the given test-command class. This will "inject" the attributes annotated with
-     * <code>@TestParam</code>.
+     * Remove the parameters used by the framework to only pass the "users" parameters to the commands.
      *
-     * @param testCase the test-case to prepare the parameters from
-     * @param instance the instance representing the test-command implementation
-     * @throws Exception in case that something goes wrong
+     * @param testCase current TestCase
      */
-    private void injectTestParams(final TestCase<?> testCase, final Object instance) throws Exception {
-        for (final Field field : instance.getClass().getDeclaredFields()) {
-            final Annotation[] attributeAnnotations = field.getAnnotationsByType(TestParam.class);
-            for (final Annotation a : attributeAnnotations) {
-                if (a instanceof Context) {
-                    // add an instance out of the test-context
-                    final Context ctx = (Context) a;
-                    final String id = ctx.value();
-                    final Object value;
-                    if (id.isEmpty()) {
-                        // lookup the instance out of the current TestContext
-                        value = TestContextManager.get(field.getType());
-                    } else {
-                        value = TestContextManager.get(field.getType(), id);
-                    }
-                    if (field.isAccessible()) {
-                        field.set(instance, value);
-                    } else {
-                        field.setAccessible(true);
-                        field.set(instance, value);
-                        field.setAccessible(false);
-                    }
-                    break;
-                } else if (a instanceof TestParam) {
-                    // add "single" test-param here
-                    final TestParam param = (TestParam) a;
-                    String key = param.value();
-                    // if key is not set, the field name will be the key
-                    if (key.isEmpty()) {
-                        // get the field name as key
-                        key = field.getName();
-                    }
-                    final String stringValue = TestObjectHelper.getPropertyByKey(testCase, key);
-                    final Object value = TestObjectHelper.convertPropertyStringToObject(field.getType(), stringValue);
-                    if (param.required() && value == null) {
-                        throw new IllegalArgumentException("Required parameter not found: " + key);
-                    }
-                    if (field.isAccessible()) {
-                        field.set(instance, value);
-                    } else {
-                        field.setAccessible(true);
-                        field.set(instance, value);
-                        field.setAccessible(false);
-                    }
-                }
-            }
+    private void removeFrameworkParameters(final TestCase<?> testCase) {
+        for (final DefaultCommands dc : DefaultCommands.values()) {
+            testCase.getValues().remove(JExUnitConfig.getDefaultCommandProperty(dc));
         }
     }
 
@@ -246,16 +163,19 @@ public class TestCommandRunner {
      * will invoke the method static, on the current test-class or on the instance out of the test-context. If there is
      * no instance in the test-context, a new instance will be created an put to the test-context.
      *
-     * @param method     the method to invoke
+     * @param plan       the dispatch plan of the test command
+     * @param testCase   the current testCase (for the timeout)
      * @param parameters the parameters for the method
      * @throws Exception in case that something goes wrong
      */
-    private void invokeTestCommandMethod(final Command testCommand, final Method method, final Object[] parameters) throws Exception {
+    private void invokeTestCommandMethod(final CommandDispatchPlan plan, final TestCase<?> testCase,
+                                         final Object[] parameters) throws Exception {
+        final Method method = plan.getMethod();
         final Object o;
         final Object hostInstance = testBase.getTestClassInstance(method.getDeclaringClass());
         if (hostInstance != null) {
             o = hostInstance;
-        } else if (Modifier.isStatic(method.getModifiers())) {
+        } else if (plan.getReceiver() == CommandDispatchPlan.Receiver.STATIC) {
             o = null;
         } else {
             // create new instance of the Command-Class and put it to the test-context
@@ -268,9 +188,14 @@ public class TestCommandRunner {
             o = instance;
         }
 
-        // invoke via TestCommandInvocationHandler to be able to proxy the call
-        final Invocable invocationHandler = TestCommandInvocationHandler.getInvocationHandler(testCommand, method, o);
-        invocationHandler.invoke(parameters);
+        // invoke via the (prebuilt) invocation chain of the plan to be able to intercept the call
+        final long timeout = getTimeout(plan.getCommand(), testCase);
+        if (timeout > 0) {
+            CommandWatchdog.invoke(p -> plan.invoke(o, p), parameters, timeout, testCase,
+                    getTimeoutDescription(testCase));
+        } else {
+            plan.invoke(o, parameters);
+        }
     }
 
 }
@@ -0,0 +1,178 @@
+package com.jexunit.core.commands;
+
+import com.jexunit.core.JExUnitConfig;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Persistent cache for the result of the classpath scan. Each classpath entry (jar-file or directory) is scanned on
+ * its own and the classes containing test commands are stored in a file inside the configured cache directory (see
+ * {@link JExUnitConfig.ConfigKey#ANNOTATION_SCAN_CACHE_DIRECTORY}), in the format of the test command index (see
+ * {@link TestCommandIndexProcessor}). So further test runs (i.e. other JVM forks) only have to scan the classpath
+ * entries changed.
+ * <p>
+ * The key of a cache entry is the hash of the path of the classpath entry. The cache entry holds the fingerprint of the
+ * classpath entry (size and timestamp, for directories also the number of files) it was created for. If the
+ * fingerprint doesn't match anymore, the classpath entry is scanned again and the cache entry is replaced.
+ * </p>
+ *
+ * @author fabian
+ */
+final class TestCommandScanCache {
+
+    private static final Logger LOG = Logger.getLogger(TestCommandScanCache.class.getName());
+
+    /**
+     * first line of the cache entry, identifying the format
+     */
+    private static final String HEADER = "# jexunit test command scan cache v1";
+    private static final String FILE_EXTENSION = ".idx";
+
+    private final Path directory;
+
+    TestCommandScanCache(final Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Get the cache for the configured cache directory.
+     *
+     * @return the cache or null, if no cache directory is configured (the cache is disabled)
+     */
+    static TestCommandScanCache fromConfig() {
+        final String directory = JExUnitConfig.getStringProperty(
+                JExUnitConfig.ConfigKey.ANNOTATION_SCAN_CACHE_DIRECTORY);
+        if (directory == null || directory.trim().isEmpty()) {
+            return null;
+        }
+        return new TestCommandScanCache(Paths.get(directory.trim()));
+    }
+
+    /**
+     * Get the classes containing test commands out of the given classpath entry. The classpath entry is only scanned,
+     * if there is no valid cache entry.
+     *
+     * @param classpathEntry the jar-file or directory to scan
+     * @return the entries in the format of the test command index (<code>&lt;type|method&gt; &lt;binary class
+     * name&gt;</code>)
+     * @throws IOException in case that the classpath entry cannot be scanned
+     */
+    Collection<String> scan(final File classpathEntry) throws IOException {
+        final String fingerprint = createFingerprint(classpathEntry);
+        final Path file = directory.resolve(createKey(classpathEntry) + FILE_EXTENSION);
+        Collection<String> found = read(file, fingerprint);
+        if (found == null) {
+            found = TestCommandClasspathScan.scanRoot(classpathEntry);
+            write(file, fingerprint, found);
+        }
+        return found;
+    }
+
+    private static String createKey(final File classpathEntry) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        final byte[] hash = digest.digest(classpathEntry.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+        final StringBuilder key = new StringBuilder(hash.length * 2);
+        for (final byte b : hash) {
+            key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Create the fingerprint of the classpath entry. For directories the files are summed up, because the timestamp of
+     * the directory doesn't change if a file in a sub-directory changes.
+     */
+    private static String createFingerprint(final File classpathEntry) throws IOException {
+        if (!classpathEntry.isDirectory()) {
+            return String.format("file %d %d", classpathEntry.length(), classpathEntry.lastModified());
+        }
+        final long[] files = new long[3];
+        Files.walkFileTree(classpathEntry.toPath(), new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                files[0]++;
+                files[1] += attrs.size();
+                files[2] = Math.max(files[2], attrs.lastModifiedTime().toMillis());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return String.format("directory %d %d %d", files[0], files[1], files[2]);
+    }
+
+    /**
+     * Read the cache entry.
+     *
+     * @return the entries cached or null, if there is no (valid) cache entry for the fingerprint
+     */
+    private static Collection<String> read(final Path file, final String fingerprint) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (final BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine()) || !fingerprint.equals(reader.readLine())) {
+                return null;
+            }
+            final List<String> entries = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    entries.add(line);
+                }
+            }
+            return entries;
+        } catch (final IOException e) {
+            LOG.log(Level.WARNING, String.format("Cannot read the cached scan result '%s'.", file), e);
+            return null;
+        }
+    }
+
+    /**
+     * Write the cache entry. Failures will only be logged, because the cache is not essential to run the tests.
+     */
+    private void write(final Path file, final String fingerprint, final Collection<String> entries) {
+        Path tempFile = null;
+        try {
+            Files.createDirectories(directory);
+            tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (final Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                writer.write(HEADER);
+                writer.write('\n');
+                writer.write(fingerprint);
+                writer.write('\n');
+                for (final String entry : entries) {
+                    writer.write(entry);
+                    writer.write('\n');
+                }
+            }
+            // replace the cache entry atomically, so parallel test runs will never read an incomplete entry
+            try {
+                Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (final IOException e) {
+            LOG.log(Level.WARNING, String.format("Cannot write the cached scan result '%s'.", file), e);
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (final IOException ex) {
+                    LOG.log(Level.FINE, "Cannot delete " + tempFile, ex);
+                }
+            }
+        }
+    }
+
+}
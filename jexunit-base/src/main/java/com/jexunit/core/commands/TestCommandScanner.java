@@ -1,25 +1,25 @@
 package com.jexunit.core.commands;
 
 import com.jexunit.core.JExUnitConfig;
-import com.jexunit.core.commands.Command.Type;
 import com.jexunit.core.commands.annotation.TestCommand;
 import com.jexunit.core.commands.annotation.TestCommand.TestCommands;
+import com.jexunit.core.dataprovider.CsvFile;
 import com.jexunit.core.dataprovider.ExcelFile;
 import eu.infomas.annotation.AnnotationDetector;
 import eu.infomas.annotation.AnnotationDetector.MethodReporter;
 import eu.infomas.annotation.AnnotationDetector.TypeReporter;
 
+import java.io.File;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 import java.util.logging.Logger;
 
 /**
- * MethodReporter-Implementation for "storing" the annotated methods found. The "Annotation-Scan" will run once, so we
- * can hold the methods found in the static methods-Map.
+ * MethodReporter-Implementation for "storing" the annotated methods found. The "Annotation-Scan" will run once, the
+ * methods found are frozen into the (static) {@link CommandRegistry} afterwards.
  * <p>
  * TODO: "override" command-methods (what about different parameter-types?)
  *
@@ -29,30 +29,136 @@ public class TestCommandScanner implements TypeReporter, MethodReporter {
 
     private static final Logger LOG = Logger.getLogger(TestCommandScanner.class.getName());
 
-    private static final Map<String, Map<Class<?>, Command>> commands = new HashMap<>();
+    // the annotations marking a test class (with its own test command methods)
+    private static final List<Class<? extends Annotation>> TEST_DATA_ANNOTATIONS = Arrays.asList(ExcelFile.class,
+            CsvFile.class);
+
+    private static volatile CommandRegistry registry = CommandRegistry.EMPTY;
 
     private static volatile boolean initialized = false;
 
+    // the test commands found by the scan (per lower-case command name and test type)
+    private final Map<String, Map<Class<?>, Command>> commands = new HashMap<>();
+
+    // the classes the test command methods are already registered for (the scan reports each annotated method)
+    private final Set<String> reportedMethodClasses = new HashSet<>();
+
     public static void ensureScanned() {
         if (initialized) return;
         synchronized (TestCommandScanner.class) {
             if (initialized) return;
-            final AnnotationDetector detector = new AnnotationDetector(new TestCommandScanner());
+            final TestCommandScanner scanner = new TestCommandScanner();
+            final AnnotationDetector detector = new AnnotationDetector(scanner);
             try {
                 JExUnitConfig.init();
                 final String property = JExUnitConfig.getStringProperty(JExUnitConfig.ConfigKey.ANNOTATION_SCAN_PACKAGE);
-                if (property != null && !property.isEmpty()) {
-                    detector.detect(property.split(","));
+                final String[] packages = property != null && !property.isEmpty() ? property.split(",") : null;
+                final TestCommandScanCache cache = TestCommandScanCache.fromConfig();
+                final Map<File, Collection<String>> indexes =
+                        JExUnitConfig.getBooleanProperty(JExUnitConfig.ConfigKey.ANNOTATION_SCAN_INDEX)
+                                ? TestCommandClasspathScan.readIndexes(TestCommandScanner.class.getClassLoader())
+                                : Collections.emptyMap();
+                if (!indexes.isEmpty() || cache != null || TestCommandClasspathScan.getParallelism() > 1) {
+                    // the classpath roots are scanned on their own (or read out of their test command index), the
+                    // classes found in jar-files are filtered by the packages afterwards
+                    scanner.reportEntries(TestCommandClasspathScan.scan(TestCommandClasspathScan.getRoots(packages),
+                            indexes, cache, TestCommandClasspathScan.getParallelism()), packages);
+                } else if (packages != null) {
+                    detector.detect(packages);
                 } else {
                     detector.detect();
                 }
             } catch (final IOException e) {
                 e.printStackTrace();
             }
+            registry = scanner.createRegistry();
             initialized = true;
         }
     }
 
+    /**
+     * Report the classes listed in the given entries (in the format of the test command index) the same way the
+     * annotation scan does.
+     *
+     * @param entries  the entries of the test command index (or the scan cache)
+     * @param packages the packages to limit the test commands to (or null for all the test commands)
+     */
+    void reportEntries(final Collection<String> entries, final String[] packages) {
+        for (final String entry : entries) {
+            final int separator = entry.indexOf(' ');
+            if (separator < 0) {
+                LOG.warning("Invalid entry in the test command index: " + entry);
+                continue;
+            }
+            final String kind = entry.substring(0, separator);
+            final String className = entry.substring(separator + 1).trim();
+            if (!isInPackages(className, packages)) {
+                continue;
+            }
+            if (TestCommandIndexProcessor.TYPE_ENTRY.equals(kind)) {
+                if (isAnnotated(className, true)) {
+                    reportTypeAnnotation(TestCommand.class, className);
+                }
+            } else if (TestCommandIndexProcessor.METHOD_ENTRY.equals(kind)) {
+                if (isAnnotated(className, false)) {
+                    reportMethodAnnotation(TestCommand.class, className, null);
+                }
+            }
+        }
+    }
+
+    private static boolean isInPackages(final String className, final String[] packages) {
+        if (packages == null) {
+            return true;
+        }
+        for (final String p : packages) {
+            if (className.startsWith(p.trim() + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if the indexed class (still) is annotated or declares annotated methods (the index of an incremental build
+     * may contain outdated entries).
+     */
+    private boolean isAnnotated(final String className, final boolean type) {
+        try {
+            final Class<?> clazz = getClass().getClassLoader().loadClass(className);
+            if (type) {
+                return clazz.getDeclaredAnnotationsByType(TestCommand.class).length > 0;
+            }
+            for (final Method method : clazz.getDeclaredMethods()) {
+                if (method.getDeclaredAnnotationsByType(TestCommand.class).length > 0) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (final ClassNotFoundException | LinkageError e) {
+            LOG.warning("Class of the test command index not found: " + className);
+            return false;
+        }
+    }
+
+    /**
+     * Create the registry of the test commands found.
+     *
+     * @return the registry of the test commands
+     */
+    CommandRegistry createRegistry() {
+        return new CommandRegistry(commands);
+    }
+
+    /**
+     * Check if the annotation scan is done.
+     *
+     * @return true, if the test commands are scanned, else false
+     */
+    static boolean isScanned() {
+        return initialized;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public Class<? extends Annotation>[] annotations() {
@@ -61,10 +167,14 @@ public class TestCommandScanner implements TypeReporter, MethodReporter {
 
     @Override
     public void reportMethodAnnotation(final Class<? extends Annotation> annotation, final String className, final String methodName) {
+        if (!reportedMethodClasses.add(className)) {
+            // all the test command methods of the class are registered at the first report
+            return;
+        }
         try {
             final Class<?> clazz = getClass().getClassLoader().loadClass(className);
             Class<?> type = null;
-            if (hasExcelFileAnnotation(clazz)) {
+            if (isTestClass(clazz)) {
                 type = clazz;
             }
 
@@ -128,14 +238,19 @@ public class TestCommandScanner implements TypeReporter, MethodReporter {
                             LOG.warning("Duplicate test-command registration for command '" + command
                                     + "' (class-type) — previous registration will be overwritten.");
                         }
-                        commands.get(command).put(null, new Command(command, type, tc.fastFail()));
+                        final Command classCommand = new Command(command, type, tc.fastFail());
+                        classCommand.setScope(tc.scope());
+                        classCommand.setTimeout(tc.timeout());
+                        commands.get(command).put(null, classCommand);
                     } else {
                         // test-command is a method
                         if (commands.get(command).containsKey(type)) {
                             LOG.warning("Duplicate test-command registration for command '" + command
                                     + "' in type '" + type + "' — previous registration will be overwritten.");
                         }
-                        commands.get(command).put(type, new Command(command, type, method, tc.fastFail()));
+                        final Command methodCommand = new Command(command, type, method, tc.fastFail());
+                        methodCommand.setTimeout(tc.timeout());
+                        commands.get(command).put(type, methodCommand);
                     }
                 }
             }
@@ -205,74 +320,55 @@ public class TestCommandScanner implements TypeReporter, MethodReporter {
     }
 
     /**
-     * Check if the given class has any field or method annotated with {@code @ExcelFile}. This is used to identify
-     * test classes that use JExUnit's Excel-based data loading.
+     * Check if the given class has any field or method annotated with {@code @ExcelFile} or {@code @CsvFile}. This is
+     * used to identify test classes that use JExUnit's data loading, so their test command methods are registered for
+     * the test class only.
      *
      * @param clazz Class to check
-     * @return true if the class has a field or method annotated with {@code @ExcelFile}, else false
+     * @return true if the class has a field or method annotated with {@code @ExcelFile} or {@code @CsvFile}, else
+     * false
      */
-    private boolean hasExcelFileAnnotation(final Class<?> clazz) {
-        for (final java.lang.reflect.Field field : clazz.getDeclaredFields()) {
-            if (field.isAnnotationPresent(ExcelFile.class)) {
-                return true;
+    private static boolean isTestClass(final Class<?> clazz) {
+        for (final Class<? extends Annotation> annotation : TEST_DATA_ANNOTATIONS) {
+            for (final java.lang.reflect.Field field : clazz.getDeclaredFields()) {
+                if (field.isAnnotationPresent(annotation)) {
+                    return true;
+                }
             }
-        }
-        for (final java.lang.reflect.Method method : clazz.getMethods()) {
-            if (method.isAnnotationPresent(ExcelFile.class)) {
-                return true;
+            for (final java.lang.reflect.Method method : clazz.getMethods()) {
+                if (method.isAnnotationPresent(annotation)) {
+                    return true;
+                }
             }
         }
         return false;
     }
 
     /**
-     * Get the Command for the given command-name and type.
+     * Get the Command for the given command-name (ignoring case) and type.
      *
      * @param command the excel-command
      * @param clazz   the type of the test-class
      * @return the command for the given class, if found, else null
      */
     static Command getTestCommand(final String command, final Class<?> clazz) {
-        if (commands.containsKey(command)) {
-            final Map<Class<?>, Command> cmds = commands.get(command);
-
-            if (cmds != null && !cmds.isEmpty()) {
-                if (clazz == null) {
-                    if (cmds.containsKey(null)) {
-                        return cmds.get(null);
-                    }
-                } else {
-                    // not found? check superclass
-                    Class<?> cls = clazz;
-                    do {
-                        if (cmds.containsKey(cls)) {
-                            final Command c = cmds.get(cls);
-                            if (c.getType() == Type.CLASS || c.getImplementation() == cls) {
-                                return c;
-                            }
-                        }
-                    } while ((cls = cls.getSuperclass()) != null);
-                }
-                return cmds.get(null);
-            }
-        }
-        return null;
+        return registry.get(command, clazz);
     }
 
     /**
-     * Checks if the passed command exists.
+     * Checks if the passed command exists (ignoring case).
      *
      * @param s command name to check
      * @return <code>true</code> if there is a command-implementation for the given string, else <code>false</code>
      */
     public static boolean isTestCommandValid(final String s) {
-        if (commands.containsKey(s)) {
+        if (registry.contains(s)) {
             return true;
         }
 
         boolean isDefaultCommand = false;
         for (final DefaultCommands defaultCommands : DefaultCommands.values()) {
-            isDefaultCommand = defaultCommands.getDefaultValue().equals(s);
+            isDefaultCommand = defaultCommands.getDefaultValue().equalsIgnoreCase(s);
             if (isDefaultCommand) {
                 break;
             }
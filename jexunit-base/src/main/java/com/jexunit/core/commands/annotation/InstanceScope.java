@@ -0,0 +1,33 @@
+package com.jexunit.core.commands.annotation;
+
+/**
+ * Scope of the instances of a test command implemented as class (see {@link TestCommand#scope()}). The instance is put
+ * into the test-context and the {@code @TestParam}-attributes are injected for each test case (except for the scope
+ * {@link #SINGLETON}).
+ *
+ * @author fabian
+ */
+public enum InstanceScope {
+
+    /**
+     * A new instance for each test case (row).
+     */
+    ROW,
+
+    /**
+     * One instance per worksheet (test group). A new instance is created, if the test group changes.
+     */
+    SHEET,
+
+    /**
+     * One instance per thread.
+     */
+    THREAD,
+
+    /**
+     * A single instance shared by all the tests (and threads). The class has to be thread-safe, if the tests run in
+     * parallel. The instance is not allowed to declare {@code @TestParam}-attributes (the test parameters have to be
+     * declared as method parameters).
+     */
+    SINGLETON
+}
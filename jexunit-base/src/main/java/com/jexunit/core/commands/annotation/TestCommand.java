@@ -29,6 +29,21 @@ public @interface TestCommand {
      */
     boolean fastFail() default false;
 
+    /**
+     * Timeout of the test command in milliseconds. If the invocation takes longer, it will be interrupted (and
+     * abandoned) and the test case fails. This can be overridden per test case by the <i>"timeout"</i> column.
+     *
+     * @return the timeout in milliseconds or <code>0</code> (default) to use the configured default timeout
+     */
+    long timeout() default 0;
+
+    /**
+     * Scope of the instances of a test command implemented as class. Ignored for test commands implemented as method.
+     *
+     * @return the scope of the instances (default: a new instance for each test case)
+     */
+    InstanceScope scope() default InstanceScope.ROW;
+
     /**
      * Annotation for representing a method as the implementation for multiple test-commands.
      *
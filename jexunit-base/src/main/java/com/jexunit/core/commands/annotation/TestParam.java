@@ -15,11 +15,15 @@ import java.lang.annotation.Target;
  * </code>
  * </p>
  * In this case you don't have to "inject" the whole TestCase to get the id.
+ * <p>
+ * The attributes of test commands of type class can be annotated the same way. They are injected for each test case
+ * before the test command is invoked.
+ * </p>
  *
  * @author fabian
  */
 @Retention(RetentionPolicy.RUNTIME)
-@Target({ElementType.PARAMETER})
+@Target({ElementType.PARAMETER, ElementType.FIELD})
 public @interface TestParam {
 
     /**
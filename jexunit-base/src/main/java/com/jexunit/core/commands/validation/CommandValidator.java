@@ -31,7 +31,7 @@ public class CommandValidator {
             while (iterator.hasNext()) {
                 final TestCase<?> testCase = iterator.next();
                 final String testCommand = testCase.getTestCommand();
-                if (testCommand == null || !TestCommandScanner.isTestCommandValid(testCommand.toLowerCase())) {
+                if (testCommand == null || !TestCommandScanner.isTestCommandValid(testCommand)) {
                     if (validationType == ValidationType.WARN) {
                         log.log(Level.WARNING, "TestCommand {0} is not valid. TestCase will be removed! {1} {2}",
                                 new String[]{testCase.getTestCommand(),
@@ -23,6 +23,16 @@ public class TestContextManager {
         return context.get();
     }
 
+    /**
+     * Set the TestContext for the current thread, i.e. to share the TestContext of the test with a thread invoking a
+     * test command.
+     *
+     * @param testContext the TestContext
+     */
+    public static void setTestContext(final TestContext testContext) {
+        context.set(testContext);
+    }
+
     /**
      * Add an instance of type T to the context. An already existing instance of this type will be overridden!
      *
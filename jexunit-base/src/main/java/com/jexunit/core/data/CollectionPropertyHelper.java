@@ -16,16 +16,15 @@ import java.util.regex.Pattern;
  */
 public class CollectionPropertyHelper {
 
-    private static final String REGEX_CONDITION = "(.*)=(.*)";
+    private static final Pattern REGEX_CONDITION = Pattern.compile("(.*)=(.*)");
 
     public static boolean matches(final String propertyName) {
-        return Pattern.matches(REGEX_CONDITION, propertyName);
+        return REGEX_CONDITION.matcher(propertyName).matches();
     }
 
     public static Object getProperty(@SuppressWarnings("rawtypes") final Map context, final Collection<?> target,
                                      final String propertyCondition) throws OgnlException {
-        final Pattern pattern = Pattern.compile(REGEX_CONDITION);
-        final Matcher m = pattern.matcher(propertyCondition);
+        final Matcher m = REGEX_CONDITION.matcher(propertyCondition);
 
         String expression = "";
         String expectedValue = "";
@@ -35,9 +34,14 @@ public class CollectionPropertyHelper {
             expectedValue = m.group(2);
         }
 
-        // iterate through the collection
+        if (target.isEmpty()) {
+            return null;
+        }
+
+        // iterate through the collection (the expression is only parsed once)
+        final Object tree = OgnlExpressionCache.get(expression);
         for (final Object obj : target) {
-            final Object currentValue = Ognl.getValue(expression, context, obj);
+            final Object currentValue = Ognl.getValue(tree, context, obj);
             // if we found the object out of the collection with the expected value ...
             if (currentValue != null && currentValue.equals(expectedValue)) {
                 // ... return the current object out of the collection
@@ -0,0 +1,71 @@
+package com.jexunit.core.data;
+
+import com.jexunit.core.JExUnitConfig;
+import ognl.Ognl;
+import ognl.OgnlException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of the parsed OGNL expressions. The property names (the headers out of the excel-files) repeat for
+ * each row, so each property name is only prepared (see {@link OgnlUtils#prepareExpression(String)}) and parsed once.
+ * The parsed expressions (ASTs) are not modified on evaluation, so they can be shared between the threads.
+ * <p>
+ * The cache holds at most the configured number of expressions (see
+ * {@link JExUnitConfig.ConfigKey#OGNL_EXPRESSION_CACHE_SIZE}). If the cache is full, it is cleared, so generated
+ * property names cannot let the cache grow without limit.
+ * </p>
+ *
+ * @author fabian
+ */
+final class OgnlExpressionCache {
+
+    private static final Map<String, Object> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor -> only static access.
+     */
+    private OgnlExpressionCache() {
+    }
+
+    /**
+     * Get the parsed OGNL expression for the given property name.
+     *
+     * @param propertyName the property name (i.e. the header out of the excel-file)
+     * @return the parsed (prepared) expression
+     * @throws OgnlException if the expression cannot be parsed
+     */
+    static Object get(final String propertyName) throws OgnlException {
+        final Object cached = CACHE.get(propertyName);
+        if (cached != null) {
+            return cached;
+        }
+        final Object expression = Ognl.parseExpression(OgnlUtils.prepareExpression(propertyName));
+        final int maxSize = JExUnitConfig.getIntProperty(JExUnitConfig.ConfigKey.OGNL_EXPRESSION_CACHE_SIZE);
+        if (maxSize > 0) {
+            if (CACHE.size() >= maxSize) {
+                CACHE.clear();
+            }
+            CACHE.put(propertyName, expression);
+        }
+        return expression;
+    }
+
+    /**
+     * Get the number of cached expressions.
+     *
+     * @return the number of cached expressions
+     */
+    static int size() {
+        return CACHE.size();
+    }
+
+    /**
+     * Remove all the cached expressions.
+     */
+    static void clear() {
+        CACHE.clear();
+    }
+
+}
@@ -5,6 +5,7 @@ import ognl.*;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -13,11 +14,20 @@ import java.util.regex.Pattern;
  */
 public class OgnlUtils {
 
-    private static final String REGEX_EXPRESSION = "^(.*)(\\[)(.*)=(.*)(\\].*)";
+    private static final Pattern REGEX_EXPRESSION = Pattern.compile("^(.*)(\\[)(.*)=(.*)(\\].*)");
+
+    private static final InstantiatingNullHandler NULL_HANDLER = new InstantiatingNullHandler();
+    // the types the null handler is registered for (the registration is global and synchronized in the OgnlRuntime)
+    private static final Map<Class<?>, NullHandler> NULL_HANDLERS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<OgnlContext> CONTEXTS = ThreadLocal.withInitial(OgnlUtils::createContext);
+
+    static {
+        OgnlRuntime.setPropertyAccessor(List.class, new CustomListPropertyAccessor());
+        OgnlRuntime.setPropertyAccessor(Set.class, new CustomSetPropertyAccessor());
+    }
 
     public static String prepareExpression(final String expression) {
-        final Pattern pattern = Pattern.compile(REGEX_EXPRESSION);
-        final Matcher m = pattern.matcher(expression);
+        final Matcher m = REGEX_EXPRESSION.matcher(expression);
 
         if (m.matches()) {
             final StringBuilder sb = new StringBuilder(m.group(1));
@@ -49,36 +59,49 @@ public class OgnlUtils {
      * @throws OgnlException in case that something goes wrong
      */
     public static void setPropertyToObject(final Object obj, final String propName, final String propValue) throws OgnlException {
-        OgnlRuntime.setNullHandler(obj.getClass(), new InstantiatingNullHandler());
-        OgnlRuntime.setPropertyAccessor(List.class, new CustomListPropertyAccessor());
-        OgnlRuntime.setPropertyAccessor(Set.class, new CustomSetPropertyAccessor());
-        @SuppressWarnings("rawtypes") final Map context =
-                Ognl.createDefaultContext(
-                        obj,
-                        new DefaultMemberAccess(false),
-                        new DefaultClassResolver(),
-                        new CustomTypeConverter());
-
-        final String propertyExpression = prepareExpression(propName);
-        final Object expr = Ognl.parseExpression(propertyExpression);
-
-        Ognl.setValue(expr, context, obj, propValue);
+        final Object expr = OgnlExpressionCache.get(propName);
+        final OgnlContext context = acquireContext(obj);
+        try {
+            Ognl.setValue(expr, context, obj, propValue);
+        } finally {
+            context.clear();
+        }
     }
 
     public static Object getProperty(final Object obj, final String propName) throws OgnlException {
-        OgnlRuntime.setNullHandler(obj.getClass(), new InstantiatingNullHandler());
-        OgnlRuntime.setPropertyAccessor(List.class, new CustomListPropertyAccessor());
-        OgnlRuntime.setPropertyAccessor(Set.class, new CustomSetPropertyAccessor());
-        @SuppressWarnings("rawtypes") final Map context = Ognl.createDefaultContext(
-                obj,
-                new DefaultMemberAccess(false),
-                new DefaultClassResolver(),
-                new CustomTypeConverter());
+        final Object expr = OgnlExpressionCache.get(propName);
+        final OgnlContext context = acquireContext(obj);
+        try {
+            return Ognl.getValue(expr, context, obj);
+        } finally {
+            context.clear();
+        }
+    }
 
-        final String propertyExpression = prepareExpression(propName);
-        final Object expr = Ognl.parseExpression(propertyExpression);
+    /**
+     * Get the OGNL context of the current thread for the given root object. The context has to be cleared after use to
+     * be reused for the next object. If the context of the current thread is already in use (nested call, i.e. out of
+     * a setter), a new context is created.
+     *
+     * @param root the root object
+     * @return the context
+     */
+    private static OgnlContext acquireContext(final Object root) {
+        NULL_HANDLERS.computeIfAbsent(root.getClass(), type -> {
+            OgnlRuntime.setNullHandler(type, NULL_HANDLER);
+            return NULL_HANDLER;
+        });
+        OgnlContext context = CONTEXTS.get();
+        if (context.getRoot() != null) {
+            context = createContext();
+        }
+        context.setRoot(root);
+        return context;
+    }
 
-        return Ognl.getValue(expr, context, obj);
+    private static OgnlContext createContext() {
+        return (OgnlContext) Ognl.createDefaultContext(null, new DefaultMemberAccess(false), new DefaultClassResolver(),
+                new CustomTypeConverter());
     }
 
 }
@@ -0,0 +1,188 @@
+package com.jexunit.core.data;
+
+import ognl.MethodFailedException;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Fast path for setting the properties of the test objects without evaluating an OGNL expression. Most of the property
+ * names (headers out of the excel-file) are plain bean properties (<code>value1</code>) or short nested paths
+ * (<code>address.street</code>). For these, the getters of the path and the setter of the property are resolved once
+ * per type into {@link MethodHandle}s and the value is converted like the {@link CustomTypeConverter} would.
+ * <p>
+ * Everything else falls back to OGNL (see {@link OgnlUtils#setPropertyToObject(Object, String, String)}): indexed or
+ * conditional expressions (<code>list[name=John]</code>), overloaded setters, types not converted by
+ * {@link PropertyUtils}, <code>null</code> values, <code>null</code> objects on the path (to be created by the
+ * {@link InstantiatingNullHandler}) and values that cannot be converted.
+ * </p>
+ *
+ * @author fabian
+ */
+final class PropertyBinder {
+
+    private static final Pattern SIMPLE_PATH = Pattern.compile("[A-Za-z_$][\\w$]*(\\.[A-Za-z_$][\\w$]*)*");
+    // words with a special meaning in OGNL expressions
+    private static final Set<String> OGNL_KEYWORDS = new HashSet<>(Arrays.asList("and", "band", "bor", "bnot", "eq",
+            "false", "gt", "gte", "in", "instanceof", "lt", "lte", "neq", "new", "not", "null", "or", "shl", "shr",
+            "this", "true", "ushr", "xor"));
+    private static final Set<Class<?>> SUPPORTED_TYPES = new HashSet<>(Arrays.asList(String.class, Integer.class,
+            int.class, Double.class, double.class, Long.class, long.class, Float.class, float.class, Boolean.class,
+            boolean.class, BigDecimal.class, Date.class));
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    // marker for the property names to be set via OGNL
+    private static final PropertyBinder OGNL = new PropertyBinder(null, null, null, null);
+    private static final Map<Class<?>, Map<String, PropertyBinder>> BINDERS = new ConcurrentHashMap<>();
+
+    private final MethodHandle[] getters;
+    private final MethodHandle setter;
+    private final String setterName;
+    private final Class<?> type;
+
+    private PropertyBinder(final MethodHandle[] getters, final MethodHandle setter, final String setterName,
+                           final Class<?> type) {
+        this.getters = getters;
+        this.setter = setter;
+        this.setterName = setterName;
+        this.type = type;
+    }
+
+    /**
+     * Set the property of the given object to the given value. If the property cannot be set directly, it will be set
+     * via OGNL.
+     *
+     * @param obj       object/instance
+     * @param propName  property-name
+     * @param propValue property-value
+     * @throws Exception in case that something goes wrong
+     */
+    static void setProperty(final Object obj, final String propName, final String propValue) throws Exception {
+        final PropertyBinder binder = BINDERS.computeIfAbsent(obj.getClass(), t -> new ConcurrentHashMap<>())
+                .computeIfAbsent(propName, p -> create(obj.getClass(), p));
+        if (binder == OGNL || propValue == null || !binder.set(obj, propValue)) {
+            OgnlUtils.setPropertyToObject(obj, propName, propValue);
+        }
+    }
+
+    private static PropertyBinder create(final Class<?> rootType, final String propName) {
+        if (!SIMPLE_PATH.matcher(propName).matches() || Map.class.isAssignableFrom(rootType)) {
+            return OGNL;
+        }
+        final String[] path = propName.split("\\.");
+        for (final String property : path) {
+            if (OGNL_KEYWORDS.contains(property)) {
+                return OGNL;
+            }
+        }
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final MethodHandle[] getters = new MethodHandle[path.length - 1];
+            Class<?> type = rootType;
+            for (int i = 0; i < getters.length; i++) {
+                final PropertyDescriptor pd = getPropertyDescriptor(type, path[i]);
+                if (pd == null || !isPublic(pd.getReadMethod()) || Map.class.isAssignableFrom(pd.getPropertyType())) {
+                    return OGNL;
+                }
+                getters[i] = lookup.unreflect(pd.getReadMethod()).asType(GETTER_TYPE);
+                type = pd.getPropertyType();
+            }
+
+            final PropertyDescriptor pd = getPropertyDescriptor(type, path[path.length - 1]);
+            if (pd == null || !isPublic(pd.getWriteMethod()) || !SUPPORTED_TYPES.contains(pd.getPropertyType()) && !pd
+                    .getPropertyType().isEnum() || isOverloaded(type, pd.getWriteMethod())) {
+                return OGNL;
+            }
+            return new PropertyBinder(getters, lookup.unreflect(pd.getWriteMethod()).asType(SETTER_TYPE),
+                    pd.getWriteMethod().getName(), pd.getPropertyType());
+        } catch (final IntrospectionException | IllegalAccessException e) {
+            return OGNL;
+        }
+    }
+
+    private static PropertyDescriptor getPropertyDescriptor(final Class<?> type, final String property)
+            throws IntrospectionException {
+        if (type.isPrimitive() || type.isArray() || Collection.class.isAssignableFrom(type)) {
+            return null;
+        }
+        for (final PropertyDescriptor pd : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+            if (pd.getName().equals(property)) {
+                return pd;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isPublic(final Method method) {
+        return method != null && Modifier.isPublic(method.getModifiers())
+                && Modifier.isPublic(method.getDeclaringClass().getModifiers());
+    }
+
+    /**
+     * OGNL chooses the setter by the value, so overloaded setters are left to OGNL.
+     */
+    private static boolean isOverloaded(final Class<?> type, final Method setter) {
+        int count = 0;
+        for (final Method method : type.getMethods()) {
+            if (method.getName().equals(setter.getName()) && method.getParameterCount() == 1) {
+                count++;
+            }
+        }
+        return count > 1;
+    }
+
+    /**
+     * Set the value of the property.
+     *
+     * @return true, if the value is set, false if it has to be set via OGNL
+     */
+    private boolean set(final Object obj, final String value) throws Exception {
+        Object target = obj;
+        for (final MethodHandle getter : getters) {
+            target = invokeGetter(getter, target);
+            if (target == null) {
+                // the object has to be created by the null handler
+                return false;
+            }
+        }
+
+        final Object converted;
+        try {
+            converted = type == String.class ? value : PropertyUtils.convert(type, value);
+        } catch (final Exception e) {
+            // let OGNL try to convert the value (and report it, if the value cannot be converted)
+            return false;
+        }
+        try {
+            setter.invokeExact(target, converted);
+        } catch (final Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw new MethodFailedException(target, setterName, t);
+        }
+        return true;
+    }
+
+    private Object invokeGetter(final MethodHandle getter, final Object target) throws Exception {
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (final Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw new MethodFailedException(target, "get", t);
+        }
+    }
+
+}
@@ -0,0 +1,244 @@
+package com.jexunit.core.data;
+
+import com.jexunit.core.JExUnitConfig;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Formatting (and parsing) of the test data values. The configured date patterns
+ * ({@link JExUnitConfig.ConfigKey#DATE_PATTERN}, {@link JExUnitConfig.ConfigKey#DATETIME_PATTERN}) are compiled into
+ * immutable (thread-safe) {@link DateTimeFormatter}s once and only compiled again if the configuration changes.
+ * <p>
+ * Patterns not supported by the {@link DateTimeFormatter} or with pattern letters meaning something different for the
+ * {@link DateTimeFormatter} are still handled by a {@link SimpleDateFormat} (one per thread).
+ * </p>
+ *
+ * @author fabian
+ */
+public final class TestDataFormatter {
+
+    /**
+     * String representations of the small integral numbers, commonly used in the test data.
+     */
+    private static final String[] SMALL_NUMBERS = new String[1024 + 128];
+
+    static {
+        for (int i = 0; i < SMALL_NUMBERS.length; i++) {
+            SMALL_NUMBERS[i] = String.valueOf(i - 128);
+        }
+    }
+
+    /**
+     * The pattern letters with the same meaning for the {@link SimpleDateFormat} and the {@link DateTimeFormatter}
+     * (i.e. not <code>u</code> (day of week vs. year) or <code>S</code> (milliseconds vs. fraction of second)).
+     */
+    private static final String COMPATIBLE_LETTERS = "yMdDEaHkKhms";
+
+    private static volatile CompiledPattern datePattern;
+    private static volatile CompiledPattern dateTimePattern;
+
+    /**
+     * Private constructor -> only static access.
+     */
+    private TestDataFormatter() {
+    }
+
+    /**
+     * Format the date with the configured date pattern.
+     *
+     * @param value the date to format
+     * @return the formatted date
+     */
+    public static String formatDate(final Date value) {
+        return getDatePattern().format(value);
+    }
+
+    /**
+     * Format the date with the configured datetime pattern.
+     *
+     * @param value the date to format
+     * @return the formatted date
+     */
+    public static String formatDateTime(final Date value) {
+        return getDateTimePattern().format(value);
+    }
+
+    /**
+     * Parse the date with the configured date pattern. Like {@link SimpleDateFormat#parse(String)} the parsing is
+     * lenient and additional text after the date is ignored.
+     *
+     * @param value the date as String
+     * @return the parsed date
+     * @throws ParseException if the value cannot be parsed
+     */
+    public static Date parseDate(final String value) throws ParseException {
+        return getDatePattern().parse(value);
+    }
+
+    /**
+     * Get the String-representation of a number. Integral numbers will be returned without decimal places.
+     *
+     * @param number the number
+     * @return the number as String
+     */
+    public static String formatNumber(final double number) {
+        if ((number == Math.floor(number)) && !Double.isInfinite(number)) {
+            // the cast is equivalent to Double#intValue()
+            final int value = (int) number;
+            if (value >= -128 && value < SMALL_NUMBERS.length - 128) {
+                return SMALL_NUMBERS[value + 128];
+            }
+            return Integer.toString(value);
+        }
+        return Double.toString(number);
+    }
+
+    private static CompiledPattern getDatePattern() {
+        final String pattern = JExUnitConfig.getStringProperty(JExUnitConfig.ConfigKey.DATE_PATTERN);
+        CompiledPattern compiled = datePattern;
+        if (compiled == null || !compiled.matches(pattern)) {
+            compiled = new CompiledPattern(pattern);
+            datePattern = compiled;
+        }
+        return compiled;
+    }
+
+    private static CompiledPattern getDateTimePattern() {
+        final String pattern = JExUnitConfig.getStringProperty(JExUnitConfig.ConfigKey.DATETIME_PATTERN);
+        CompiledPattern compiled = dateTimePattern;
+        if (compiled == null || !compiled.matches(pattern)) {
+            compiled = new CompiledPattern(pattern);
+            dateTimePattern = compiled;
+        }
+        return compiled;
+    }
+
+    /**
+     * A date pattern compiled for the current default locale.
+     */
+    private static final class CompiledPattern {
+
+        private final String pattern;
+        private final Locale locale;
+        // null, if the pattern is not supported by the DateTimeFormatter
+        private final DateTimeFormatter formatter;
+        private final ThreadLocal<SimpleDateFormat> simpleDateFormat =
+                ThreadLocal.withInitial(this::createSimpleDateFormat);
+
+        CompiledPattern(final String pattern) {
+            this.pattern = pattern;
+            this.locale = Locale.getDefault();
+
+            DateTimeFormatter dateTimeFormatter;
+            try {
+                dateTimeFormatter = compile(pattern, locale);
+            } catch (final IllegalArgumentException e) {
+                dateTimeFormatter = null;
+            }
+            this.formatter = dateTimeFormatter;
+        }
+
+        /**
+         * Compile the pattern into a DateTimeFormatter. Only the pattern letters with the same meaning for the
+         * {@link SimpleDateFormat} and the {@link DateTimeFormatter} are compiled. The two-digit year (<code>yy</code>)
+         * is parsed relative to the century starting 80 years ago (like the SimpleDateFormat does).
+         *
+         * @return the compiled formatter or null, if the pattern has to be handled by the SimpleDateFormat
+         */
+        private static DateTimeFormatter compile(final String pattern, final Locale locale) {
+            final DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder().parseLenient();
+            final StringBuilder segment = new StringBuilder();
+            int i = 0;
+            while (i < pattern.length()) {
+                final char c = pattern.charAt(i);
+                int end = i + 1;
+                if (c == '\'') {
+                    // quoted text (or an escaped quote)
+                    end = pattern.indexOf('\'', i + 1) + 1;
+                    if (end == 0) {
+                        return null;
+                    }
+                } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                    while (end < pattern.length() && pattern.charAt(end) == c) {
+                        end++;
+                    }
+                    if (COMPATIBLE_LETTERS.indexOf(c) < 0 || c == 'y' && end - i == 1) {
+                        return null;
+                    }
+                    if (c == 'y' && end - i == 2) {
+                        builder.appendPattern(segment.toString());
+                        segment.setLength(0);
+                        builder.appendValueReduced(ChronoField.YEAR_OF_ERA, 2, 2, LocalDate.now().minusYears(80));
+                        i = end;
+                        continue;
+                    }
+                }
+                segment.append(pattern, i, end);
+                i = end;
+            }
+            builder.appendPattern(segment.toString());
+            return builder.toFormatter(locale).withResolverStyle(ResolverStyle.LENIENT);
+        }
+
+        private SimpleDateFormat createSimpleDateFormat() {
+            return new SimpleDateFormat(pattern, locale);
+        }
+
+        boolean matches(final String pattern) {
+            return this.pattern.equals(pattern) && locale.equals(Locale.getDefault());
+        }
+
+        String format(final Date value) {
+            if (formatter == null) {
+                return simpleDateFormat.get().format(value);
+            }
+            return formatter.format(value.toInstant().atZone(ZoneId.systemDefault()));
+        }
+
+        Date parse(final String value) throws ParseException {
+            if (formatter != null) {
+                final ParsePosition position = new ParsePosition(0);
+                try {
+                    final TemporalAccessor parsed = formatter.parse(value, position);
+                    final Date date = toDate(parsed);
+                    if (date != null) {
+                        return date;
+                    }
+                } catch (final DateTimeException e) {
+                    // let the SimpleDateFormat decide
+                }
+            }
+            return simpleDateFormat.get().parse(value);
+        }
+
+        private Date toDate(final TemporalAccessor parsed) {
+            final LocalDate date = parsed.query(TemporalQueries.localDate());
+            if (date == null) {
+                return null;
+            }
+            LocalTime time = parsed.query(TemporalQueries.localTime());
+            if (time == null && parsed.isSupported(ChronoField.HOUR_OF_AMPM)) {
+                // pattern with 12-hour clock but without AM/PM marker (like the SimpleDateFormat: AM)
+                time = LocalTime.of((int) parsed.getLong(ChronoField.HOUR_OF_AMPM),
+                        parsed.isSupported(ChronoField.MINUTE_OF_HOUR)
+                                ? (int) parsed.getLong(ChronoField.MINUTE_OF_HOUR) : 0,
+                        parsed.isSupported(ChronoField.SECOND_OF_MINUTE)
+                                ? (int) parsed.getLong(ChronoField.SECOND_OF_MINUTE) : 0);
+            }
+            final LocalDateTime dateTime = time != null ? date.atTime(time) : date.atStartOfDay();
+            return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+        }
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.jexunit.core.data;
+
+/**
+ * Binder setting the properties of a test object out of the values of the excel-file. The binders are generated at
+ * compile time by the {@link TestObjectBinderProcessor} for the parameter types of the test commands, so the plain bean
+ * properties are set by calling the setters directly (without reflection or OGNL).
+ *
+ * @param <T> the type of the test object
+ * @author fabian
+ */
+public interface TestObjectBinder<T> {
+
+    /**
+     * Set the property of the given object to the given value.
+     *
+     * @param object   the test object
+     * @param property the property name (as defined in the excel-file)
+     * @param value    the property value (as string)
+     * @return true, if the property is set, false if the property is unknown to the binder or the value cannot be
+     * converted (so it has to be set via OGNL)
+     * @throws Exception the exception thrown by the setter
+     */
+    boolean setProperty(T object, String property, String value) throws Exception;
+
+}
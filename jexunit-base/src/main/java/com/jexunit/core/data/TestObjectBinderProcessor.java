@@ -0,0 +1,311 @@
+package com.jexunit.core.data;
+
+import com.jexunit.core.commands.annotation.TestCommand;
+import com.jexunit.core.commands.annotation.TestParam;
+import com.jexunit.core.context.Context;
+import ognl.MethodFailedException;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.FilerException;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.beans.Introspector;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Annotation processor generating the {@link TestObjectBinder}s for the parameter types of the test commands at compile
+ * time. For each type used as parameter of a method annotated with {@code @TestCommand} (or the public method of a
+ * class annotated with {@code @TestCommand}), a binder is generated into the package of the (first) test command using
+ * it (see {@link TestObjectBinders#getBinderName(String, String)}), so no classes are added to the packages of other
+ * libraries.
+ * <p>
+ * The binders are listed in the index {@value #INDEX_LOCATION}, one entry per line: <code>&lt;binary name of the
+ * type&gt; &lt;binary name of the binder&gt;</code>. An existing index (i.e. of an incremental build) is merged with
+ * the binders generated.
+ * </p>
+ * <p>
+ * The binder sets the plain bean properties with a public, not overloaded setter of a type converted by
+ * {@link PropertyUtils} (strings, numbers, booleans, dates and enums) by calling the setter directly. All other
+ * property names (nested, indexed or conditional expressions) are left to the {@link PropertyBinder} and OGNL. The
+ * exceptions of the setters are wrapped into an {@link ognl.MethodFailedException} (like OGNL does), so the test case
+ * fails the same way with or without a generated binder.
+ * Parameters annotated with {@code @TestParam} or {@code @Context}, types of the JDK, collections, maps, abstract and
+ * generic types are skipped.
+ * </p>
+ *
+ * @author fabian
+ */
+public class TestObjectBinderProcessor extends AbstractProcessor {
+
+    /**
+     * The location of the binder index in the classpath.
+     */
+    public static final String INDEX_LOCATION = "META-INF/jexunit/test-object-binders.idx";
+
+    private static final Set<String> SKIPPED_TYPES = new HashSet<>(Arrays.asList("com.jexunit.core.model.TestCase",
+            "com.jexunit.core.context.TestContext"));
+
+    // the conversions of the supported property types (like the PropertyUtils would convert them)
+    private static final Map<String, String> CONVERSIONS = new HashMap<>();
+
+    static {
+        CONVERSIONS.put("java.lang.String", "value");
+        CONVERSIONS.put("int", "Double.valueOf(value).intValue()");
+        CONVERSIONS.put("java.lang.Integer", "Double.valueOf(value).intValue()");
+        CONVERSIONS.put("double", "Double.parseDouble(value)");
+        CONVERSIONS.put("java.lang.Double", "Double.parseDouble(value)");
+        CONVERSIONS.put("long", "Double.valueOf(value).longValue()");
+        CONVERSIONS.put("java.lang.Long", "Double.valueOf(value).longValue()");
+        CONVERSIONS.put("float", "Float.parseFloat(value)");
+        CONVERSIONS.put("java.lang.Float", "Float.parseFloat(value)");
+        CONVERSIONS.put("boolean", "Boolean.parseBoolean(value)");
+        CONVERSIONS.put("java.lang.Boolean", "Boolean.parseBoolean(value)");
+        CONVERSIONS.put("java.math.BigDecimal", "new java.math.BigDecimal(value)");
+        CONVERSIONS.put("java.util.Date", TestDataFormatter.class.getName() + ".parseDate(value)");
+    }
+
+    private final Set<String> generated = new HashSet<>();
+    // the binders generated (binder name by type name)
+    private final Map<String, String> entries = new TreeMap<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        final Set<String> annotationTypes = new HashSet<>();
+        annotationTypes.add(TestCommand.class.getCanonicalName());
+        annotationTypes.add(TestCommand.TestCommands.class.getCanonicalName());
+        return Collections.unmodifiableSet(annotationTypes);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        for (final TypeElement annotation : annotations) {
+            for (final Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.METHOD) {
+                    processCommand((ExecutableElement) element);
+                } else if (element instanceof TypeElement) {
+                    for (final ExecutableElement method : ElementFilter.methodsIn(element.getEnclosedElements())) {
+                        if (method.getModifiers().contains(Modifier.PUBLIC)) {
+                            processCommand(method);
+                        }
+                    }
+                }
+            }
+        }
+
+        if (roundEnv.processingOver() && !entries.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void processCommand(final ExecutableElement command) {
+        final String packageName = processingEnv.getElementUtils().getPackageOf(command).getQualifiedName()
+                .toString();
+        for (final VariableElement parameter : command.getParameters()) {
+            if (parameter.getAnnotation(TestParam.class) != null || parameter.getAnnotation(Context.class) != null
+                    || parameter.asType().getKind() != TypeKind.DECLARED) {
+                continue;
+            }
+            final TypeElement type = (TypeElement) ((DeclaredType) parameter.asType()).asElement();
+            final String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+            if (isBindable(type, packageName) && generated.add(className)) {
+                generateBinder(type, className, packageName, command);
+            }
+        }
+    }
+
+    private boolean isBindable(final TypeElement type, final String packageName) {
+        final String name = type.getQualifiedName().toString();
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)
+                || !type.getTypeParameters().isEmpty() || name.startsWith("java.") || name.startsWith("javax.")
+                || SKIPPED_TYPES.contains(name) || !isAccessible(type, packageName)) {
+            return false;
+        }
+        return !isSubtype(type, "java.util.Map") && !isSubtype(type, "java.util.Collection");
+    }
+
+    /**
+     * Check if the type can be referenced by the binder generated into the given package.
+     */
+    private boolean isAccessible(final TypeElement type, final String packageName) {
+        final boolean samePackage = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName()
+                .contentEquals(packageName);
+        Element element = type;
+        while (element instanceof TypeElement) {
+            final Set<Modifier> modifiers = element.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)
+                    || ((TypeElement) element).getNestingKind().isNested() && !modifiers.contains(Modifier.STATIC)
+                    || !samePackage && !modifiers.contains(Modifier.PUBLIC)) {
+                return false;
+            }
+            element = element.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private boolean isSubtype(final TypeElement type, final String superType) {
+        final TypeElement superElement = processingEnv.getElementUtils().getTypeElement(superType);
+        return superElement != null && processingEnv.getTypeUtils().isSubtype(
+                processingEnv.getTypeUtils().erasure(type.asType()),
+                processingEnv.getTypeUtils().erasure(superElement.asType()));
+    }
+
+    /**
+     * Collect the setters (by property name) to be called by the binder.
+     */
+    private Map<String, ExecutableElement> getSetters(final TypeElement type, final String packageName) {
+        final Map<String, ExecutableElement> setters = new TreeMap<>();
+        final Map<String, Integer> overloads = new HashMap<>();
+        for (final ExecutableElement method : ElementFilter.methodsIn(
+                processingEnv.getElementUtils().getAllMembers(type))) {
+            final Set<Modifier> modifiers = method.getModifiers();
+            if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)
+                    || method.getParameters().size() != 1) {
+                continue;
+            }
+            final String name = method.getSimpleName().toString();
+            overloads.merge(name, 1, Integer::sum);
+            if (name.length() > 3 && name.startsWith("set") && method.getReturnType().getKind() == TypeKind.VOID
+                    && getConversion(method.getParameters().get(0).asType(), packageName) != null) {
+                setters.put(Introspector.decapitalize(name.substring(3)), method);
+            }
+        }
+        // OGNL chooses the setter by the value, so overloaded setters are left to OGNL
+        setters.values().removeIf(setter -> overloads.get(setter.getSimpleName().toString()) > 1);
+        return setters;
+    }
+
+    private String getConversion(final TypeMirror type, final String packageName) {
+        if (type.getKind() == TypeKind.DECLARED) {
+            final TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+            if (element.getKind() == ElementKind.ENUM) {
+                return isAccessible(element, packageName)
+                        ? "Enum.valueOf(" + element.getQualifiedName() + ".class, value)"
+                        : null;
+            }
+            return CONVERSIONS.get(element.getQualifiedName().toString());
+        }
+        return type.getKind().isPrimitive() ? CONVERSIONS.get(type.toString()) : null;
+    }
+
+    private void generateBinder(final TypeElement type, final String className, final String packageName,
+                                final ExecutableElement command) {
+        final Map<String, ExecutableElement> setters = getSetters(type, packageName);
+        if (setters.isEmpty()) {
+            return;
+        }
+        final String binderName = TestObjectBinders.getBinderName(packageName, className);
+        final int index = binderName.lastIndexOf('.');
+        final String typeName = type.getQualifiedName().toString();
+        entries.put(className, binderName);
+
+        try {
+            final JavaFileObject source = processingEnv.getFiler().createSourceFile(binderName, type,
+                    command.getEnclosingElement());
+            try (final Writer writer = source.openWriter(); final PrintWriter out = new PrintWriter(writer)) {
+                if (index > 0) {
+                    out.printf("package %s;%n%n", binderName.substring(0, index));
+                }
+                out.printf("/**%n * Binder for {@link %s}, generated by the %s.%n */%n", typeName,
+                        TestObjectBinderProcessor.class.getSimpleName());
+                out.printf("public final class %s implements %s<%s> {%n%n", binderName.substring(index + 1),
+                        TestObjectBinder.class.getName(), typeName);
+                out.printf("    @Override%n");
+                out.printf("    public boolean setProperty(final %s object, final String property, final String value)"
+                        + " throws Exception {%n", typeName);
+                out.printf("        if (value == null) {%n            return false;%n        }%n");
+                out.printf("        switch (property) {%n");
+                for (final Map.Entry<String, ExecutableElement> setter : setters.entrySet()) {
+                    writeCase(out, setter.getKey(), setter.getValue(), packageName);
+                }
+                out.printf("            default:%n                return false;%n        }%n    }%n%n}%n");
+            }
+        } catch (final FilerException e) {
+            // the binder is already generated
+        } catch (final IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Cannot generate the binder " + binderName + ": " + e, type);
+        }
+    }
+
+    private void writeCase(final PrintWriter out, final String property, final ExecutableElement setter,
+                           final String packageName) {
+        final TypeMirror type = setter.getParameters().get(0).asType();
+        final String conversion = getConversion(type, packageName);
+        final String argument;
+        out.printf("            case \"%s\": {%n", property);
+        if ("value".equals(conversion)) {
+            argument = "value";
+        } else {
+            out.printf("                final %s converted;%n", processingEnv.getTypeUtils().erasure(type));
+            out.printf("                try {%n                    converted = %s;%n", conversion);
+            // let OGNL try to convert the value
+            out.printf("                } catch (final Exception e) {%n                    return false;%n"
+                    + "                }%n");
+            argument = "converted";
+        }
+        // wrap the exception of the setter like OGNL (and the PropertyBinder) does
+        out.printf("                try {%n                    object.%s(%s);%n", setter.getSimpleName(), argument);
+        out.printf("                } catch (final Exception e) {%n"
+                + "                    throw new %s(object, \"%s\", e);%n                }%n",
+                MethodFailedException.class.getName(), setter.getSimpleName());
+        out.printf("                return true;%n            }%n");
+    }
+
+    private void writeIndex() {
+        final Map<String, String> index = new TreeMap<>();
+        try {
+            readExistingIndex(index);
+        } catch (final IOException e) {
+            // there is no index yet
+        }
+        index.putAll(entries);
+
+        try {
+            final FileObject resource = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (final Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8))) {
+                for (final Map.Entry<String, String> entry : index.entrySet()) {
+                    writer.write(entry.getKey() + " " + entry.getValue());
+                    writer.write('\n');
+                }
+            }
+        } catch (final IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Cannot write the binder index " + INDEX_LOCATION + ": " + e);
+        }
+    }
+
+    private void readExistingIndex(final Map<String, String> index) throws IOException {
+        final FileObject existing = processingEnv.getFiler()
+                .getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+        try (final BufferedReader reader = new BufferedReader(
+                new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String[] entry = line.trim().split("\\s+");
+                if (entry.length == 2) {
+                    index.put(entry[0], entry[1]);
+                }
+            }
+        }
+    }
+
+}
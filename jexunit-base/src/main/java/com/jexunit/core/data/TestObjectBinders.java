@@ -0,0 +1,130 @@
+package com.jexunit.core.data;
+
+import com.jexunit.core.JExUnitConfig;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lookup of the {@link TestObjectBinder}s generated by the {@link TestObjectBinderProcessor}. The binders are generated
+ * into the packages of the test commands, so the binder of a type is looked up once in the binder index
+ * ({@value TestObjectBinderProcessor#INDEX_LOCATION}) of the class loader of the type.
+ *
+ * @author fabian
+ */
+final class TestObjectBinders {
+
+    private static final Logger LOG = Logger.getLogger(TestObjectBinders.class.getName());
+
+    /**
+     * The suffix of the names of the generated binders.
+     */
+    static final String SUFFIX = "_JExUnitBinder";
+
+    // marker for the types without a generated binder
+    private static final TestObjectBinder<Object> NONE = (object, property, value) -> false;
+    private static final Map<Class<?>, TestObjectBinder<Object>> BINDERS = new ConcurrentHashMap<>();
+    // the binder index (binder name by type name) per class loader
+    private static final Map<ClassLoader, Map<String, String>> INDEXES = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor -> only static access.
+     */
+    private TestObjectBinders() {
+    }
+
+    /**
+     * Get the name of the binder generated for the type with the given (binary) name. The binder is generated into the
+     * given package (the package of the test command), the package and the names of nested types are joined with an
+     * underscore.
+     *
+     * @param packageName the package to generate the binder into
+     * @param className   the binary name of the type
+     * @return the binary name of the binder
+     */
+    static String getBinderName(final String packageName, final String className) {
+        final String simpleName = className.replace('.', '_').replace('$', '_') + SUFFIX;
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    /**
+     * Get the binder generated for the given type.
+     *
+     * @param type the type of the test object
+     * @return the binder generated for the type or null, if there is no binder generated (or the generated binders are
+     * disabled)
+     */
+    static TestObjectBinder<Object> getBinder(final Class<?> type) {
+        if (!JExUnitConfig.getBooleanProperty(JExUnitConfig.ConfigKey.GENERATED_BINDERS)) {
+            return null;
+        }
+        final TestObjectBinder<Object> binder = BINDERS.computeIfAbsent(type, TestObjectBinders::loadBinder);
+        return binder != NONE ? binder : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TestObjectBinder<Object> loadBinder(final Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.getClassLoader() == null) {
+            return NONE;
+        }
+        final String binderName = INDEXES.computeIfAbsent(type.getClassLoader(), TestObjectBinders::readIndex)
+                .get(type.getName());
+        if (binderName == null) {
+            return NONE;
+        }
+        try {
+            final Class<?> binderType = Class.forName(binderName, true, type.getClassLoader());
+            if (!TestObjectBinder.class.isAssignableFrom(binderType)) {
+                return NONE;
+            }
+            return (TestObjectBinder<Object>) binderType.getDeclaredConstructor().newInstance();
+        } catch (final ClassNotFoundException e) {
+            // outdated entry of the index
+            return NONE;
+        } catch (final ReflectiveOperationException | LinkageError | RuntimeException e) {
+            // i.e. a SecurityException of a sealed package
+            LOG.log(Level.WARNING, String.format("Cannot load the generated binder of %s.", type.getName()), e);
+            return NONE;
+        }
+    }
+
+    /**
+     * Read the binder indexes of the given class loader.
+     *
+     * @param classLoader the class loader
+     * @return the names of the binders by the names of the types
+     */
+    private static Map<String, String> readIndex(final ClassLoader classLoader) {
+        final Map<String, String> index = new HashMap<>();
+        try {
+            final Enumeration<URL> urls = classLoader.getResources(TestObjectBinderProcessor.INDEX_LOCATION);
+            while (urls.hasMoreElements()) {
+                try (final BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(urls.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        final String[] entry = line.trim().split("\\s+");
+                        if (entry.length == 2) {
+                            index.putIfAbsent(entry[0], entry[1]);
+                        }
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            LOG.log(Level.WARNING, "Cannot read the binder index " + TestObjectBinderProcessor.INDEX_LOCATION, e);
+            return Collections.emptyMap();
+        }
+        return index;
+    }
+
+}
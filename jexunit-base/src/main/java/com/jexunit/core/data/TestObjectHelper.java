@@ -1,5 +1,7 @@
 package com.jexunit.core.data;
 
+import com.jexunit.core.JExUnitConfig;
+import com.jexunit.core.jfr.JfrEvents;
 import com.jexunit.core.model.TestCase;
 import com.jexunit.core.model.TestCell;
 
@@ -26,8 +28,11 @@ public class TestObjectHelper {
      * @throws Exception in case that something goes wrong
      */
     public static <T> T createObject(final TestCase<?> testCase, final Class<T> clazz) throws Exception {
+        final Object event = JfrEvents.beginObjectCreation();
         final T obj = clazz.newInstance();
-        return createObject(testCase, obj);
+        setProperties(testCase, obj);
+        JfrEvents.commitObjectCreation(event, clazz, testCase.getValues().size());
+        return obj;
     }
 
     /**
@@ -41,10 +46,25 @@ public class TestObjectHelper {
      * @throws Exception in case that something goes wrong
      */
     public static <T> T createObject(final TestCase<?> testCase, final T object) throws Exception {
+        final Object event = JfrEvents.beginObjectCreation();
+        setProperties(testCase, object);
+        JfrEvents.commitObjectCreation(event, object.getClass(), testCase.getValues().size());
+        return object;
+    }
+
+    private static void setProperties(final TestCase<?> testCase, final Object object) throws Exception {
+        final boolean directBinding = JExUnitConfig.getBooleanProperty(JExUnitConfig.ConfigKey.OGNL_DIRECT_BINDING);
+        final TestObjectBinder<Object> binder = TestObjectBinders.getBinder(object.getClass());
         for (final Map.Entry<String, TestCell> entry : testCase.getValues().entrySet()) {
-            OgnlUtils.setPropertyToObject(object, entry.getKey(), entry.getValue().getValue());
+            if (binder != null && binder.setProperty(object, entry.getKey(), entry.getValue().getValue())) {
+                continue;
+            }
+            if (directBinding) {
+                PropertyBinder.setProperty(object, entry.getKey(), entry.getValue().getValue());
+            } else {
+                OgnlUtils.setPropertyToObject(object, entry.getKey(), entry.getValue().getValue());
+            }
         }
-        return object;
     }
 
     public static Object getProperty(final Object object, final String propertyKey) throws Exception {
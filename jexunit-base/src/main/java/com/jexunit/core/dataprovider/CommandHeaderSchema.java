@@ -0,0 +1,121 @@
+package com.jexunit.core.dataprovider;
+
+import java.util.List;
+
+/**
+ * Compiled <i>"command"</i> header line. The header is analyzed once: the key of each column, the columns representing
+ * a default command (framework flags like breakpoint, exception, disabled, ...) and the columns starting a further
+ * command in the same line. So the following data lines can be mapped by index without comparing each header again.
+ *
+ * @author fabian
+ */
+final class CommandHeaderSchema {
+
+    /**
+     * The default commands (framework flags) a column can represent.
+     */
+    enum Flag {
+        NONE, BREAKPOINT, EXCEPTION_EXPECTED, DISABLED, COMMENT, FAST_FAIL, TIMEOUT, MULTILINE
+    }
+
+    private final String[] keys;
+    private final boolean[] commands;
+    private final Flag[] flags;
+    // index of the next column defining a command (or -1 if there is none)
+    private final int[] nextCommandIndexes;
+
+    /**
+     * @param headers  the (non empty) cells of the header line
+     * @param keywords the configured keywords
+     */
+    CommandHeaderSchema(final List<String> headers, final ExcelKeywords keywords) {
+        final int size = headers.size();
+        keys = headers.toArray(new String[size]);
+        commands = new boolean[size];
+        flags = new Flag[size];
+        nextCommandIndexes = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            final String header = keys[i];
+            commands[i] = keywords.commandStatement.equalsIgnoreCase(header);
+            flags[i] = toFlag(header, keywords);
+        }
+        int nextCommandIndex = -1;
+        for (int i = size - 1; i >= 0; i--) {
+            nextCommandIndexes[i] = nextCommandIndex;
+            if (commands[i]) {
+                nextCommandIndex = i;
+            }
+        }
+    }
+
+    private static Flag toFlag(final String header, final ExcelKeywords keywords) {
+        if (keywords.breakpoint.equalsIgnoreCase(header)) {
+            return Flag.BREAKPOINT;
+        } else if (keywords.exceptionExpected.equalsIgnoreCase(header)) {
+            return Flag.EXCEPTION_EXPECTED;
+        } else if (keywords.disabled.equalsIgnoreCase(header)) {
+            return Flag.DISABLED;
+        } else if (keywords.comment.equalsIgnoreCase(header)) {
+            return Flag.COMMENT;
+        } else if (keywords.fastFail.equalsIgnoreCase(header)) {
+            return Flag.FAST_FAIL;
+        } else if (keywords.timeout.equalsIgnoreCase(header)) {
+            return Flag.TIMEOUT;
+        } else if (keywords.multiline.equalsIgnoreCase(header)) {
+            return Flag.MULTILINE;
+        }
+        return Flag.NONE;
+    }
+
+    /**
+     * Get the number of header columns.
+     *
+     * @return the number of header columns
+     */
+    int size() {
+        return keys.length;
+    }
+
+    /**
+     * Get the key for the value in the given column. Columns without header will get the key <i>"param"</i> and the
+     * index of the column.
+     *
+     * @param column the index of the column
+     * @return the key for the value
+     */
+    String getKey(final int column) {
+        return column < keys.length ? keys[column] : "param" + column;
+    }
+
+    /**
+     * Check if the given column defines the test command.
+     *
+     * @param column the index of the column
+     * @return true, if the column defines the test command, else false
+     */
+    boolean isCommand(final int column) {
+        return column < commands.length && commands[column];
+    }
+
+    /**
+     * Get the default command (framework flag) the given column represents.
+     *
+     * @param column the index of the column
+     * @return the flag of the column ({@link Flag#NONE}, if the column is a "normal" value)
+     */
+    Flag getFlag(final int column) {
+        return column < flags.length ? flags[column] : Flag.NONE;
+    }
+
+    /**
+     * Get the index of the next column (after the given one) defining a test command.
+     *
+     * @param column the index of the column
+     * @return the index of the next column defining a test command or -1, if there is none
+     */
+    int getNextCommandIndex(final int column) {
+        return column < nextCommandIndexes.length ? nextCommandIndexes[column] : -1;
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.jexunit.core.dataprovider;
+
+import com.jexunit.core.spi.data.DataProvider;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * DataProvider implementation for reading the test data out of CSV-files (or TSV-files). The files have the same
+ * format as the excel worksheets, but they are read line by line, so they fit for machine generated mass data.
+ *
+ * @author fabian
+ */
+public class CsvDataProvider implements DataProvider {
+
+    // hold the information for multiple CSV-files
+    private List<String> csvFileNames;
+
+    private boolean worksheetAsTest;
+
+    private char separator;
+
+    private String charset;
+
+    @Override
+    public boolean canProvide(final Class<?> testClass) {
+        // exactly one @CsvFile-Annotation has to be found
+        return TestDataFiles.isAnnotatedOnce(testClass, CsvFile.class);
+    }
+
+    @Override
+    public void initialize(final Class<?> testClass) throws Exception {
+        final AnnotatedElement element = TestDataFiles.getAnnotatedElement(testClass, CsvFile.class);
+        readSettings(element.getAnnotation(CsvFile.class));
+        this.csvFileNames = TestDataFiles.getFileNames(testClass, element);
+    }
+
+    @Override
+    public int numberOfTests() {
+        if (csvFileNames != null) {
+            return csvFileNames.size();
+        }
+
+        throw new IllegalArgumentException("Sorry, but the CsvDataProvider seems not to be initialized yet!");
+    }
+
+    @Override
+    public String getIdentifier(final int number) {
+        checkTestNumber(number);
+        return csvFileNames.get(number);
+    }
+
+    @Override
+    public Collection<Object[]> loadTestData(final int test) throws Exception {
+        checkTestNumber(test);
+        return new CsvLoader(worksheetAsTest, separator, charset).loadTestData(csvFileNames.get(test));
+    }
+
+    @Override
+    public Stream<Object[]> streamTestData(final int test) throws Exception {
+        checkTestNumber(test);
+        return new CsvLoader(worksheetAsTest, separator, charset).streamTestData(csvFileNames.get(test));
+    }
+
+    private void checkTestNumber(final int test) {
+        if (csvFileNames == null || test >= csvFileNames.size() || test < 0) {
+            throw new IllegalArgumentException("The CsvDataProvider cannot provide test data for test number " + test
+                    + "!");
+        }
+    }
+
+    private void readSettings(final CsvFile annotation) {
+        worksheetAsTest = annotation.worksheetAsTest();
+        separator = annotation.separator();
+        charset = annotation.charset();
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.jexunit.core.dataprovider;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation to define the variable/method that provides the filename(s) for the CSV-file(s) (or TSV-file(s)) for the
+ * test. The CSV-files follow the same format as the excel worksheets (<i>"command"</i> header lines, default
+ * commands, multiline commands, ...).
+ *
+ * @author fabian
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface CsvFile {
+
+    /**
+     * Interpret the whole CSV-file as one test case (<code>true</code>)
+     * or each command as test case (<code>false</code>)
+     *
+     * @return <code>true</code> to interpret a whole CSV-file as test case,
+     * <code>false</code> to interpret each command as test case
+     */
+    boolean worksheetAsTest() default true;
+
+    /**
+     * The separator of the fields. By default the separator is detected by the file extension: a tab for
+     * <i>".tsv"</i>-files, else a comma.
+     *
+     * @return the separator of the fields or <code>'\0'</code> to detect the separator by the file extension
+     */
+    char separator() default '\0';
+
+    /**
+     * The charset of the CSV-file(s). The charset has to be ASCII compatible (i.e. UTF-8, ISO-8859-1, windows-1252).
+     *
+     * @return the name of the charset
+     */
+    String charset() default "UTF-8";
+
+}
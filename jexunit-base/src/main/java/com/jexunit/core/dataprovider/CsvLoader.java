@@ -0,0 +1,167 @@
+package com.jexunit.core.dataprovider;
+
+import com.jexunit.core.model.TestCase;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Loader for CSV-files (and TSV-files). The lines of the file are mapped the same way as the lines of an excel
+ * worksheet, so the test commands work unchanged. The file name is used as worksheet name.<br>
+ * The file is read lazily, so big (mass data) files can be run without holding all the test cases in memory, if each
+ * command is a test.
+ *
+ * @author fabian
+ */
+public class CsvLoader {
+
+    private final boolean worksheetAsTest;
+    private final char separator;
+    private final Charset charset;
+
+    /**
+     * Create a CsvLoader for comma separated UTF-8 files, each file is a test.
+     */
+    public CsvLoader() {
+        this(true, '\0', "UTF-8");
+    }
+
+    /**
+     * @param worksheetAsTest interpret the whole file as one test case (true) or each command as test case (false)
+     * @param separator       the separator of the fields or <code>'\0'</code> to detect it by the file extension
+     * @param charset         the name of the (ASCII compatible) charset of the files
+     */
+    public CsvLoader(final boolean worksheetAsTest, final char separator, final String charset) {
+        this.worksheetAsTest = worksheetAsTest;
+        this.separator = separator;
+        this.charset = Charset.forName(charset);
+    }
+
+    /**
+     * Load the CSV-file.
+     *
+     * @param csvFile the name of the CSV-file (to be loaded). It has to be the filename incl. path to be loaded (for
+     *                example: src/test/resources/myCsvFile.csv)
+     * @return a collection of the parsed {@link TestCase}s
+     * @throws Exception in case that something goes wrong
+     */
+    public Collection<Object[]> loadTestData(final String csvFile) throws Exception {
+        try (final Stream<Object[]> testData = streamTestData(csvFile)) {
+            return testData.collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    /**
+     * Load the CSV-file lazily. The lines are read, when the next element of the stream is requested. The stream holds
+     * the CSV-file open until all lines are read or the stream is closed. If the whole file is a test, the file is
+     * read completely.
+     *
+     * @param csvFile the name of the CSV-file (to be loaded). It has to be the filename incl. path to be loaded (for
+     *                example: src/test/resources/myCsvFile.csv)
+     * @return a stream of the parsed {@link TestCase}s
+     * @throws Exception in case that the CSV-file cannot be opened
+     */
+    public Stream<Object[]> streamTestData(final String csvFile) throws Exception {
+        final Path path = Paths.get(csvFile);
+        final CsvReader reader;
+        try {
+            reader = new CsvReader(path, getSeparator(path), charset, CsvReader.DEFAULT_WINDOW_SIZE);
+        } catch (final NoSuchFileException e) {
+            throw new Exception(String.format("CSV-file '%s' not found!", csvFile), e);
+        }
+
+        final TestCaseSpliterator testCases = new TestCaseSpliterator(reader, csvFile, path.getFileName().toString());
+        final Stream<TestCase<ExcelMetadata>> stream = StreamSupport.stream(testCases, false)
+                .onClose(testCases::close);
+        if (worksheetAsTest) {
+            final List<TestCase<ExcelMetadata>> tests;
+            try (final Stream<TestCase<ExcelMetadata>> s = stream) {
+                tests = s.collect(Collectors.toList());
+            }
+            return Stream.<Object[]>of(new Object[]{tests});
+        }
+        return stream.map(gtc -> {
+            final List<TestCase<?>> list = new ArrayList<>();
+            list.add(gtc);
+            return new Object[]{list};
+        });
+    }
+
+    private char getSeparator(final Path path) {
+        if (separator != '\0') {
+            return separator;
+        }
+        return path.getFileName().toString().toLowerCase().endsWith(".tsv") ? '\t' : ',';
+    }
+
+    /**
+     * Spliterator reading the test cases line by line. The test cases are handed out as soon as they are complete.
+     */
+    private static class TestCaseSpliterator extends Spliterators.AbstractSpliterator<TestCase<ExcelMetadata>> {
+
+        private final CsvReader reader;
+        private final String source;
+        private final String fileName;
+        private final ExcelSheetMapper mapper;
+        private final Deque<TestCase<ExcelMetadata>> testCases = new ArrayDeque<>();
+        private boolean closed = false;
+
+        TestCaseSpliterator(final CsvReader reader, final String source, final String fileName) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.reader = reader;
+            this.source = source;
+            this.fileName = fileName;
+            this.mapper = new ExcelSheetMapper(fileName);
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super TestCase<ExcelMetadata>> action) {
+            while (testCases.isEmpty()) {
+                if (closed) {
+                    return false;
+                }
+                try {
+                    final List<ExcelCell> line = reader.nextLine();
+                    if (line == null) {
+                        // release the CSV-file as soon as all the lines are read
+                        close();
+                        testCases.addAll(mapper.getTestCases());
+                        mapper.getTestCases().clear();
+                    } else {
+                        mapper.mapLine(line);
+                        testCases.addAll(mapper.takeCompletedTestCases());
+                    }
+                } catch (final Exception e) {
+                    close();
+                    throw new IllegalStateException(
+                            String.format("Error while reading the CSV-file! - file: %s", fileName), e);
+                }
+            }
+            final TestCase<ExcelMetadata> testCase = testCases.poll();
+            testCase.getMetadata().setSource(source);
+            action.accept(testCase);
+            return true;
+        }
+
+        void close() {
+            if (!closed) {
+                closed = true;
+                try {
+                    reader.close();
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,304 @@
+package com.jexunit.core.dataprovider;
+
+import org.apache.poi.ss.util.CellReference;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads the lines of a CSV (or TSV) file. The file is memory-mapped window by window, so even files bigger than the
+ * heap (or 2 GB) can be read. The fields are sliced out of the mapped buffer and decoded directly, without copying
+ * the line into an intermediate buffer.
+ * <p>
+ * The format follows RFC 4180: fields can be quoted (<code>"</code>), quotes inside quoted fields are doubled and
+ * quoted fields can contain separators and line breaks. Lines can end with LF or CRLF. Empty (unquoted) fields are
+ * represented by <code>null</code>, like empty cells of an excel worksheet.
+ * </p>
+ *
+ * @author fabian
+ */
+final class CsvReader implements Closeable {
+
+    /**
+     * The size of the mapped window of the file.
+     */
+    static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private static final byte QUOTE = '"';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowSize;
+    private final byte separator;
+    private final CharsetDecoder decoder;
+
+    private MappedByteBuffer window;
+    // position of the window in the file
+    private long windowStart = 0;
+    // position of the next line in the window
+    private int position = 0;
+    private int lineNumber = 0;
+
+    // the fields of the current line (positions in the window)
+    private int[] fieldStarts = new int[16];
+    private int[] fieldEnds = new int[16];
+    private boolean[] fieldQuoted = new boolean[16];
+    private boolean[] fieldEscaped = new boolean[16];
+
+    private char[] chars = new char[256];
+
+    /**
+     * @param file       the CSV-file to read
+     * @param separator  the field separator (has to be a single byte character)
+     * @param charset    the charset of the file (has to be ASCII compatible, i.e. UTF-8 or ISO-8859-1)
+     * @param windowSize the size of the mapped window of the file
+     * @throws IOException in case that the file cannot be opened
+     */
+    CsvReader(final Path file, final char separator, final Charset charset, final int windowSize)
+            throws IOException {
+        if (separator == '"' || separator == '\r' || separator == '\n' || separator >= 0x80) {
+            throw new IllegalArgumentException(String.format("Invalid separator '%s' for the CSV-file!", separator));
+        }
+        if (!Arrays.equals("\",\t;|\r\n".getBytes(charset), "\",\t;|\r\n".getBytes(StandardCharsets.US_ASCII))) {
+            throw new IllegalArgumentException(String.format("The charset %s is not supported for CSV-files!",
+                    charset));
+        }
+        this.separator = (byte) separator;
+        this.windowSize = windowSize;
+        this.decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            this.fileSize = channel.size();
+            if (fileSize > 0) {
+                map(hasByteOrderMark(charset) ? 3 : 0, windowSize);
+            }
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private boolean hasByteOrderMark(final Charset charset) throws IOException {
+        if (!StandardCharsets.UTF_8.equals(charset) || fileSize < 3) {
+            return false;
+        }
+        final ByteBuffer bom = ByteBuffer.allocate(3);
+        while (bom.hasRemaining() && channel.read(bom, bom.position()) > 0) {
+            // read the first bytes of the file
+        }
+        return (bom.get(0) & 0xFF) == 0xEF && (bom.get(1) & 0xFF) == 0xBB && (bom.get(2) & 0xFF) == 0xBF;
+    }
+
+    /**
+     * Read the next line of the file.
+     *
+     * @return the cells of the line (addressed like excel cells: A1, B1, ...) or null, if the end of the file is
+     * reached
+     * @throws IOException in case that the file cannot be read
+     */
+    List<ExcelCell> nextLine() throws IOException {
+        while (windowStart + position < fileSize) {
+            if (position >= window.limit()) {
+                map(windowStart + position, windowSize);
+            }
+            final int fields = parseLine();
+            if (fields >= 0) {
+                return toCells(fields);
+            }
+
+            // the line exceeds the window -> map the window again, starting with the line
+            final long lineStart = windowStart + position;
+            long size = windowSize;
+            if (lineStart == windowStart) {
+                if (window.capacity() >= Integer.MAX_VALUE) {
+                    throw new IOException(String.format("Line %d of the CSV-file is too long!", lineNumber + 1));
+                }
+                size = Math.min(window.capacity() * 2L, Integer.MAX_VALUE);
+            }
+            map(lineStart, size);
+        }
+        return null;
+    }
+
+    private void map(final long start, final long size) throws IOException {
+        windowStart = start;
+        position = 0;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size, fileSize - start));
+    }
+
+    /**
+     * Parse the line starting at the current position.
+     *
+     * @return the number of fields of the line or -1, if the line exceeds the current window
+     */
+    private int parseLine() {
+        final int limit = window.limit();
+        final boolean endOfFile = windowStart + limit >= fileSize;
+        int p = position;
+        int fields = 0;
+
+        while (true) {
+            final int start;
+            final int end;
+            boolean quoted = false;
+            boolean escaped = false;
+            if (p < limit && window.get(p) == QUOTE) {
+                quoted = true;
+                start = ++p;
+                while (true) {
+                    if (p >= limit) {
+                        if (!endOfFile) {
+                            return -1;
+                        }
+                        // quote not closed, take the rest of the file
+                        break;
+                    }
+                    if (window.get(p) == QUOTE) {
+                        if (p + 1 >= limit && !endOfFile) {
+                            return -1;
+                        } else if (p + 1 < limit && window.get(p + 1) == QUOTE) {
+                            escaped = true;
+                            p += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    p++;
+                }
+                end = p;
+                // skip the closing quote and anything up to the next separator
+                while (p < limit && !isFieldEnd(window.get(p))) {
+                    p++;
+                }
+            } else {
+                start = p;
+                while (p < limit && !isFieldEnd(window.get(p))) {
+                    p++;
+                }
+                end = p;
+            }
+            if (p >= limit && !endOfFile) {
+                return -1;
+            }
+            addField(fields++, start, end, quoted, escaped);
+
+            if (p >= limit) {
+                // end of the file
+                position = p;
+                return fields;
+            }
+            final byte b = window.get(p);
+            if (b == separator) {
+                p++;
+                continue;
+            }
+            if (b == CR) {
+                if (p + 1 >= limit && !endOfFile) {
+                    return -1;
+                }
+                p++;
+                if (p < limit && window.get(p) == LF) {
+                    p++;
+                }
+            } else {
+                p++;
+            }
+            position = p;
+            return fields;
+        }
+    }
+
+    private boolean isFieldEnd(final byte b) {
+        return b == separator || b == CR || b == LF;
+    }
+
+    private void addField(final int index, final int start, final int end, final boolean quoted,
+                          final boolean escaped) {
+        if (index >= fieldStarts.length) {
+            final int length = fieldStarts.length * 2;
+            fieldStarts = Arrays.copyOf(fieldStarts, length);
+            fieldEnds = Arrays.copyOf(fieldEnds, length);
+            fieldQuoted = Arrays.copyOf(fieldQuoted, length);
+            fieldEscaped = Arrays.copyOf(fieldEscaped, length);
+        }
+        fieldStarts[index] = start;
+        fieldEnds[index] = end;
+        fieldQuoted[index] = quoted;
+        fieldEscaped[index] = escaped;
+    }
+
+    private List<ExcelCell> toCells(final int fields) throws CharacterCodingException {
+        final int row = lineNumber++;
+        final ExcelCell[] cells = new ExcelCell[fields];
+        for (int i = 0; i < fields; i++) {
+            if (fieldStarts[i] == fieldEnds[i] && !fieldQuoted[i]) {
+                // empty field -> like an empty excel cell
+                continue;
+            }
+            cells[i] = new ExcelCell(decode(fieldStarts[i], fieldEnds[i], fieldEscaped[i]),
+                    new CellReference(row, i).formatAsString());
+        }
+        return Arrays.asList(cells);
+    }
+
+    /**
+     * Decode the field at the given position of the window.
+     */
+    private String decode(final int start, final int end, final boolean escaped) throws CharacterCodingException {
+        final int length = end - start;
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        // the charset is ASCII compatible, so single byte characters (< 0x80) can be decoded without the decoder
+        int count = 0;
+        int p = start;
+        while (p < end) {
+            final byte b = window.get(p++);
+            if (b < 0) {
+                // multi byte character
+                count = -1;
+                break;
+            }
+            chars[count++] = (char) b;
+            if (escaped && b == QUOTE) {
+                // skip the second quote
+                p++;
+            }
+        }
+        if (count >= 0) {
+            return new String(chars, 0, count);
+        }
+
+        final ByteBuffer field = window.duplicate();
+        ((Buffer) field).limit(end);
+        ((Buffer) field).position(start);
+        final CharBuffer decoded = decoder.decode(field);
+        final String value = decoded.toString();
+        return escaped ? value.replace("\"\"", "\"") : value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+}
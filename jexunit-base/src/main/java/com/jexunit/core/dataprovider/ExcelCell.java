@@ -0,0 +1,29 @@
+package com.jexunit.core.dataprovider;
+
+import lombok.Getter;
+
+/**
+ * A single cell read out of an excel worksheet. The value is already converted into its String representation, so the
+ * cell no longer depends on the apache poi model it was read from (DOM or streaming).
+ *
+ * @author fabian
+ */
+@Getter
+class ExcelCell {
+
+    /**
+     * the cells value (as string)
+     */
+    private final String value;
+
+    /**
+     * the address of the cell like it is displayed in excel (A1, B7, ...)
+     */
+    private final String address;
+
+    ExcelCell(final String value, final String address) {
+        this.value = value;
+        this.address = address;
+    }
+
+}
@@ -1,12 +1,14 @@
 package com.jexunit.core.dataprovider;
 
+import com.jexunit.core.JExUnitConfig;
 import com.jexunit.core.spi.data.DataProvider;
 
-import java.lang.reflect.*;
+import java.lang.reflect.AnnotatedElement;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * DataProvider implementation for reading the test data out of excel files.
@@ -15,8 +17,6 @@ import java.util.List;
  */
 public class ExcelDataProvider implements DataProvider {
 
-    private Class<?> testClass;
-
     // hold the information for multiple excel-files
     private List<String> excelFileNames;
 
@@ -24,45 +24,34 @@ public class ExcelDataProvider implements DataProvider {
 
     private boolean transpose;
 
-    @Override
-    public boolean canProvide(final Class<?> testClass) {
-        int annotatedFields = 0;
-        final Field[] fields = testClass.getDeclaredFields();
-        for (final Field field : fields) {
-            if (field.isAnnotationPresent(ExcelFile.class) && isAcceptable(field)) {
-                annotatedFields++;
-            }
-        }
+    private boolean streaming;
 
-        int annotatedMethods = 0;
-        // check, if there is a method annotated with @ExcelFile
-        final Method[] methods = testClass.getMethods();
-        for (final Method method : methods) {
-            if (method.isAnnotationPresent(ExcelFile.class) && isAcceptable(method)) {
-                annotatedMethods++;
-            }
-        }
+    private FormulaEvaluation formulaEvaluation;
 
-        if (annotatedFields == 0 && annotatedMethods == 0) {
-            // nothing found
-            return false;
-        }
-        // check for unique @ExcelFile-Annotation?
-        if (annotatedFields > 1 || annotatedMethods > 1 || (annotatedFields + annotatedMethods) > 1) {
-            // multiple annotations found -> which one to choose?
-            return false;
-        }
-        return true;
+    // the excel-files loaded in parallel (if enabled); each entry is released after handing out the test data
+    private List<ExcelReadingPool.Task<Collection<Object[]>>> prefetchedTestData;
+    // the number of the last test, the excel-file is prefetched for
+    private int lastPrefetched;
+
+    @Override
+    public boolean canProvide(final Class<?> testClass) {
+        // exactly one @ExcelFile-Annotation has to be found
+        return TestDataFiles.isAnnotatedOnce(testClass, ExcelFile.class);
     }
 
     @Override
     public void initialize(final Class<?> testClass) throws Exception {
-        this.testClass = testClass;
+        this.prefetchedTestData = null;
 
-        this.excelFileNames = new ArrayList<>();
-        this.worksheetAsTest = true;
+        final AnnotatedElement element = TestDataFiles.getAnnotatedElement(testClass, ExcelFile.class);
+        readSettings(element.getAnnotation(ExcelFile.class));
+        this.excelFileNames = TestDataFiles.getFileNames(testClass, element);
 
-        readExcelFileNames();
+        if (excelFileNames.size() > 1 && ExcelReadingPool.isParallel()) {
+            // the excel-files are loaded in parallel one ahead (see loadTestData)
+            prefetchedTestData = new ArrayList<>(Collections.nCopies(excelFileNames.size(), null));
+            lastPrefetched = -1;
+        }
     }
 
     @Override
@@ -83,152 +72,81 @@ public class ExcelDataProvider implements DataProvider {
         return excelFileNames.get(number);
     }
 
+    /**
+     * Load the test data of the given test. If the excel-files are read in parallel, the next excel-file will be loaded
+     * in the background meanwhile. Only the next excel-file is loaded ahead, so at most two excel-files are held in
+     * memory (in addition to the test data already handed out).
+     */
     @Override
     public Collection<Object[]> loadTestData(final int test) throws Exception {
         if (excelFileNames == null || test >= excelFileNames.size() || test < 0) {
             throw new IllegalArgumentException("The ExcelDataProvider cannot provide test data for test number " + test
                     + "!");
         }
-        final ExcelLoader excelLoader = new ExcelLoader(worksheetAsTest, transpose);
-        return excelLoader.loadTestData(excelFileNames.get(test));
-    }
-
-    /**
-     * Check if the field is acceptable to provide the excel filename(s).
-     *
-     * @param field the field to check for the "correct" modifiers and type
-     * @return <code>true</code> if the given field is acceptable to provide the excel filename(s), else <code>false</code>
-     */
-    private boolean isAcceptable(final Field field) {
-        return Modifier.isStatic(field.getModifiers())
-                && (field.getType() == String.class || field.getType().isAssignableFrom(List.class) || field.getType()
-                .isArray() && field.getType().getComponentType() == String.class);
-    }
-
-    /**
-     * Check if the method is acceptable to provide the excel filename(s).
-     *
-     * @param method the method to check for the "correct" modifiers and return type
-     * @return <code>true</code> if the given method is acceptable to provide the excel filename(s), else <code>false</code>
-     */
-    private boolean isAcceptable(final Method method) {
-        return Modifier.isStatic(method.getModifiers())
-                && Modifier.isPublic(method.getModifiers())
-                && (method.getReturnType() == String.class || method.getReturnType().isAssignableFrom(List.class) || method
-                .getReturnType().isArray() && method.getReturnType().getComponentType() == String.class);
+        final ExcelReadingPool.Task<Collection<Object[]>> prefetched = takePrefetchedTestData(test);
+        prefetchTestData(test + 1);
+        if (prefetched != null) {
+            return prefetched.getResult();
+        }
+        return createExcelLoader().loadTestData(excelFileNames.get(test));
     }
 
     /**
-     * Get the excel-file-name(s) from the test-class. It should be read from a static field or a static method
-     * returning a string, array or list of strings, both annotated with {@code @ExcelFile}.
-     *
-     * @throws Exception
+     * Stream the test data of the given test. The excel-files are not loaded ahead here, because this would read the
+     * next excel-file completely into memory, while the stream reads the worksheets (or rows) only on request. So the
+     * excel-files are read one after another (the worksheets of an excel-file may still be parsed in parallel).
      */
-    private void readExcelFileNames() throws Exception {
-        final Field[] fields = testClass.getDeclaredFields();
-        for (final Field field : fields) {
-            if (field.isAnnotationPresent(ExcelFile.class)) {
-                if (checkFieldForExcelFileAnnotation(field)) {
-                    return;
-                }
-            }
+    @Override
+    public Stream<Object[]> streamTestData(final int test) throws Exception {
+        if (excelFileNames == null || test >= excelFileNames.size() || test < 0) {
+            throw new IllegalArgumentException("The ExcelDataProvider cannot provide test data for test number " + test
+                    + "!");
         }
-
-        // check, if there is a method annotated with @ExcelFile
-        final Method[] methods = testClass.getMethods();
-        for (final Method method : methods) {
-            if (method.isAnnotationPresent(ExcelFile.class)) {
-                if (checkMethodForExcelFileAnnotation(method)) {
-                    return;
-                }
-            }
+        final ExcelReadingPool.Task<Collection<Object[]>> prefetched = takePrefetchedTestData(test);
+        if (prefetched != null) {
+            return prefetched.getResult().stream();
         }
+        return createExcelLoader().streamTestData(excelFileNames.get(test));
+    }
 
-        throw new IllegalArgumentException(
-                "No excel-file definition found (static string-field or public static method annotated with @ExcelFile) in class "
-                        + testClass.getName());
+    private ExcelLoader createExcelLoader() {
+        return new ExcelLoader(worksheetAsTest, transpose, streaming, formulaEvaluation);
     }
 
     /**
-     * Check the given FrameworkField if @ExcelFile-Annotation is present. If so, read the settings and excel files and
-     * return true.
+     * Get the test data loaded in parallel for the given test (if available). The test data will only be handed out
+     * once, so it can be released after running the test.
      *
-     * @param field the FrameworkField to check for the @ExcelFile-Annotation
-     * @return true, if the Annotation is present and the settings and values could be read, else false
-     * @throws IllegalArgumentException
-     * @throws IllegalAccessException
+     * @param test the number of the test to get the test data for
+     * @return the task loading the test data or null, if the test data was not loaded in parallel
      */
-    @SuppressWarnings("unchecked")
-    private boolean checkFieldForExcelFileAnnotation(final Field field) throws IllegalArgumentException,
-            IllegalAccessException {
-        if (isAcceptable(field)) {
-            final Class<?> type = field.getType();
-
-            final ExcelFile annotation = field.getAnnotation(ExcelFile.class);
-            worksheetAsTest = annotation.worksheetAsTest();
-            transpose = annotation.transpose();
-
-            final boolean isFieldAccessible = field.isAccessible();
-            if (!isFieldAccessible) {
-                field.setAccessible(true);
-            }
-
-            if (type == String.class) {
-                excelFileNames.add((String) field.get(testClass));
-            } else if (type.isArray() && type.getComponentType() == String.class) {
-                excelFileNames.addAll(Arrays.asList((String[]) field.get(testClass)));
-            } else if (type.isAssignableFrom(List.class)
-                    && ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0] == String.class) {
-                excelFileNames.addAll((List<String>) field.get(testClass));
-            } else {
-                throw new IllegalArgumentException("The annotated static field '" + field.getName() + "' in class '"
-                        + testClass.getName() + "' as either to be of type String, String[] or List<String>!");
-            }
-
-            if (!isFieldAccessible) {
-                field.setAccessible(false);
-            }
-            return true;
+    private synchronized ExcelReadingPool.Task<Collection<Object[]>> takePrefetchedTestData(final int test) {
+        if (prefetchedTestData == null) {
+            return null;
         }
-
-        return false;
+        return prefetchedTestData.set(test, null);
     }
 
     /**
-     * Check the given FrameworkMethod if @ExcelFile-Annotation is present. If so, read the settings and excel files and
-     * return true.
+     * Start loading the test data for the given test in parallel (if enabled and not loaded yet).
      *
-     * @param method the FrameworkMethod to check for the @ExcelFile-Annotation
-     * @return true, if the Annotation is present and the settings and values could be read, else false
-     * @throws IllegalAccessException
-     * @throws IllegalArgumentException
-     * @throws InvocationTargetException
+     * @param test the number of the test to load the test data for
      */
-    @SuppressWarnings("unchecked")
-    private boolean checkMethodForExcelFileAnnotation(final Method method) throws IllegalAccessException,
-            IllegalArgumentException, InvocationTargetException {
-        if (isAcceptable(method)) {
-            final Class<?> returnType = method.getReturnType();
-
-            final ExcelFile annotation = method.getAnnotation(ExcelFile.class);
-            worksheetAsTest = annotation.worksheetAsTest();
-            transpose = annotation.transpose();
-
-            if (returnType == String.class) {
-                excelFileNames.add((String) method.invoke(null));
-            } else if (returnType.isArray() && returnType.getComponentType() == String.class) {
-                excelFileNames.addAll(Arrays.asList((String[]) method.invoke(null)));
-            } else if (returnType.isAssignableFrom(List.class)
-                    && ((ParameterizedType) method.getGenericReturnType()).getActualTypeArguments()[0] == String.class) {
-                excelFileNames.addAll((List<String>) method.invoke(null));
-            } else {
-                throw new IllegalArgumentException("The annotated static field '" + method.getName() + "' in class '"
-                        + testClass.getName() + "' as either to be of type String, String[] or List<String>!");
-            }
-            return true;
+    private synchronized void prefetchTestData(final int test) {
+        if (prefetchedTestData == null || test >= excelFileNames.size() || test <= lastPrefetched) {
+            return;
         }
+        lastPrefetched = test;
+        final ExcelLoader excelLoader = createExcelLoader();
+        final String excelFileName = excelFileNames.get(test);
+        prefetchedTestData.set(test, ExcelReadingPool.submit(() -> excelLoader.loadTestData(excelFileName)));
+    }
 
-        return false;
+    private void readSettings(final ExcelFile annotation) {
+        worksheetAsTest = annotation.worksheetAsTest();
+        transpose = annotation.transpose();
+        streaming = annotation.streaming() || JExUnitConfig.getBooleanProperty(JExUnitConfig.ConfigKey.EXCEL_STREAMING);
+        formulaEvaluation = annotation.formulaEvaluation();
     }
 
 }
@@ -31,4 +31,22 @@ public @interface ExcelFile {
      */
     boolean transpose() default false;
 
+    /**
+     * Read the excel-file(s) with the streaming reader. The streaming reader will parse the worksheets row by row
+     * without holding the whole workbook in memory, so it should be used for big (mass test) excel-files. Formulas
+     * will not be evaluated, the results cached in the excel-file are used instead.
+     *
+     * @return <code>true</code> to read the excel-file(s) with the streaming reader, else <code>false</code> (default)
+     */
+    boolean streaming() default false;
+
+    /**
+     * How to evaluate the formulas of the excel-file(s). By default the configured formula evaluation is used. The
+     * streaming reader will never evaluate formulas, so combining streaming with {@link FormulaEvaluation#ALL} or
+     * {@link FormulaEvaluation#ON_READ} will be rejected.
+     *
+     * @return the formula evaluation mode
+     */
+    FormulaEvaluation formulaEvaluation() default FormulaEvaluation.CONFIG;
+
 }
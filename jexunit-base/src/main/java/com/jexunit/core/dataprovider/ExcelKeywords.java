@@ -0,0 +1,62 @@
+package com.jexunit.core.dataprovider;
+
+import com.jexunit.core.JExUnitConfig;
+import com.jexunit.core.commands.DefaultCommands;
+
+/**
+ * Snapshot of the configured keywords (command statement and default commands) used to map the lines of a worksheet.
+ * The keywords are read once out of the configuration, so mapping the lines doesn't need any configuration lookups.
+ *
+ * @author fabian
+ */
+final class ExcelKeywords {
+
+    final String commandStatement;
+    final String disabled;
+    final String report;
+    final String breakpoint;
+    final String exceptionExpected;
+    final String comment;
+    final String fastFail;
+    final String timeout;
+    final String multiline;
+    final String[] multilineCommands;
+
+    private ExcelKeywords() {
+        commandStatement = JExUnitConfig.getStringProperty(JExUnitConfig.ConfigKey.COMMAND_STATEMENT);
+        disabled = JExUnitConfig.getDefaultCommandProperty(DefaultCommands.DISABLED);
+        report = JExUnitConfig.getDefaultCommandProperty(DefaultCommands.REPORT);
+        breakpoint = JExUnitConfig.getDefaultCommandProperty(DefaultCommands.BREAKPOINT);
+        exceptionExpected = JExUnitConfig.getDefaultCommandProperty(DefaultCommands.EXCEPTION_EXPECTED);
+        comment = JExUnitConfig.getDefaultCommandProperty(DefaultCommands.COMMENT);
+        fastFail = JExUnitConfig.getDefaultCommandProperty(DefaultCommands.FAST_FAIL);
+        timeout = JExUnitConfig.getDefaultCommandProperty(DefaultCommands.TIMEOUT);
+        multiline = JExUnitConfig.getDefaultCommandProperty(DefaultCommands.MULTILINE);
+        multilineCommands = JExUnitConfig.getDefaultCommandProperty(DefaultCommands.MULTILINE_COMMANDS).split(",");
+    }
+
+    /**
+     * Read the keywords out of the current configuration.
+     *
+     * @return the snapshot of the configured keywords
+     */
+    static ExcelKeywords fromConfig() {
+        return new ExcelKeywords();
+    }
+
+    /**
+     * Check if the given command is configured to be always a multiline command.
+     *
+     * @param command the test command
+     * @return true, if the command is a multiline command, else false
+     */
+    boolean isMultilineCommand(final String command) {
+        for (final String multilineCommand : multilineCommands) {
+            if (multilineCommand.equalsIgnoreCase(command)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
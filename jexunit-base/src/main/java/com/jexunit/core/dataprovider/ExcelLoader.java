@@ -2,18 +2,24 @@ package com.jexunit.core.dataprovider;
 
 import com.jexunit.core.JExUnitConfig;
 import com.jexunit.core.commands.DefaultCommands;
+import com.jexunit.core.data.TestDataFormatter;
+import com.jexunit.core.jfr.JfrEvents;
 import com.jexunit.core.model.TestCase;
-import com.jexunit.core.model.TestCell;
-import org.apache.commons.lang3.tuple.ImmutablePair;
-import org.apache.commons.lang3.tuple.Pair;
 import org.apache.poi.openxml4j.opc.OPCPackage;
 import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import java.io.FileNotFoundException;
-import java.text.SimpleDateFormat;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utility class for reading the excel file into the internal data representation.
@@ -24,10 +30,11 @@ public class ExcelLoader {
 
     final boolean worksheetAsTest;
     final boolean transpose;
+    final boolean streaming;
+    final FormulaEvaluation formulaEvaluation;
 
     public ExcelLoader() {
-        this.worksheetAsTest = true;
-        this.transpose = false;
+        this(true, false);
     }
 
     /**
@@ -37,8 +44,51 @@ public class ExcelLoader {
      *                        set to <code>true</code> data is read column wise
      */
     public ExcelLoader(final boolean worksheetAsTest, final boolean transpose) {
+        this(worksheetAsTest, transpose, JExUnitConfig.getBooleanProperty(JExUnitConfig.ConfigKey.EXCEL_STREAMING));
+    }
+
+    /**
+     * @param worksheetAsTest "group" all the test-commands of a worksheet to one test (true) or run each test-command
+     *                        as single test (false)
+     * @param transpose       transpose data when reading. If set to <code>false</code>, data is read row wise, else if
+     *                        set to <code>true</code> data is read column wise
+     * @param streaming       read the excel-file with the streaming reader (row by row) instead of loading the whole
+     *                        workbook into memory
+     */
+    public ExcelLoader(final boolean worksheetAsTest, final boolean transpose, final boolean streaming) {
+        this(worksheetAsTest, transpose, streaming, FormulaEvaluation.CONFIG);
+    }
+
+    /**
+     * @param worksheetAsTest   "group" all the test-commands of a worksheet to one test (true) or run each test-command
+     *                          as single test (false)
+     * @param transpose         transpose data when reading. If set to <code>false</code>, data is read row wise, else
+     *                          if set to <code>true</code> data is read column wise
+     * @param streaming         read the excel-file with the streaming reader (row by row) instead of loading the whole
+     *                          workbook into memory
+     * @param formulaEvaluation how to evaluate the formulas of the workbook; {@link FormulaEvaluation#CONFIG} will use
+     *                          the configured formula evaluation. The streaming reader cannot evaluate formulas, so
+     *                          only {@link FormulaEvaluation#CONFIG} and {@link FormulaEvaluation#CACHED} are allowed
+     *                          for streaming
+     * @throws IllegalArgumentException if formulas should be evaluated by the streaming reader
+     */
+    public ExcelLoader(final boolean worksheetAsTest, final boolean transpose, final boolean streaming,
+                       final FormulaEvaluation formulaEvaluation) {
+        if (streaming && (formulaEvaluation == FormulaEvaluation.ALL
+                || formulaEvaluation == FormulaEvaluation.ON_READ)) {
+            throw new IllegalArgumentException(String.format(
+                    "The streaming reader cannot evaluate formulas (formulaEvaluation=%s)! Use %s or %s instead.",
+                    formulaEvaluation, FormulaEvaluation.CACHED, FormulaEvaluation.CONFIG));
+        }
         this.worksheetAsTest = worksheetAsTest;
         this.transpose = transpose;
+        this.streaming = streaming;
+        if (formulaEvaluation == null || formulaEvaluation == FormulaEvaluation.CONFIG) {
+            this.formulaEvaluation = FormulaEvaluation.valueOf(JExUnitConfig
+                    .getStringProperty(JExUnitConfig.ConfigKey.EXCEL_FORMULA_EVALUATION).toUpperCase());
+        } else {
+            this.formulaEvaluation = formulaEvaluation;
+        }
     }
 
     /**
@@ -52,342 +102,463 @@ public class ExcelLoader {
     public Collection<Object[]> loadTestData(final String excelFile) throws Exception {
         final Map<String, List<TestCase<ExcelMetadata>>> tests = readExcel(excelFile);
 
-        final Collection<Object[]> col = new ArrayList<>();
-        if (worksheetAsTest) {
-            tests.forEach((k, v) -> col.add(new Object[]{v}));
-        } else {
-            tests.forEach((s, l) -> l.forEach(gtc -> {
-                final List<TestCase<?>> list = new ArrayList<>();
-                list.add(gtc);
-                col.add(new Object[]{list});
-            }));
+        return tests.values().stream().flatMap(testCases -> toTestData(excelFile, testCases)).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Load the excel-file lazily. The worksheets are read one after another, when the next element of the stream is
+     * requested. So only the test cases of the current worksheet are held in memory (and can be released after
+     * running them). If the test cases do not run per worksheet, the test cases are even handed out as soon as they are
+     * read, if the streaming reader is used.<br>
+     * The stream holds the excel-file open until all worksheets are read or the stream is closed. If one of the caches
+     * is enabled, the excel-file is read completely (or taken from the cache).
+     *
+     * @param excelFile the name of the excel file (to be loaded). It has to be the filename incl. path to be
+     *                  loaded (for example: src/test/resources/myExcelFile.xls)
+     * @return a stream of the parsed {@link TestCase}s
+     * @throws Exception in case that the excel-file cannot be opened
+     */
+    public Stream<Object[]> streamTestData(final String excelFile) throws Exception {
+        if (ExcelWorkbookCache.isEnabled() || ExcelTestDataCache.fromConfig() != null) {
+            // the caches need the whole excel-file read
+            return loadTestData(excelFile).stream();
+        }
+
+        final WorksheetReader reader;
+        try {
+            reader = openWorksheetReader(excelFile);
+        } catch (final FileNotFoundException e) {
+            throw new Exception(String.format("Excel-file '%s' not found!", excelFile), e);
+        }
+
+        if (!worksheetAsTest) {
+            final TestCaseSpliterator testCases = new TestCaseSpliterator(excelFile, reader);
+            return StreamSupport.stream(testCases, false).onClose(testCases::close);
         }
 
-        return col;
+        final WorksheetSpliterator worksheets = new WorksheetSpliterator(reader);
+        return StreamSupport.stream(worksheets, false).onClose(worksheets::close)
+                .flatMap(testCases -> toTestData(excelFile, testCases));
+    }
+
+    /**
+     * Transform the test cases of a worksheet into the test data representation. If the worksheet is a test, there
+     * will be only one element, else there will be one element per test case.
+     *
+     * @param excelFile the name of the excel file (the source of the test cases)
+     * @param testCases the test cases of a worksheet
+     * @return the test data
+     */
+    private Stream<Object[]> toTestData(final String excelFile, final List<TestCase<ExcelMetadata>> testCases) {
+        for (final TestCase<ExcelMetadata> testCase : testCases) {
+            testCase.getMetadata().setSource(excelFile);
+        }
+        if (worksheetAsTest) {
+            return Stream.<Object[]>of(new Object[]{testCases});
+        }
+        return testCases.stream().map(gtc -> {
+            final List<TestCase<?>> list = new ArrayList<>();
+            list.add(gtc);
+            return new Object[]{list};
+        });
     }
 
     /**
      * Read the excel-sheet and generate the TestCases. Each worksheet will become its own list of TestCases. So
-     * each worksheet will run as separated test run.
+     * each worksheet will run as separated test run. If the workbook cache is enabled, an excel-file already parsed
+     * (with the same configuration) will be reused.
      *
      * @param excelFilePath the path to the excel-file to read
      * @return a map with the excel worksheet name as key and the list of {@link TestCase}s as value
      * @throws Exception in case that something goes wrong
      */
     Map<String, List<TestCase<ExcelMetadata>>> readExcel(final String excelFilePath) throws Exception {
-        final Map<String, List<TestCase<ExcelMetadata>>> tests = new LinkedHashMap<>();
+        final Object event = JfrEvents.beginExcelFileRead();
+        if (!ExcelWorkbookCache.isEnabled()) {
+            final Map<String, List<TestCase<ExcelMetadata>>> tests = readWorkbook(excelFilePath);
+            JfrEvents.commitExcelFileRead(event, excelFilePath, tests, false);
+            return tests;
+        }
 
-        String sheet = null;
-        try (final OPCPackage pkg = OPCPackage.open(excelFilePath, PackageAccess.READ);
-             final XSSFWorkbook workbook = new XSSFWorkbook(pkg)) {
-            workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
-            // iterate through the worksheets
-            for (final Sheet worksheet : workbook) {
-                sheet = worksheet.getSheetName();
-                final List<TestCase<ExcelMetadata>> testCases = readWorksheet(worksheet);
-
-                tests.put(worksheet.getSheetName(), testCases);
-            }
-        } catch (final FileNotFoundException e) {
-            throw new Exception(String.format("Excel-file '%s' not found!", excelFilePath), e);
-        } catch (final Exception e) {
-            throw new Exception(String.format("Error while reading the excel-file! - worksheet: %s", sheet), e);
+        // the excel-file may already be parsed for another test (class)
+        final ExcelWorkbookCache.Key key = ExcelWorkbookCache.createKey(excelFilePath, getCacheConfiguration());
+        final Map<String, List<TestCase<ExcelMetadata>>> cachedTests = ExcelWorkbookCache.get(key);
+        if (cachedTests != null) {
+            JfrEvents.commitExcelFileRead(event, excelFilePath, cachedTests, true);
+            return cachedTests;
         }
+        final Map<String, List<TestCase<ExcelMetadata>>> tests = readWorkbook(excelFilePath);
+        ExcelWorkbookCache.put(key, tests);
+        JfrEvents.commitExcelFileRead(event, excelFilePath, tests, false);
         return tests;
     }
 
-    private List<TestCase<ExcelMetadata>> readWorksheet(final Sheet worksheet) throws Exception {
-        final List<List<Cell>> cells = new ArrayList<>();
-
-        if (transpose) {
-            final Pair<Integer, Integer> lastRowColumn = getLastRowAndLastColumn(worksheet);
-            final int lastRow = lastRowColumn.getLeft();
-            final int lastColumn = lastRowColumn.getRight();
+    /**
+     * Read the excel-file (or the test data cached on disk) and generate the TestCases.
+     *
+     * @param excelFilePath the path to the excel-file to read
+     * @return a map with the excel worksheet name as key and the list of {@link TestCase}s as value
+     * @throws Exception in case that something goes wrong
+     */
+    private Map<String, List<TestCase<ExcelMetadata>>> readWorkbook(final String excelFilePath) throws Exception {
+        final ExcelTestDataCache cache = ExcelTestDataCache.fromConfig();
+        final String cacheKey = cache != null ? cache.createKey(excelFilePath, getCacheConfiguration()) : null;
+        if (cacheKey != null) {
+            final Map<String, List<TestCase<ExcelMetadata>>> cachedTests = cache.read(cacheKey);
+            if (cachedTests != null) {
+                return cachedTests;
+            }
+        }
 
-            for (int rowNum = 0; rowNum <= lastRow; rowNum++) {
-                final Row row = worksheet.getRow(rowNum);
-                if (row == null) {
-                    continue;
-                }
+        final Map<String, List<TestCase<ExcelMetadata>>> tests = new LinkedHashMap<>();
+        final boolean formulaEvaluated;
 
-                for (int columnNum = 0; columnNum < lastColumn; columnNum++) {
-                    if (cells.size() <= columnNum) {
-                        cells.add(new LinkedList<>());
+        String sheet = null;
+        try (final WorksheetReader reader = openWorksheetReader(excelFilePath)) {
+            if (ExcelReadingPool.isParallel()) {
+                // parse the worksheets in parallel, but keep the order of the worksheets
+                final Map<String, ExcelReadingPool.Task<List<TestCase<ExcelMetadata>>>> tasks = new LinkedHashMap<>();
+                try {
+                    while (reader.hasNextSheet()) {
+                        sheet = reader.nextSheet();
+                        tasks.put(sheet, ExcelReadingPool.submit(reader.prepareSheet()));
                     }
-                    final Cell cell = row.getCell(columnNum);
-                    cells.get(columnNum).add(cell);
-                }
-            }
-        } else {
-            // iterate through the rows
-            for (int i = 0; i <= worksheet.getLastRowNum(); i++) {
-                final Row row = worksheet.getRow(i);
-
-                if (row != null) {
-                    for (int j = 0; j < row.getLastCellNum(); j++) {
-                        while (cells.size() <= i) {
-                            cells.add(new LinkedList<>());
-                        }
-                        final List<Cell> list = cells.get(i);
-                        final Cell cell = row.getCell(j);
-                        list.add(cell);
+                    for (final Map.Entry<String, ExcelReadingPool.Task<List<TestCase<ExcelMetadata>>>> task : tasks
+                            .entrySet()) {
+                        sheet = task.getKey();
+                        tests.put(sheet, task.getValue().getResult());
                     }
+                } finally {
+                    // all the tasks have to be finished before closing the reader
+                    tasks.values().forEach(ForkJoinTask::quietlyJoin);
+                }
+            } else {
+                // iterate through the worksheets
+                while (reader.hasNextSheet()) {
+                    sheet = reader.nextSheet();
+                    final List<TestCase<ExcelMetadata>> testCases = reader.readSheet();
+
+                    tests.put(sheet, testCases);
                 }
             }
+            formulaEvaluated = reader.isFormulaEvaluated();
+        } catch (final FileNotFoundException e) {
+            throw new Exception(String.format("Excel-file '%s' not found!", excelFilePath), e);
+        } catch (final Exception e) {
+            throw new Exception(String.format("Error while reading the excel-file! - worksheet: %s", sheet), e);
         }
-        return mapCells(cells);
-    }
 
-    private Pair<Integer, Integer> getLastRowAndLastColumn(final Sheet sheet) {
-        final int lastRow = sheet.getLastRowNum();
-        int lastColumn = 0;
-        for (final Row row : sheet) {
-            lastColumn = Math.max(lastColumn, row.getLastCellNum());
+        // values of evaluated formulas may change without changing the excel-file (i.e. TODAY()), so they are not cached
+        if (cacheKey != null && !formulaEvaluated) {
+            cache.write(cacheKey, tests);
         }
-        return new ImmutablePair<>(lastRow, lastColumn);
+        return tests;
     }
 
     /**
-     * Map given cells to test cases.
+     * Get the configuration the test data read depends on (beside the excel-file itself). This is part of the keys for
+     * the cached test data.
      *
-     * @param cells cells (read from excel worksheet - independent if transposed or not)
-     * @return list of test cases to be executed
-     * @throws Exception
+     * @return the configuration as String
      */
-    private List<TestCase<ExcelMetadata>> mapCells(final List<List<Cell>> cells) throws Exception {
-        final List<TestCase<ExcelMetadata>> testCases = new ArrayList<>();
-
-        if (cells == null || cells.isEmpty()) {
-            return testCases;
+    private String getCacheConfiguration() {
+        final StringBuilder configuration = new StringBuilder();
+        configuration.append("transpose=").append(transpose)
+                .append("\nstreaming=").append(streaming)
+                .append("\nformulaEvaluation=").append(formulaEvaluation)
+                .append("\nlocale=").append(Locale.getDefault())
+                .append("\ntimezone=").append(TimeZone.getDefault().getID());
+        for (final JExUnitConfig.ConfigKey key : Arrays.asList(JExUnitConfig.ConfigKey.DATE_PATTERN,
+                JExUnitConfig.ConfigKey.DATETIME_PATTERN, JExUnitConfig.ConfigKey.COMMAND_STATEMENT,
+                JExUnitConfig.ConfigKey.DEFAULTCOMMAND_PREFIX)) {
+            configuration.append('\n').append(key.getKey()).append('=').append(JExUnitConfig.getStringProperty(key));
         }
+        for (final DefaultCommands defaultCommand : DefaultCommands.values()) {
+            configuration.append('\n').append(defaultCommand.getConfigKey()).append('=')
+                    .append(JExUnitConfig.getDefaultCommandProperty(defaultCommand));
+        }
+        return configuration.toString();
+    }
 
-        List<String> commandHeaders = null;
-
-        // this is always the current cell (use for detailed exception message in case of an exception)
-        Cell cell = null;
-        // marker for "newly defined" command line (to e.g. reset the multiline flag
-        boolean commandLine = false;
-        try {
-            for (final List<Cell> cellList : cells) {
-                if (cellList.isEmpty()) {
-                    continue;
-                }
-                cell = cellList.get(0);
-                final String cellValue = cellValues2String(cell);
-                if (cellValue == null || cellValue.isEmpty()) {
-                    // if the first column is empty, this is a comment line and will be ignored
-                    continue;
-                } else if (JExUnitConfig.getStringProperty(JExUnitConfig.ConfigKey.COMMAND_STATEMENT)
-                        .equalsIgnoreCase(cellValue)) {
-                    commandHeaders = new ArrayList<>();
-                    commandLine = true;
-
-                    // iterate through following cells
-                    for (int h = 0; h < cellList.size(); h++) {
-                        cell = cellList.get(h);
-                        if (cell != null) {
-                            commandHeaders.add(cell.getStringCellValue());
-                        }
-                    }
-                } else if (JExUnitConfig.getDefaultCommandProperty(DefaultCommands.DISABLED)
-                        .equalsIgnoreCase(cellValue)) {
-                    final TestCase<ExcelMetadata> testCase = new TestCase<>(new ExcelMetadata());
-
-                    // the first column is always the command
-                    testCase.setTestCommand(cellValue);
-                    testCase.getMetadata().setSheet(cell.getSheet().getSheetName());
-                    testCase.getMetadata().setIdentifier(cell.getAddress().formatAsString());
-
-                    if (cellList.size() >= 2) {
-                        final TestCell testCell = new TestCell();
-                        cell = cellList.get(1);
-                        testCell.setValue(cellValues2String(cell));
-                        testCell.setIdentifier(cell.getAddress().formatAsString());
-                        testCase.getValues().put(
-                                JExUnitConfig.getDefaultCommandProperty(DefaultCommands.DISABLED),
-                                testCell);
-                        testCase.setDisabled(Boolean.parseBoolean(testCell.getValue()));
-                    }
-                    testCases.add(testCase);
-                    commandLine = false;
-                } else if (commandHeaders != null || JExUnitConfig
-                        .getDefaultCommandProperty(DefaultCommands.REPORT).equalsIgnoreCase(cellValue)) {
-                    final TestCase<ExcelMetadata> lastTestCase =
-                            testCases.isEmpty() ? null : testCases.get(testCases.size() - 1);
-
-                    if (!commandLine && lastTestCase != null && lastTestCase.isMultiline()
-                            && cellValue.equalsIgnoreCase(lastTestCase.getTestCommand())) {
-                        lastTestCase.next();
-
-                        map(commandHeaders, cellList, lastTestCase);
-                    } else if (commandHeaders == null) {
-                        final TestCase<ExcelMetadata> testCase = new TestCase<>(new ExcelMetadata());
-                        testCase.getMetadata().setSheet(cell.getSheet().getSheetName());
-                        testCase.getMetadata().setIdentifier(cell.getAddress().formatAsString());
-                        testCase.setTestCommand(cellValue);
-                        map(null, cellList.subList(1, cellList.size()), testCase);
-                        testCases.add(testCase);
-                    } else {
-                        testCases.addAll(mapTestCases(cellList, commandHeaders));
-                    }
+    /**
+     * Open the excel-file for reading the worksheets. If streaming is enabled, the worksheets will be parsed row by
+     * row, else the whole workbook will be loaded.
+     *
+     * @param excelFilePath the path to the excel-file to read
+     * @return the reader for the worksheets of the excel-file
+     * @throws Exception in case that the excel-file cannot be opened
+     */
+    private WorksheetReader openWorksheetReader(final String excelFilePath) throws Exception {
+        if (streaming) {
+            return new ExcelStreamingReader(excelFilePath, transpose);
+        }
+        return new WorkbookReader(excelFilePath);
+    }
 
-                    commandLine = false;
+    /**
+     * Reads the worksheets out of the whole workbook (DOM model). The formulas are evaluated depending on the
+     * configured {@link FormulaEvaluation}.
+     */
+    private class WorkbookReader implements WorksheetReader {
+
+        private final String excelFilePath;
+        private final OPCPackage pkg;
+        private final XSSFWorkbook workbook;
+        // only set, if the formulas are evaluated on reading the cells
+        private final FormulaEvaluator evaluator;
+        private int sheetIndex = -1;
+        // the worksheets may be read in parallel
+        private volatile boolean formulaEvaluated = false;
+
+        WorkbookReader(final String excelFilePath) throws Exception {
+            this.excelFilePath = excelFilePath;
+            pkg = OPCPackage.open(excelFilePath, PackageAccess.READ);
+            try {
+                workbook = new XSSFWorkbook(pkg);
+                switch (formulaEvaluation) {
+                    case ON_READ:
+                        evaluator = workbook.getCreationHelper().createFormulaEvaluator();
+                        break;
+                    case CACHED:
+                        evaluator = null;
+                        break;
+                    default:
+                        workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+                        evaluator = null;
+                        break;
                 }
-            }
-        } catch (final Exception e) {
-            if (cell != null) {
-                throw new Exception(String.format("Error while reading the excel-file! - worksheet: %s address: %s",
-                        cell.getSheet().getSheetName(), cell.getAddress().formatAsString()), e);
-            } else {
+            } catch (final Exception e) {
+                pkg.revert();
                 throw e;
             }
         }
 
-        return testCases;
-    }
-
-    private List<TestCase<ExcelMetadata>> mapTestCases(final List<Cell> cellList, final List<String> commandHeaders) {
-        final List<TestCase<ExcelMetadata>> testCases = new ArrayList<>();
-        if (commandHeaders == null || commandHeaders.isEmpty()) {
-            return testCases;
+        @Override
+        public boolean hasNextSheet() {
+            return sheetIndex + 1 < workbook.getNumberOfSheets();
         }
 
-        int nextCommandIndex = 0;
-        int lastCommandIndex;
-        do {
-            lastCommandIndex = nextCommandIndex;
-            final Cell commandCell = cellList.get(lastCommandIndex);
-            nextCommandIndex = getNextCommandIndex(commandHeaders, nextCommandIndex);
-
-            final TestCase<ExcelMetadata> testCase = new TestCase<>(new ExcelMetadata());
-            testCase.setTestCommand(cellValues2String(commandCell));
-            testCase.getMetadata().setSheet(commandCell.getSheet().getSheetName());
-            testCase.getMetadata().setIdentifier(commandCell.getAddress().formatAsString());
+        @Override
+        public String nextSheet() {
+            sheetIndex++;
+            return workbook.getSheetName(sheetIndex);
+        }
 
-            final List<Cell> commandValueCells =
-                    cellList.subList(lastCommandIndex, nextCommandIndex > -1 ? nextCommandIndex : cellList.size());
-            map(commandHeaders, commandValueCells, testCase);
+        @Override
+        public List<TestCase<ExcelMetadata>> readSheet() throws Exception {
+            return readWorksheet(workbook.getSheetAt(sheetIndex), this);
+        }
 
-            testCases.add(testCase);
-        } while (nextCommandIndex != -1 && nextCommandIndex < cellList.size());
+        @Override
+        public Callable<List<TestCase<ExcelMetadata>>> prepareSheet() {
+            final Sheet worksheet = workbook.getSheetAt(sheetIndex);
+            return () -> readWorksheet(worksheet, this);
+        }
 
-        return testCases;
-    }
+        @Override
+        public boolean isFormulaEvaluated() {
+            return formulaEvaluated;
+        }
 
-    private int getNextCommandIndex(final List<String> commandHeaders, final int lastIndex) {
-        for (int i = lastIndex + 1; i < commandHeaders.size(); i++) {
-            if (JExUnitConfig.getStringProperty(JExUnitConfig.ConfigKey.COMMAND_STATEMENT)
-                    .equalsIgnoreCase(commandHeaders.get(i))) {
-                return i;
+        @Override
+        public void close() throws IOException {
+            try {
+                workbook.close();
+            } finally {
+                pkg.revert();
             }
         }
-        return -1;
     }
 
-    private void map(final List<String> commandHeaders, final List<Cell> cells,
-                     final TestCase<ExcelMetadata> testCase) {
-        for (int j = 0; j < cells.size(); j++) {
-            final Cell cell = cells.get(j);
-            if (cell == null) {
-                continue;
+    /**
+     * Spliterator reading the next worksheet only on request. The reader will be closed after the last worksheet is
+     * read (or on closing the stream).
+     */
+    private static class WorksheetSpliterator extends Spliterators.AbstractSpliterator<List<TestCase<ExcelMetadata>>> {
+
+        private final WorksheetReader reader;
+        private boolean closed = false;
+
+        WorksheetSpliterator(final WorksheetReader reader) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super List<TestCase<ExcelMetadata>>> action) {
+            if (closed) {
+                return false;
             }
-            final TestCell testCell = new TestCell();
-            testCell.setValue(cellValues2String(cell));
-            testCell.setIdentifier(cell.getAddress().formatAsString());
-            // the "report"-command doesn't need a header-line
-            final String key = commandHeaders != null && commandHeaders.size() > j
-                    ? commandHeaders.get(j) : "param" + j;
-            if (JExUnitConfig.getStringProperty(JExUnitConfig.ConfigKey.COMMAND_STATEMENT)
-                    .equalsIgnoreCase(key)) {
-                testCase.setTestCommand(testCell.getValue());
-            } else {
-                testCase.getValues().put(key, testCell);
+            String sheet = null;
+            final List<TestCase<ExcelMetadata>> testCases;
+            try {
+                if (!reader.hasNextSheet()) {
+                    // release the excel-file as soon as all the worksheets are read
+                    close();
+                    return false;
+                }
+                sheet = reader.nextSheet();
+                testCases = reader.readSheet();
+            } catch (final Exception e) {
+                close();
+                throw new IllegalStateException(
+                        String.format("Error while reading the excel-file! - worksheet: %s", sheet), e);
+            }
+            action.accept(testCases);
+            return true;
+        }
+
+        void close() {
+            if (!closed) {
+                closed = true;
+                try {
+                    reader.close();
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
             }
+        }
+    }
 
-            // read/parse the "default" commands/parameters
-            if (commandHeaders != null && commandHeaders.size() > j) {
-                final String header = commandHeaders.get(j);
-                if (JExUnitConfig.getDefaultCommandProperty(DefaultCommands.BREAKPOINT)
-                        .equalsIgnoreCase(commandHeaders.get(j))) {
-                    // each command has the ability to set a breakpoint to
-                    // debug the test more easily
-                    testCase.setBreakpointEnabled(Boolean.parseBoolean(testCell.getValue()));
-                } else if (JExUnitConfig
-                        .getDefaultCommandProperty(DefaultCommands.EXCEPTION_EXPECTED)
-                        .equalsIgnoreCase(header)) {
-                    // each command has the ability to expect an exception.
-                    // you can define this via the field EXCEPTION_EXPECTED.
-                    testCase.setExceptionExpected(Boolean.parseBoolean(testCell.getValue()));
-                } else if (JExUnitConfig.getDefaultCommandProperty(DefaultCommands.DISABLED)
-                        .equalsIgnoreCase(header)) {
-                    // each command can be disabled
-                    testCase.setDisabled(Boolean.parseBoolean(testCell.getValue()));
-                } else if (JExUnitConfig.getDefaultCommandProperty(DefaultCommands.COMMENT)
-                        .equalsIgnoreCase(header)) {
-                    // add the comment to the test-case
-                    testCase.setComment(testCell.getValue());
-                } else if (JExUnitConfig.getDefaultCommandProperty(DefaultCommands.FAST_FAIL)
-                        .equalsIgnoreCase(header)) {
-                    // the command can fast fail the complete test sheet on fail
-                    testCase.setFastFail(Boolean.parseBoolean(testCell.getValue()));
-                } else if (JExUnitConfig.getDefaultCommandProperty(DefaultCommands.MULTILINE)
-                        .equalsIgnoreCase(header)) {
-                    if (!testCase.isMultiline()) {
-                        testCase.setMultiline(Boolean.parseBoolean(testCell.getValue()));
+    /**
+     * Spliterator over the test cases of all the worksheets of an excel-file. The test cases are taken from the reader
+     * one by one (see {@link WorksheetReader#iterateSheet()}), so the streaming reader will parse the next rows only
+     * when the next test case is requested.
+     */
+    private static class TestCaseSpliterator extends Spliterators.AbstractSpliterator<Object[]> {
+
+        private final String excelFile;
+        private final WorksheetReader reader;
+        private Iterator<TestCase<ExcelMetadata>> testCases = Collections.emptyIterator();
+        private String sheet;
+        private boolean closed = false;
+
+        TestCaseSpliterator(final String excelFile, final WorksheetReader reader) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.excelFile = excelFile;
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super Object[]> action) {
+            if (closed) {
+                return false;
+            }
+            final TestCase<ExcelMetadata> testCase;
+            try {
+                while (!testCases.hasNext()) {
+                    if (!reader.hasNextSheet()) {
+                        // release the excel-file as soon as all the worksheets are read
+                        close();
+                        return false;
                     }
-                    testCase.getValues().remove(key);
+                    sheet = reader.nextSheet();
+                    testCases = reader.iterateSheet();
                 }
+                testCase = testCases.next();
+            } catch (final Exception e) {
+                close();
+                throw new IllegalStateException(
+                        String.format("Error while reading the excel-file! - worksheet: %s", sheet), e);
             }
+            testCase.getMetadata().setSource(excelFile);
+            final List<TestCase<?>> list = new ArrayList<>();
+            list.add(testCase);
+            action.accept(new Object[]{list});
+            return true;
         }
 
-        if (testCase.getMultiline() == null) {
-            final String[] commands =
-                    JExUnitConfig.getDefaultCommandProperty(DefaultCommands.MULTILINE_COMMANDS).split(",");
-            for (final String command : commands) {
-                if (command.equalsIgnoreCase(testCase.getTestCommand())) {
-                    testCase.setMultiline(true);
+        void close() {
+            if (!closed) {
+                closed = true;
+                try {
+                    reader.close();
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
                 }
             }
         }
+    }
 
+    private List<TestCase<ExcelMetadata>> readWorksheet(final Sheet worksheet, final WorkbookReader reader)
+            throws Exception {
+        final Object event = JfrEvents.beginWorksheetRead();
+        final SheetBuffer cells = new SheetBuffer();
+
+        // iterate through the rows (missing rows are skipped, so they don't result in empty columns if transposed)
+        for (final Row row : worksheet) {
+            final int lastCellNum = row.getLastCellNum();
+            final ExcelCell[] rowCells = new ExcelCell[Math.max(lastCellNum, 0)];
+            for (int j = 0; j < rowCells.length; j++) {
+                rowCells[j] = toExcelCell(row.getCell(j), reader);
+            }
+            cells.addRow(rowCells);
+        }
+        final List<TestCase<ExcelMetadata>> testCases = mapCells(worksheet.getSheetName(), cells);
+        JfrEvents.commitWorksheetRead(event, reader.excelFilePath, worksheet.getSheetName(), testCases);
+        return testCases;
+    }
+
+    /**
+     * Map given cells to test cases.
+     *
+     * @param sheetName name of the worksheet the cells are read from
+     * @param cells     cells (read from excel worksheet - independent if transposed or not)
+     * @return list of test cases to be executed
+     * @throws Exception
+     */
+    private List<TestCase<ExcelMetadata>> mapCells(final String sheetName, final SheetBuffer cells)
+            throws Exception {
+        final ExcelSheetMapper mapper = new ExcelSheetMapper(sheetName);
+        if (cells != null) {
+            for (int i = 0; i < cells.getLineCount(transpose); i++) {
+                mapper.mapLine(cells.getLine(i, transpose));
+            }
+        }
+        return mapper.getTestCases();
+    }
+
+    private ExcelCell toExcelCell(final Cell cell, final WorkbookReader reader) {
+        if (cell == null) {
+            return null;
+        }
+        if (formulaEvaluation != FormulaEvaluation.CACHED && cell.getCellType() == CellType.FORMULA) {
+            reader.formulaEvaluated = true;
+        }
+        return new ExcelCell(cellValues2String(cell, reader.evaluator), cell.getAddress().formatAsString());
     }
 
     /**
      * Get the value of the excel-cell as String.
      *
-     * @param cell cell (excel)
+     * @param cell      cell (excel)
+     * @param evaluator the formula evaluator to evaluate formula cells with; if <code>null</code>, the cached result
+     *                  of the formula is used
      * @return the value of the excel-cell as String
      */
-    String cellValues2String(final Cell cell) {
+    String cellValues2String(final Cell cell, final FormulaEvaluator evaluator) {
         if (cell == null) {
             return null;
         }
         CellType cellType = cell.getCellType();
         if (cellType == CellType.FORMULA) {
-            cellType = cell.getCachedFormulaResultType();
+            if (evaluator != null) {
+                // evaluating the formula will update the cached result of the cell. The evaluator is not thread-safe,
+                // but the worksheets may be read in parallel.
+                synchronized (evaluator) {
+                    cellType = evaluator.evaluateFormulaCell(cell);
+                }
+            } else {
+                cellType = cell.getCachedFormulaResultType();
+            }
         }
 
         switch (cellType) {
             case NUMERIC:
                 if (DateUtil.isCellDateFormatted(cell)) {
-                    final Date value = cell.getDateCellValue();
-                    // Test if date is datetime. Does format contain letter h?
-                    if (cell.getCellStyle().getDataFormatString() != null &&
-                            cell.getCellStyle().getDataFormatString().toLowerCase().contains("h")) {
-                        return new SimpleDateFormat(
-                                JExUnitConfig.getStringProperty(JExUnitConfig.ConfigKey.DATETIME_PATTERN))
-                                .format(value);
-                    } else {
-                        return new SimpleDateFormat(
-                                JExUnitConfig.getStringProperty(JExUnitConfig.ConfigKey.DATE_PATTERN))
-                                .format(value);
-                    }
+                    return formatDate(cell.getDateCellValue(), cell.getCellStyle().getDataFormatString());
                 } else {
-                    final double number = cell.getNumericCellValue();
-                    if ((number == Math.floor(number)) && !Double.isInfinite(number)) {
-                        return String.valueOf(new Double(number).intValue());
-                    }
-                    return String.valueOf(number);
+                    return formatNumber(cell.getNumericCellValue());
                 }
             case STRING:
                 return cell.getStringCellValue();
@@ -401,4 +572,31 @@ public class ExcelLoader {
         return null;
     }
 
+    /**
+     * Get the String-representation of a date read out of a (date formatted) numeric cell.
+     *
+     * @param value            the date value of the cell
+     * @param dataFormatString the data format of the cell
+     * @return the formatted date; if the data format contains a time (letter h), the configured datetime pattern will
+     * be used, else the configured date pattern
+     */
+    static String formatDate(final Date value, final String dataFormatString) {
+        // Test if date is datetime. Does format contain letter h?
+        if (dataFormatString != null && dataFormatString.toLowerCase().contains("h")) {
+            return TestDataFormatter.formatDateTime(value);
+        } else {
+            return TestDataFormatter.formatDate(value);
+        }
+    }
+
+    /**
+     * Get the String-representation of a numeric cell value. Integral numbers will be returned without decimal places.
+     *
+     * @param number the numeric value of the cell
+     * @return the value as String
+     */
+    static String formatNumber(final double number) {
+        return TestDataFormatter.formatNumber(number);
+    }
+
 }
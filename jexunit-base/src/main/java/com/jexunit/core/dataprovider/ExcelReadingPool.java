@@ -0,0 +1,118 @@
+package com.jexunit.core.dataprovider;
+
+import com.jexunit.core.JExUnitConfig;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork-join pool for reading worksheets and excel-files in parallel. The number of threads is configured via
+ * {@link JExUnitConfig.ConfigKey#EXCEL_PARALLELISM}. Tasks submitted from inside the pool (i.e. the worksheets of an
+ * excel-file read in parallel) are forked into the same pool, so waiting for them will not block a thread of the pool.
+ *
+ * @author fabian
+ */
+final class ExcelReadingPool {
+
+    private static ForkJoinPool pool;
+    private static int poolParallelism;
+
+    /**
+     * Private constructor -> only static access.
+     */
+    private ExcelReadingPool() {
+    }
+
+    /**
+     * Get the configured parallelism.
+     *
+     * @return the number of threads to read worksheets and excel-files with
+     */
+    static int getParallelism() {
+        final int parallelism = JExUnitConfig.getIntProperty(JExUnitConfig.ConfigKey.EXCEL_PARALLELISM);
+        return parallelism <= 0 ? Runtime.getRuntime().availableProcessors() : parallelism;
+    }
+
+    /**
+     * Check if worksheets and excel-files should be read in parallel.
+     *
+     * @return true, if more than one thread is configured, else false
+     */
+    static boolean isParallel() {
+        return getParallelism() > 1;
+    }
+
+    private static synchronized ForkJoinPool getPool() {
+        final int parallelism = getParallelism();
+        if (pool == null || poolParallelism != parallelism) {
+            if (pool != null) {
+                pool.shutdown();
+            }
+            pool = new ForkJoinPool(parallelism);
+            poolParallelism = parallelism;
+        }
+        return pool;
+    }
+
+    /**
+     * Submit the given task to the pool.
+     *
+     * @param callable the task to run
+     * @param <T>      the type of the result of the task
+     * @return the submitted task to get the result from
+     */
+    static <T> Task<T> submit(final Callable<T> callable) {
+        final Task<T> task = new Task<>(callable);
+        final ForkJoinPool forkJoinPool = getPool();
+        if (ForkJoinTask.getPool() == forkJoinPool) {
+            task.fork();
+        } else {
+            forkJoinPool.execute(task);
+        }
+        return task;
+    }
+
+    /**
+     * Task running in the pool. The (checked) exception of the task is kept to be thrown on getting the result.
+     *
+     * @param <T> the type of the result of the task
+     */
+    static final class Task<T> extends RecursiveTask<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Callable<T> callable;
+        private Exception exception;
+
+        private Task(final Callable<T> callable) {
+            this.callable = callable;
+        }
+
+        @Override
+        protected T compute() {
+            try {
+                return callable.call();
+            } catch (final Exception e) {
+                exception = e;
+                return null;
+            }
+        }
+
+        /**
+         * Wait for the task to be completed and get its result.
+         *
+         * @return the result of the task
+         * @throws Exception the exception thrown by the task
+         */
+        T getResult() throws Exception {
+            final T result = join();
+            if (exception != null) {
+                throw exception;
+            }
+            return result;
+        }
+    }
+
+}
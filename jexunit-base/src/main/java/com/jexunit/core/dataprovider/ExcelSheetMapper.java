@@ -0,0 +1,256 @@
+package com.jexunit.core.dataprovider;
+
+import com.jexunit.core.model.TestCase;
+import com.jexunit.core.model.TestCell;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Maps the lines of a single worksheet to {@link TestCase}s. A line is a row of the worksheet or - if the data is
+ * transposed - a column. The lines are fed one after another, so the mapping doesn't depend on how the worksheet is
+ * read (the whole workbook at once or streaming row by row).
+ *
+ * @author fabian
+ */
+class ExcelSheetMapper {
+
+    private final String sheetName;
+
+    // the configured keywords are read only once per worksheet
+    private final ExcelKeywords keywords = ExcelKeywords.fromConfig();
+
+    private final List<TestCase<ExcelMetadata>> testCases = new ArrayList<>();
+
+    private CommandHeaderSchema commandHeaders = null;
+
+    // marker for "newly defined" command line (to e.g. reset the multiline flag
+    private boolean commandLine = false;
+
+    /**
+     * @param sheetName the name of the worksheet the lines are read from
+     */
+    ExcelSheetMapper(final String sheetName) {
+        this.sheetName = sheetName;
+    }
+
+    /**
+     * Get the test cases mapped so far.
+     *
+     * @return list of test cases to be executed
+     */
+    List<TestCase<ExcelMetadata>> getTestCases() {
+        return testCases;
+    }
+
+    /**
+     * Remove and get the test cases, that are complete. The last test case mapped is kept, because further lines may
+     * still be added to it (multiline test case). This way the test cases can be handed out while mapping mass data.
+     *
+     * @return the complete test cases mapped so far
+     */
+    List<TestCase<ExcelMetadata>> takeCompletedTestCases() {
+        if (testCases.size() <= 1) {
+            return Collections.emptyList();
+        }
+        final List<TestCase<ExcelMetadata>> completed = new ArrayList<>(testCases.subList(0, testCases.size() - 1));
+        final TestCase<ExcelMetadata> last = testCases.get(testCases.size() - 1);
+        testCases.clear();
+        testCases.add(last);
+        return completed;
+    }
+
+    /**
+     * Map the given line (read from excel worksheet - independent if transposed or not) to test cases.
+     *
+     * @param cellList the cells of the line, missing cells are represented by <code>null</code>
+     * @throws Exception in case that the line cannot be mapped
+     */
+    void mapLine(final List<ExcelCell> cellList) throws Exception {
+        if (cellList == null || cellList.isEmpty()) {
+            return;
+        }
+
+        // this is always the current cell (use for detailed exception message in case of an exception)
+        ExcelCell cell = cellList.get(0);
+        try {
+            final String cellValue = cell == null ? null : cell.getValue();
+            if (cellValue == null || cellValue.isEmpty()) {
+                // if the first column is empty, this is a comment line and will be ignored
+                return;
+            } else if (keywords.commandStatement.equalsIgnoreCase(cellValue)) {
+                final List<String> headers = new ArrayList<>(cellList.size());
+                commandLine = true;
+
+                // iterate through following cells
+                for (int h = 0; h < cellList.size(); h++) {
+                    cell = cellList.get(h);
+                    if (cell != null) {
+                        headers.add(cell.getValue());
+                    }
+                }
+                // compile the header once for all the following data lines
+                commandHeaders = new CommandHeaderSchema(headers, keywords);
+            } else if (keywords.disabled.equalsIgnoreCase(cellValue)) {
+                final TestCase<ExcelMetadata> testCase = new TestCase<>(new ExcelMetadata());
+
+                // the first column is always the command
+                testCase.setTestCommand(cellValue);
+                testCase.getMetadata().setSheet(sheetName);
+                testCase.getMetadata().setIdentifier(cell.getAddress());
+
+                if (cellList.size() >= 2 && cellList.get(1) != null) {
+                    final TestCell testCell = new TestCell();
+                    cell = cellList.get(1);
+                    testCell.setValue(cell.getValue());
+                    testCell.setIdentifier(cell.getAddress());
+                    testCase.getValues().put(keywords.disabled, testCell);
+                    testCase.setDisabled(Boolean.parseBoolean(testCell.getValue()));
+                }
+                testCases.add(testCase);
+                commandLine = false;
+            } else if (commandHeaders != null || keywords.report.equalsIgnoreCase(cellValue)) {
+                final TestCase<ExcelMetadata> lastTestCase =
+                        testCases.isEmpty() ? null : testCases.get(testCases.size() - 1);
+
+                if (!commandLine && lastTestCase != null && lastTestCase.isMultiline()
+                        && cellValue.equalsIgnoreCase(lastTestCase.getTestCommand())) {
+                    lastTestCase.next();
+
+                    map(commandHeaders, cellList, 0, cellList.size(), lastTestCase);
+                } else if (commandHeaders == null) {
+                    final TestCase<ExcelMetadata> testCase = new TestCase<>(new ExcelMetadata());
+                    testCase.getMetadata().setSheet(sheetName);
+                    testCase.getMetadata().setIdentifier(cell.getAddress());
+                    testCase.setTestCommand(cellValue);
+                    map(null, cellList, 1, cellList.size(), testCase);
+                    testCases.add(testCase);
+                } else {
+                    testCases.addAll(mapTestCases(cellList, commandHeaders));
+                }
+
+                commandLine = false;
+            }
+        } catch (final Exception e) {
+            if (cell != null) {
+                throw new Exception(String.format("Error while reading the excel-file! - worksheet: %s address: %s",
+                        sheetName, cell.getAddress()), e);
+            } else {
+                throw e;
+            }
+        }
+    }
+
+    private List<TestCase<ExcelMetadata>> mapTestCases(final List<ExcelCell> cellList,
+                                                       final CommandHeaderSchema commandHeaders) {
+        final List<TestCase<ExcelMetadata>> testCases = new ArrayList<>();
+        if (commandHeaders == null || commandHeaders.size() == 0) {
+            return testCases;
+        }
+
+        int nextCommandIndex = 0;
+        int lastCommandIndex;
+        do {
+            lastCommandIndex = nextCommandIndex;
+            final ExcelCell commandCell = cellList.get(lastCommandIndex);
+            nextCommandIndex = commandHeaders.getNextCommandIndex(nextCommandIndex);
+
+            final TestCase<ExcelMetadata> testCase = new TestCase<>(new ExcelMetadata());
+            testCase.setTestCommand(commandCell.getValue());
+            testCase.getMetadata().setSheet(sheetName);
+            testCase.getMetadata().setIdentifier(commandCell.getAddress());
+
+            map(commandHeaders, cellList, lastCommandIndex,
+                    nextCommandIndex > -1 ? nextCommandIndex : cellList.size(), testCase);
+
+            testCases.add(testCase);
+        } while (nextCommandIndex != -1 && nextCommandIndex < cellList.size());
+
+        return testCases;
+    }
+
+    /**
+     * Map the cells in the given range of the line to the test case. The headers (and the "param" keys) are indexed
+     * relative to the start of the range.
+     */
+    private void map(final CommandHeaderSchema commandHeaders, final List<ExcelCell> cells, final int from,
+                     final int to, final TestCase<ExcelMetadata> testCase) {
+        for (int j = 0; j < to - from; j++) {
+            final ExcelCell cell = cells.get(from + j);
+            if (cell == null) {
+                continue;
+            }
+            final TestCell testCell = new TestCell();
+            testCell.setValue(cell.getValue());
+            testCell.setIdentifier(cell.getAddress());
+            // the "report"-command doesn't need a header-line
+            final String key = commandHeaders != null ? commandHeaders.getKey(j) : "param" + j;
+            if (commandHeaders != null ? commandHeaders.isCommand(j) : keywords.commandStatement.equalsIgnoreCase(key)) {
+                testCase.setTestCommand(testCell.getValue());
+            } else {
+                testCase.getValues().put(key, testCell);
+            }
+
+            // read/parse the "default" commands/parameters
+            if (commandHeaders != null) {
+                switch (commandHeaders.getFlag(j)) {
+                    case BREAKPOINT:
+                        // each command has the ability to set a breakpoint to
+                        // debug the test more easily
+                        testCase.setBreakpointEnabled(Boolean.parseBoolean(testCell.getValue()));
+                        break;
+                    case EXCEPTION_EXPECTED:
+                        // each command has the ability to expect an exception.
+                        // you can define this via the field EXCEPTION_EXPECTED.
+                        testCase.setExceptionExpected(Boolean.parseBoolean(testCell.getValue()));
+                        break;
+                    case DISABLED:
+                        // each command can be disabled
+                        testCase.setDisabled(Boolean.parseBoolean(testCell.getValue()));
+                        break;
+                    case COMMENT:
+                        // add the comment to the test-case
+                        testCase.setComment(testCell.getValue());
+                        break;
+                    case FAST_FAIL:
+                        // the command can fast fail the complete test sheet on fail
+                        testCase.setFastFail(Boolean.parseBoolean(testCell.getValue()));
+                        break;
+                    case TIMEOUT:
+                        // the timeout (in milliseconds) of the command
+                        if (testCell.getValue() != null && !testCell.getValue().trim().isEmpty()) {
+                            testCase.setTimeout(parseTimeout(testCell));
+                        }
+                        break;
+                    case MULTILINE:
+                        if (!testCase.isMultiline()) {
+                            testCase.setMultiline(Boolean.parseBoolean(testCell.getValue()));
+                        }
+                        testCase.getValues().remove(key);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        if (testCase.getMultiline() == null && keywords.isMultilineCommand(testCase.getTestCommand())) {
+            testCase.setMultiline(true);
+        }
+
+    }
+
+    /**
+     * Parse the timeout (in milliseconds) out of the given cell. Numeric cells may be formatted as decimal number.
+     */
+    private static long parseTimeout(final TestCell cell) {
+        try {
+            return (long) Double.parseDouble(cell.getValue().trim());
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Invalid timeout '%s' (milliseconds expected) in cell %s!",
+                    cell.getValue(), cell.getIdentifier()), e);
+        }
+    }
+
+}
@@ -0,0 +1,500 @@
+package com.jexunit.core.dataprovider;
+
+import com.jexunit.core.jfr.JfrEvents;
+import com.jexunit.core.model.TestCase;
+import org.apache.poi.ooxml.POIXMLTypeLoader;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTWorkbook;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.WorkbookDocument;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+
+/**
+ * Streaming reader for excel-files. The worksheets are parsed with a StAX (pull) parser and each row is passed straight
+ * to the {@link ExcelSheetMapper}. So the workbook is never held in memory completely, only the shared strings and the
+ * styles are loaded. The test cases of a worksheet can also be handed out as soon as they are complete (see
+ * {@link #iterateSheet()}), so not even a whole worksheet is held in memory. Transposed worksheets have to be buffered
+ * (as string values) until the worksheet is read completely, because the columns are needed.
+ * <p>
+ * The cell values are converted the same way the {@link ExcelLoader} converts them reading the whole workbook. Formulas
+ * will not be evaluated, the results cached in the excel-file are used instead.
+ * </p>
+ *
+ * @author fabian
+ */
+class ExcelStreamingReader implements WorksheetReader {
+
+    /**
+     * the factory is thread safe after its configuration, so it is shared by all the readers (and worksheets)
+     */
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLHelper.newXMLInputFactory();
+
+    private final String excelFilePath;
+    private final boolean transpose;
+
+    private final OPCPackage pkg;
+    private final SharedStrings sharedStrings;
+    private final StylesTable styles;
+    private final boolean date1904;
+    private final XSSFReader.SheetIterator sheets;
+
+    /**
+     * the data format strings of the cell styles, if the style is a date format, else an empty string (lazy initialized
+     * per style; the worksheets may be read in parallel, but the result is always the same)
+     */
+    private final String[] dateFormats;
+
+    private InputStream sheetData;
+    private String sheetName;
+
+    /**
+     * @param excelFilePath the path to the excel-file to read
+     * @param transpose     transpose data when reading. If set to <code>false</code>, data is read row wise, else if
+     *                      set to <code>true</code> data is read column wise
+     * @throws Exception in case the excel-file cannot be opened
+     */
+    ExcelStreamingReader(final String excelFilePath, final boolean transpose) throws Exception {
+        this.excelFilePath = excelFilePath;
+        this.transpose = transpose;
+        this.pkg = OPCPackage.open(excelFilePath, PackageAccess.READ);
+        try {
+            final XSSFReader reader = new XSSFReader(pkg);
+            this.sharedStrings = new ReadOnlySharedStringsTable(pkg);
+            this.styles = reader.getStylesTable();
+            this.date1904 = isDate1904(reader);
+            this.sheets = reader.getSheetIterator();
+        } catch (final Exception e) {
+            pkg.revert();
+            throw e;
+        }
+        final int numberOfStyles = styles != null ? styles.getNumCellStyles() : 0;
+        this.dateFormats = new String[numberOfStyles];
+    }
+
+    private static boolean isDate1904(final XSSFReader reader) throws Exception {
+        try (final InputStream in = reader.getWorkbookData()) {
+            final CTWorkbook workbook = WorkbookDocument.Factory.parse(in, POIXMLTypeLoader.DEFAULT_XML_OPTIONS)
+                    .getWorkbook();
+            return workbook.isSetWorkbookPr() && workbook.getWorkbookPr().getDate1904();
+        }
+    }
+
+    @Override
+    public boolean hasNextSheet() {
+        return sheets.hasNext();
+    }
+
+    @Override
+    public String nextSheet() throws IOException {
+        closeSheetData();
+        sheetData = sheets.next();
+        sheetName = sheets.getSheetName();
+        return sheetName;
+    }
+
+    @Override
+    public List<TestCase<ExcelMetadata>> readSheet() throws Exception {
+        return prepareSheet().call();
+    }
+
+    @Override
+    public Callable<List<TestCase<ExcelMetadata>>> prepareSheet() {
+        if (sheetData == null) {
+            throw new IllegalStateException("No worksheet to read. Call nextSheet() first!");
+        }
+        // the task takes over the input stream of the worksheet
+        final InputStream in = sheetData;
+        final String name = sheetName;
+        sheetData = null;
+        return () -> readSheet(name, in);
+    }
+
+    private List<TestCase<ExcelMetadata>> readSheet(final String name, final InputStream in) throws Exception {
+        final Object event = JfrEvents.beginWorksheetRead();
+        final List<TestCase<ExcelMetadata>> testCases;
+        try (final SheetParser parser = new SheetParser(name, in)) {
+            while (parser.nextRow()) {
+                // the rows are passed to the mapper
+            }
+            testCases = parser.mapper.getTestCases();
+        }
+        JfrEvents.commitWorksheetRead(event, excelFilePath, name, testCases);
+        return testCases;
+    }
+
+    /**
+     * Parse the current worksheet lazily. The rows are parsed, when the next test case is requested, and the test cases
+     * are handed out as soon as they are complete (like the lines of a CSV-file). The worksheet is closed after the last
+     * test case is handed out (or on closing the reader).
+     *
+     * @return the test cases of the current worksheet
+     * @throws Exception in case that the worksheet cannot be opened
+     */
+    @Override
+    public Iterator<TestCase<ExcelMetadata>> iterateSheet() throws Exception {
+        if (sheetData == null) {
+            throw new IllegalStateException("No worksheet to read. Call nextSheet() first!");
+        }
+        // the parser takes over the input stream of the worksheet (but it is closed with the reader at the latest)
+        final SheetParser parser = new SheetParser(sheetName, sheetData);
+        return new Iterator<TestCase<ExcelMetadata>>() {
+
+            private final Deque<TestCase<ExcelMetadata>> testCases = new ArrayDeque<>();
+            private boolean finished = false;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    while (testCases.isEmpty() && !finished) {
+                        if (parser.nextRow()) {
+                            testCases.addAll(parser.mapper.takeCompletedTestCases());
+                        } else {
+                            finished = true;
+                            testCases.addAll(parser.mapper.getTestCases());
+                            parser.mapper.getTestCases().clear();
+                            parser.close();
+                        }
+                    }
+                } catch (final Exception e) {
+                    finished = true;
+                    throw new IllegalStateException(
+                            String.format("Error while reading the excel-file! - worksheet: %s", parser.sheetName), e);
+                }
+                return !testCases.isEmpty();
+            }
+
+            @Override
+            public TestCase<ExcelMetadata> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return testCases.poll();
+            }
+        };
+    }
+
+    private void closeSheetData() throws IOException {
+        if (sheetData != null) {
+            sheetData.close();
+            sheetData = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            closeSheetData();
+        } finally {
+            // the package is opened read only, so there is nothing to save
+            pkg.revert();
+        }
+    }
+
+    /**
+     * Get the data format string for the given style, if the style represents a date format.
+     *
+     * @param styleIndex index of the cell style
+     * @return the data format string if the style is a date format, else null
+     */
+    private String getDateFormat(final int styleIndex) {
+        if (styleIndex < 0 || styleIndex >= dateFormats.length) {
+            return null;
+        }
+        String dateFormat = dateFormats[styleIndex];
+        if (dateFormat == null) {
+            final XSSFCellStyle style = styles.getStyleAt(styleIndex);
+            if (style != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString())) {
+                dateFormat = style.getDataFormatString();
+            } else {
+                dateFormat = "";
+            }
+            dateFormats[styleIndex] = dateFormat;
+        }
+        return dateFormat.isEmpty() ? null : dateFormat;
+    }
+
+    /**
+     * Get the numeric value as String. If the cell style is a date format, the value will be formatted as date.
+     *
+     * @param number     the numeric value of the cell
+     * @param styleIndex index of the cell style (or -1 if no style is set)
+     * @return the value as String
+     */
+    private String numericValue2String(final double number, final int styleIndex) {
+        // cells without style are using the default style (like the DOM model does)
+        final int style = styleIndex < 0 ? 0 : styleIndex;
+        if (DateUtil.isValidExcelDate(number)) {
+            final String dateFormat = getDateFormat(style);
+            if (dateFormat != null) {
+                return ExcelLoader.formatDate(DateUtil.getJavaDate(number, date1904), dateFormat);
+            }
+        }
+        return ExcelLoader.formatNumber(number);
+    }
+
+    /**
+     * Get the error value as String (the error code, like the DOM model does).
+     *
+     * @param error the error text (i.e. #DIV/0!)
+     * @return the error code as String
+     */
+    private static String errorValue2String(final String error) {
+        try {
+            return String.valueOf(FormulaError.forString(error).getCode());
+        } catch (final IllegalArgumentException e) {
+            return error;
+        }
+    }
+
+    /**
+     * Get the index of the column out of the cell reference (i.e. 2 for C7).
+     *
+     * @param cellReference the cell reference
+     * @return the (0-based) index of the column
+     */
+    private static int getColumnIndex(final String cellReference) {
+        int column = 0;
+        for (int i = 0; i < cellReference.length(); i++) {
+            final char c = cellReference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    /**
+     * Pull parser for the worksheet xml. This will collect the cells of a row and pass the complete row to the mapper.
+     */
+    private class SheetParser implements Closeable {
+
+        private final String sheetName;
+        private final InputStream in;
+        private final XMLStreamReader xml;
+        private final ExcelSheetMapper mapper;
+
+        // all rows of the worksheet; only used if the worksheet is transposed
+        private final SheetBuffer rows = new SheetBuffer();
+
+        private final StringBuilder value = new StringBuilder();
+
+        private List<ExcelCell> row;
+        private int rowNumber = 0;
+
+        private String cellReference;
+        private String cellType;
+        private int cellStyle;
+        private int column;
+        private boolean hasValue;
+
+        private boolean inValue;
+        private boolean inInlineString;
+        private boolean inPhoneticRun;
+        private boolean inText;
+
+        SheetParser(final String sheetName, final InputStream in) throws XMLStreamException {
+            this.sheetName = sheetName;
+            this.in = in;
+            this.xml = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            this.mapper = new ExcelSheetMapper(sheetName);
+        }
+
+        /**
+         * Parse the next row of the worksheet and pass it to the mapper (or buffer it, if the worksheet is
+         * transposed).
+         *
+         * @return true, if a row was parsed, false at the end of the worksheet
+         * @throws Exception in case that the worksheet cannot be parsed or the row cannot be mapped
+         */
+        boolean nextRow() throws Exception {
+            while (xml.hasNext()) {
+                switch (xml.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        startElement(xml.getLocalName());
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                    case XMLStreamConstants.SPACE:
+                        characters(xml.getTextCharacters(), xml.getTextStart(), xml.getTextLength());
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        if (endElement(xml.getLocalName())) {
+                            return true;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+            return false;
+        }
+
+        private void startElement(final String localName) {
+            switch (localName) {
+                case "row":
+                    final String r = xml.getAttributeValue(null, "r");
+                    rowNumber = r != null ? Integer.parseInt(r) : rowNumber + 1;
+                    row = new ArrayList<>();
+                    break;
+                case "c":
+                    cellReference = xml.getAttributeValue(null, "r");
+                    cellType = xml.getAttributeValue(null, "t");
+                    final String s = xml.getAttributeValue(null, "s");
+                    cellStyle = s != null ? Integer.parseInt(s) : -1;
+                    column = cellReference != null ? getColumnIndex(cellReference) : row.size();
+                    hasValue = false;
+                    value.setLength(0);
+                    break;
+                case "v":
+                    inValue = true;
+                    hasValue = true;
+                    value.setLength(0);
+                    break;
+                case "is":
+                    inInlineString = true;
+                    hasValue = true;
+                    value.setLength(0);
+                    break;
+                case "rPh":
+                    inPhoneticRun = true;
+                    break;
+                case "t":
+                    inText = inInlineString && !inPhoneticRun;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void characters(final char[] ch, final int start, final int length) {
+            if (inValue || inText) {
+                value.append(ch, start, length);
+            }
+        }
+
+        /**
+         * Handle the end of an element.
+         *
+         * @return true, if a row is complete
+         */
+        private boolean endElement(final String localName) throws Exception {
+            switch (localName) {
+                case "v":
+                    inValue = false;
+                    break;
+                case "t":
+                    inText = false;
+                    break;
+                case "rPh":
+                    inPhoneticRun = false;
+                    break;
+                case "is":
+                    inInlineString = false;
+                    break;
+                case "c":
+                    final String address = cellReference != null ? cellReference
+                            : new CellReference(rowNumber - 1, column).formatAsString();
+                    final ExcelCell cell = new ExcelCell(cellValue2String(), address);
+                    while (row.size() < column) {
+                        row.add(null);
+                    }
+                    if (row.size() == column) {
+                        row.add(cell);
+                    } else {
+                        row.set(column, cell);
+                    }
+                    break;
+                case "row":
+                    if (transpose) {
+                        rows.addRow(row.toArray(new ExcelCell[0]));
+                    } else {
+                        mapper.mapLine(row);
+                    }
+                    row = null;
+                    return true;
+                case "sheetData":
+                    if (transpose) {
+                        mapColumns();
+                    }
+                    break;
+                default:
+                    break;
+            }
+            return false;
+        }
+
+        /**
+         * Get the value of the current cell as String.
+         *
+         * @return the value of the current cell as String
+         */
+        private String cellValue2String() {
+            final String raw = value.toString();
+            if (!hasValue) {
+                // blank cell
+                return "";
+            }
+            if (cellType == null || "n".equals(cellType)) {
+                return raw.isEmpty() ? "" : numericValue2String(Double.parseDouble(raw), cellStyle);
+            }
+            switch (cellType) {
+                case "s":
+                    return sharedStrings.getItemAt(Integer.parseInt(raw.trim())).getString();
+                case "b":
+                    return String.valueOf(!"0".equals(raw.trim()));
+                case "e":
+                    return errorValue2String(raw);
+                default:
+                    // inline strings, formula strings, ...
+                    return raw;
+            }
+        }
+
+        /**
+         * Map the collected rows column wise (transposed).
+         *
+         * @throws Exception in case that a column cannot be mapped
+         */
+        private void mapColumns() throws Exception {
+            for (int columnNum = 0; columnNum < rows.getLineCount(true); columnNum++) {
+                mapper.mapLine(rows.getLine(columnNum, true));
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                xml.close();
+            } catch (final XMLStreamException e) {
+                throw new IOException(e);
+            } finally {
+                in.close();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,357 @@
+package com.jexunit.core.dataprovider;
+
+import com.jexunit.core.JExUnitConfig;
+import com.jexunit.core.model.TestCase;
+import com.jexunit.core.model.TestCell;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Persistent cache for the test data read out of excel-files. The test cases of an excel-file are stored in a compact
+ * binary file inside the configured cache directory (see {@link JExUnitConfig.ConfigKey#EXCEL_CACHE_DIRECTORY}), so
+ * further test runs (i.e. other JVM forks) don't have to parse the unchanged excel-file again.
+ * <p>
+ * The key of a cache entry is the hash of the content of the excel-file and the configuration used reading the file.
+ * So changing the excel-file or the configuration will result in a new cache entry. Old entries are not removed
+ * automatically.
+ * </p>
+ *
+ * @author fabian
+ */
+final class ExcelTestDataCache {
+
+    private static final Logger LOG = Logger.getLogger(ExcelTestDataCache.class.getName());
+
+    /**
+     * "JXC" and the version of the binary format
+     */
+    private static final int MAGIC = 0x4A584302;
+    private static final String FILE_EXTENSION = ".jxc";
+
+    private static final int DISABLED = 1;
+    private static final int EXCEPTION_EXPECTED = 1 << 1;
+    private static final int BREAKPOINT_ENABLED = 1 << 2;
+    private static final int TIMEOUT = 1 << 3;
+
+    private final Path directory;
+
+    private ExcelTestDataCache(final Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Get the cache for the configured cache directory.
+     *
+     * @return the cache or null, if no cache directory is configured (the cache is disabled)
+     */
+    static ExcelTestDataCache fromConfig() {
+        final String directory = JExUnitConfig.getStringProperty(JExUnitConfig.ConfigKey.EXCEL_CACHE_DIRECTORY);
+        if (directory == null || directory.trim().isEmpty()) {
+            return null;
+        }
+        return new ExcelTestDataCache(Paths.get(directory.trim()));
+    }
+
+    /**
+     * Create the key for the cache entry of the given excel-file.
+     *
+     * @param excelFilePath the path to the excel-file
+     * @param configuration the configuration used reading the excel-file (as String)
+     * @return the key for the cache entry or null, if the excel-file cannot be read
+     */
+    String createKey(final String excelFilePath, final String configuration) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(configuration.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        try (final InputStream in = Files.newInputStream(Paths.get(excelFilePath))) {
+            final byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (final IOException | InvalidPathException e) {
+            // the excel-file cannot be read -> reading the file will report the error
+            LOG.log(Level.FINE, "Cannot create cache key for excel-file " + excelFilePath, e);
+            return null;
+        }
+
+        final byte[] hash = digest.digest();
+        final StringBuilder key = new StringBuilder(hash.length * 2);
+        for (final byte b : hash) {
+            key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Read the cached test data.
+     *
+     * @param key the key of the cache entry
+     * @return the test data (worksheet name as key and the list of {@link TestCase}s as value) or null, if there is no
+     * (valid) cache entry
+     */
+    Map<String, List<TestCase<ExcelMetadata>>> read(final String key) {
+        final Path file = directory.resolve(key + FILE_EXTENSION);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return new EntryReader(in).readTestData();
+        } catch (final IOException | RuntimeException e) {
+            LOG.log(Level.WARNING, String.format("Cannot read cached test data '%s'. The excel-file will be read again.",
+                    file), e);
+            deleteQuietly(file);
+            return null;
+        }
+    }
+
+    /**
+     * Write the test data to the cache. Failures will only be logged, because the cache is not essential to run the
+     * tests.
+     *
+     * @param key   the key of the cache entry
+     * @param tests the test data (worksheet name as key and the list of {@link TestCase}s as value)
+     */
+    void write(final String key, final Map<String, List<TestCase<ExcelMetadata>>> tests) {
+        final Path file = directory.resolve(key + FILE_EXTENSION);
+        Path tempFile = null;
+        try {
+            Files.createDirectories(directory);
+            tempFile = directory.resolve(key + "." + UUID.randomUUID() + ".tmp");
+            try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(tempFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)))) {
+                new EntryWriter(out).writeTestData(tests);
+            }
+            // replace the cache entry atomically, so parallel test runs will never read an incomplete entry
+            try {
+                Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (final IOException | RuntimeException e) {
+            LOG.log(Level.WARNING, String.format("Cannot write cached test data '%s'.", file), e);
+            if (tempFile != null) {
+                deleteQuietly(tempFile);
+            }
+        }
+    }
+
+    private static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException e) {
+            LOG.log(Level.FINE, "Cannot delete " + file, e);
+        }
+    }
+
+    /**
+     * Writes the test data in the binary format. Each String is written only once, further occurrences are written as
+     * reference.
+     */
+    private static final class EntryWriter {
+
+        private final DataOutputStream out;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        EntryWriter(final DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeTestData(final Map<String, List<TestCase<ExcelMetadata>>> tests) throws IOException {
+            out.writeInt(MAGIC);
+            writeVarInt(tests.size());
+            for (final Map.Entry<String, List<TestCase<ExcelMetadata>>> sheet : tests.entrySet()) {
+                writeString(sheet.getKey());
+                writeVarInt(sheet.getValue().size());
+                for (final TestCase<ExcelMetadata> testCase : sheet.getValue()) {
+                    writeTestCase(testCase);
+                }
+            }
+        }
+
+        private void writeTestCase(final TestCase<ExcelMetadata> testCase) throws IOException {
+            writeString(testCase.getTestCommand());
+            writeString(testCase.getMetadata().getSheet());
+            writeString(testCase.getMetadata().getIdentifier());
+            writeString(testCase.getComment());
+
+            int flags = 0;
+            if (testCase.isDisabled()) {
+                flags |= DISABLED;
+            }
+            if (testCase.isExceptionExpected()) {
+                flags |= EXCEPTION_EXPECTED;
+            }
+            if (testCase.isBreakpointEnabled()) {
+                flags |= BREAKPOINT_ENABLED;
+            }
+            if (testCase.getTimeout() != null) {
+                flags |= TIMEOUT;
+            }
+            out.writeByte(flags);
+            writeBoolean(testCase.getFastFail());
+            writeBoolean(testCase.getMultiline());
+            if (testCase.getTimeout() != null) {
+                out.writeLong(testCase.getTimeout());
+            }
+
+            final List<Map<String, TestCell>> rows = testCase.getMultilineValues();
+            writeVarInt(rows.size());
+            for (final Map<String, TestCell> row : rows) {
+                writeVarInt(row.size());
+                for (final Map.Entry<String, TestCell> value : row.entrySet()) {
+                    writeString(value.getKey());
+                    writeString(value.getValue().getValue());
+                    writeString(value.getValue().getIdentifier());
+                }
+            }
+        }
+
+        private void writeBoolean(final Boolean value) throws IOException {
+            out.writeByte(value == null ? 0 : value ? 2 : 1);
+        }
+
+        private void writeString(final String value) throws IOException {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            final Integer index = strings.get(value);
+            if (index != null) {
+                writeVarInt(index);
+                return;
+            }
+            final int newIndex = strings.size() + 1;
+            strings.put(value, newIndex);
+            writeVarInt(newIndex);
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private void writeVarInt(final int value) throws IOException {
+            int v = value;
+            while ((v & ~0x7F) != 0) {
+                out.writeByte((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            out.writeByte(v);
+        }
+    }
+
+    /**
+     * Reads the test data written by the {@link EntryWriter}.
+     */
+    private static final class EntryReader {
+
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+
+        EntryReader(final DataInputStream in) {
+            this.in = in;
+        }
+
+        Map<String, List<TestCase<ExcelMetadata>>> readTestData() throws IOException {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Unknown format of the cache entry!");
+            }
+            final int sheets = readVarInt();
+            final Map<String, List<TestCase<ExcelMetadata>>> tests = new LinkedHashMap<>();
+            for (int i = 0; i < sheets; i++) {
+                final String sheet = readString();
+                final int size = readVarInt();
+                final List<TestCase<ExcelMetadata>> testCases = new ArrayList<>(size);
+                for (int j = 0; j < size; j++) {
+                    testCases.add(readTestCase());
+                }
+                tests.put(sheet, testCases);
+            }
+            return tests;
+        }
+
+        private TestCase<ExcelMetadata> readTestCase() throws IOException {
+            final TestCase<ExcelMetadata> testCase = new TestCase<>(new ExcelMetadata());
+            testCase.setTestCommand(readString());
+            testCase.getMetadata().setSheet(readString());
+            testCase.getMetadata().setIdentifier(readString());
+            testCase.setComment(readString());
+
+            final int flags = in.readByte();
+            testCase.setDisabled((flags & DISABLED) != 0);
+            testCase.setExceptionExpected((flags & EXCEPTION_EXPECTED) != 0);
+            testCase.setBreakpointEnabled((flags & BREAKPOINT_ENABLED) != 0);
+            final Boolean fastFail = readBoolean();
+            if (fastFail != null) {
+                testCase.setFastFail(fastFail);
+            }
+            final Boolean multiline = readBoolean();
+            if (multiline != null) {
+                testCase.setMultiline(multiline);
+            }
+            if ((flags & TIMEOUT) != 0) {
+                testCase.setTimeout(in.readLong());
+            }
+
+            final int rows = readVarInt();
+            for (int r = 0; r < rows; r++) {
+                if (r > 0) {
+                    testCase.next();
+                }
+                final int values = readVarInt();
+                for (int v = 0; v < values; v++) {
+                    final String key = readString();
+                    final String value = readString();
+                    final String identifier = readString();
+                    testCase.getValues().put(key, new TestCell(identifier, value));
+                }
+            }
+            return testCase;
+        }
+
+        private Boolean readBoolean() throws IOException {
+            final byte value = in.readByte();
+            return value == 0 ? null : value == 2;
+        }
+
+        private String readString() throws IOException {
+            final int ref = readVarInt();
+            if (ref == 0) {
+                return null;
+            } else if (ref <= strings.size()) {
+                return strings.get(ref - 1);
+            } else if (ref != strings.size() + 1) {
+                throw new IOException("Invalid string reference in the cache entry!");
+            }
+            final byte[] bytes = new byte[readVarInt()];
+            in.readFully(bytes);
+            final String value = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(value);
+            return value;
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                final int b = in.readUnsignedByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Invalid number in the cache entry!");
+        }
+    }
+
+}
@@ -0,0 +1,178 @@
+package com.jexunit.core.dataprovider;
+
+import com.jexunit.core.JExUnitConfig;
+import com.jexunit.core.model.TestCase;
+import com.jexunit.core.model.TestCell;
+import lombok.EqualsAndHashCode;
+
+import java.io.File;
+import java.lang.ref.SoftReference;
+import java.util.*;
+
+/**
+ * Process-wide cache of the parsed excel-files, so test classes using the same excel-file (i.e. with different command
+ * hosts) don't have to parse it again. The cache holds at most the configured number of excel-files (see
+ * {@link JExUnitConfig.ConfigKey#EXCEL_WORKBOOK_CACHE_SIZE}), the least recently used will be removed first. The cached
+ * test data is only softly referenced, so it can be released if the memory is needed.
+ * <p>
+ * The cached test data is never handed out, because the test cases are modified while running the tests (i.e. on
+ * validating the commands). Each access gets its own copy.
+ * </p>
+ *
+ * @author fabian
+ */
+final class ExcelWorkbookCache {
+
+    private static final Map<Key, SoftReference<Map<String, List<TestCase<ExcelMetadata>>>>> CACHE =
+            new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Private constructor -> only static access.
+     */
+    private ExcelWorkbookCache() {
+    }
+
+    private static int getMaxSize() {
+        return JExUnitConfig.getIntProperty(JExUnitConfig.ConfigKey.EXCEL_WORKBOOK_CACHE_SIZE);
+    }
+
+    /**
+     * Check if the cache is enabled.
+     *
+     * @return true, if the configured cache size is greater than 0, else false
+     */
+    static boolean isEnabled() {
+        return getMaxSize() > 0;
+    }
+
+    /**
+     * Create the key for the given excel-file. The key consists of the path, the modification time and the size of the
+     * excel-file and the configuration used reading the file.
+     *
+     * @param excelFilePath the path to the excel-file
+     * @param configuration the configuration used reading the excel-file (as String)
+     * @return the key for the excel-file
+     */
+    static Key createKey(final String excelFilePath, final String configuration) {
+        final File file = new File(excelFilePath).getAbsoluteFile();
+        return new Key(file.toPath().normalize().toString(), file.lastModified(), file.length(), configuration);
+    }
+
+    /**
+     * Get a copy of the cached test data.
+     *
+     * @param key the key of the excel-file
+     * @return a copy of the cached test data or null, if the excel-file is not cached (anymore)
+     */
+    static Map<String, List<TestCase<ExcelMetadata>>> get(final Key key) {
+        final Map<String, List<TestCase<ExcelMetadata>>> tests;
+        synchronized (CACHE) {
+            final SoftReference<Map<String, List<TestCase<ExcelMetadata>>>> reference = CACHE.get(key);
+            tests = reference != null ? reference.get() : null;
+            if (reference != null && tests == null) {
+                CACHE.remove(key);
+            }
+        }
+        // the cached test data is never modified, so it can be copied outside the lock
+        return tests != null ? copy(tests) : null;
+    }
+
+    /**
+     * Put a copy of the test data into the cache.
+     *
+     * @param key   the key of the excel-file
+     * @param tests the test data read out of the excel-file
+     */
+    static void put(final Key key, final Map<String, List<TestCase<ExcelMetadata>>> tests) {
+        final Map<String, List<TestCase<ExcelMetadata>>> copy = copy(tests);
+        final int maxSize = getMaxSize();
+        synchronized (CACHE) {
+            CACHE.put(key, new SoftReference<>(copy));
+            final Iterator<Key> iterator = CACHE.keySet().iterator();
+            while (CACHE.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Remove all the cached excel-files.
+     */
+    static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    /**
+     * Create a deep copy of the test data.
+     *
+     * @param tests the test data to copy
+     * @return the copy of the test data
+     */
+    static Map<String, List<TestCase<ExcelMetadata>>> copy(final Map<String, List<TestCase<ExcelMetadata>>> tests) {
+        final Map<String, List<TestCase<ExcelMetadata>>> copy = new LinkedHashMap<>();
+        for (final Map.Entry<String, List<TestCase<ExcelMetadata>>> sheet : tests.entrySet()) {
+            final List<TestCase<ExcelMetadata>> testCases = new ArrayList<>(sheet.getValue().size());
+            for (final TestCase<ExcelMetadata> testCase : sheet.getValue()) {
+                testCases.add(copy(testCase));
+            }
+            copy.put(sheet.getKey(), testCases);
+        }
+        return copy;
+    }
+
+    private static TestCase<ExcelMetadata> copy(final TestCase<ExcelMetadata> testCase) {
+        final TestCase<ExcelMetadata> copy = new TestCase<>(new ExcelMetadata());
+        copy.setTestCommand(testCase.getTestCommand());
+        copy.getMetadata().setSheet(testCase.getMetadata().getSheet());
+        copy.getMetadata().setIdentifier(testCase.getMetadata().getIdentifier());
+        copy.getMetadata().setSource(testCase.getMetadata().getSource());
+        copy.setComment(testCase.getComment());
+        copy.setDisabled(testCase.isDisabled());
+        copy.setExceptionExpected(testCase.isExceptionExpected());
+        copy.setBreakpointEnabled(testCase.isBreakpointEnabled());
+        if (testCase.getFastFail() != null) {
+            copy.setFastFail(testCase.getFastFail());
+        }
+        if (testCase.getMultiline() != null) {
+            copy.setMultiline(testCase.getMultiline());
+        }
+        if (testCase.getTimeout() != null) {
+            copy.setTimeout(testCase.getTimeout());
+        }
+
+        final List<Map<String, TestCell>> rows = testCase.getMultilineValues();
+        for (int r = 0; r < rows.size(); r++) {
+            if (r > 0) {
+                copy.next();
+            }
+            for (final Map.Entry<String, TestCell> value : rows.get(r).entrySet()) {
+                copy.getValues().put(value.getKey(),
+                        new TestCell(value.getValue().getIdentifier(), value.getValue().getValue()));
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Key of a cached excel-file.
+     */
+    @EqualsAndHashCode
+    static final class Key {
+
+        private final String path;
+        private final long lastModified;
+        private final long size;
+        private final String configuration;
+
+        private Key(final String path, final long lastModified, final long size, final String configuration) {
+            this.path = path;
+            this.lastModified = lastModified;
+            this.size = size;
+            this.configuration = configuration;
+        }
+    }
+
+}
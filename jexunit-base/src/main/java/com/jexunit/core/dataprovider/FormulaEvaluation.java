@@ -0,0 +1,34 @@
+package com.jexunit.core.dataprovider;
+
+/**
+ * Defines how the formulas of an excel-file are evaluated on reading the file.
+ *
+ * @author fabian
+ */
+public enum FormulaEvaluation {
+
+    /**
+     * Use the configured formula evaluation (see
+     * {@link com.jexunit.core.JExUnitConfig.ConfigKey#EXCEL_FORMULA_EVALUATION}). This is only meant as default value
+     * for the {@link ExcelFile}-annotation.
+     */
+    CONFIG,
+
+    /**
+     * (default) Evaluate all the formulas of the workbook (all worksheets) after opening the excel-file.
+     */
+    ALL,
+
+    /**
+     * Evaluate only the formulas of the cells read as test data, when the cell is read. Formulas of helper cells and
+     * worksheets only referenced by the test data will be evaluated as needed.
+     */
+    ON_READ,
+
+    /**
+     * Do not evaluate any formula. The results cached in the excel-file (on saving) are used. This is the fastest mode,
+     * but volatile formulas (i.e. <code>TODAY()</code>) will return the value calculated on saving the file.
+     */
+    CACHED;
+
+}
@@ -0,0 +1,84 @@
+package com.jexunit.core.dataprovider;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Array backed buffer for the cells of a worksheet. The buffer is filled row by row in a single pass and gives constant
+ * time access to the rows as well as to the columns of the worksheet (for transposed worksheets).
+ *
+ * @author fabian
+ */
+final class SheetBuffer {
+
+    private static final ExcelCell[] EMPTY_ROW = new ExcelCell[0];
+
+    private ExcelCell[][] rows = new ExcelCell[16][];
+    private int rowCount = 0;
+    private int columnCount = 0;
+
+    /**
+     * Add the next row of the worksheet. Missing cells are represented by <code>null</code>.
+     *
+     * @param cells the cells of the row (the array is taken over by the buffer)
+     */
+    void addRow(final ExcelCell[] cells) {
+        if (rowCount == rows.length) {
+            rows = Arrays.copyOf(rows, rowCount * 2);
+        }
+        final ExcelCell[] row = cells != null ? cells : EMPTY_ROW;
+        rows[rowCount++] = row;
+        columnCount = Math.max(columnCount, row.length);
+    }
+
+    /**
+     * Get the number of lines of the worksheet.
+     *
+     * @param transpose if true, the columns are the lines of the worksheet, else the rows
+     * @return the number of lines
+     */
+    int getLineCount(final boolean transpose) {
+        return transpose ? columnCount : rowCount;
+    }
+
+    /**
+     * Get the cells of a line of the worksheet. The returned list is a view of the buffer.
+     *
+     * @param index     the index of the line
+     * @param transpose if true, the columns are the lines of the worksheet, else the rows
+     * @return the cells of the line, missing cells are represented by <code>null</code>
+     */
+    List<ExcelCell> getLine(final int index, final boolean transpose) {
+        return transpose ? new Column(index) : Collections.unmodifiableList(Arrays.asList(rows[index]));
+    }
+
+    /**
+     * View on a single column of the buffer: one cell per row.
+     */
+    private final class Column extends AbstractList<ExcelCell> implements RandomAccess {
+
+        private final int column;
+
+        Column(final int column) {
+            this.column = column;
+        }
+
+        @Override
+        public ExcelCell get(final int index) {
+            if (index < 0 || index >= rowCount) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + rowCount);
+            }
+            final ExcelCell[] row = rows[index];
+            return column < row.length ? row[column] : null;
+        }
+
+        @Override
+        public int size() {
+            return rowCount;
+        }
+    }
+
+}
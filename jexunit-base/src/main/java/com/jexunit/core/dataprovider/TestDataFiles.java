@@ -0,0 +1,136 @@
+package com.jexunit.core.dataprovider;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lookup of the names of the test data files (the excel- or CSV-files) of a test class. The file name(s) are read from
+ * a static field or a public static method annotated with the annotation of the data provider ({@code @ExcelFile} or
+ * {@code @CsvFile}), returning a string, an array or a list of strings.
+ *
+ * @author fabian
+ */
+final class TestDataFiles {
+
+    /**
+     * Private constructor -> only static access.
+     */
+    private TestDataFiles() {
+    }
+
+    /**
+     * Check if exactly one field or method of the test class is annotated with the given annotation (and acceptable to
+     * provide the file name(s)).
+     *
+     * @param testClass      the test class
+     * @param annotationType the annotation of the data provider
+     * @return true, if exactly one field or method is found, else false
+     */
+    static boolean isAnnotatedOnce(final Class<?> testClass, final Class<? extends Annotation> annotationType) {
+        int annotated = 0;
+        for (final Field field : testClass.getDeclaredFields()) {
+            if (field.isAnnotationPresent(annotationType) && isAcceptable(field)) {
+                annotated++;
+            }
+        }
+        for (final Method method : testClass.getMethods()) {
+            if (method.isAnnotationPresent(annotationType) && isAcceptable(method)) {
+                annotated++;
+            }
+        }
+        return annotated == 1;
+    }
+
+    /**
+     * Get the field or method of the test class annotated with the given annotation to read the file name(s) from.
+     * The fields are preferred to the methods.
+     *
+     * @param testClass      the test class
+     * @param annotationType the annotation of the data provider
+     * @return the annotated field or method
+     * @throws IllegalArgumentException if there is no (acceptable) field or method annotated
+     */
+    static AnnotatedElement getAnnotatedElement(final Class<?> testClass,
+                                                final Class<? extends Annotation> annotationType) {
+        for (final Field field : testClass.getDeclaredFields()) {
+            if (field.isAnnotationPresent(annotationType) && isAcceptable(field)) {
+                return field;
+            }
+        }
+        for (final Method method : testClass.getMethods()) {
+            if (method.isAnnotationPresent(annotationType) && isAcceptable(method)) {
+                return method;
+            }
+        }
+        throw new IllegalArgumentException(String.format(
+                "No file definition found (static string-field or public static method annotated with @%s) in class %s",
+                annotationType.getSimpleName(), testClass.getName()));
+    }
+
+    /**
+     * Read the file name(s) out of the given field or method (see {@link #getAnnotatedElement(Class, Class)}).
+     *
+     * @param testClass the test class
+     * @param element   the annotated field or method
+     * @return the file names
+     * @throws Exception in case that the field cannot be read or the method cannot be invoked
+     */
+    @SuppressWarnings("unchecked")
+    static List<String> getFileNames(final Class<?> testClass, final AnnotatedElement element) throws Exception {
+        final String name;
+        final Class<?> type;
+        final Type genericType;
+        final Object value;
+        if (element instanceof Field) {
+            final Field field = (Field) element;
+            field.setAccessible(true);
+            name = field.getName();
+            type = field.getType();
+            genericType = field.getGenericType();
+            value = field.get(null);
+        } else {
+            final Method method = (Method) element;
+            name = method.getName();
+            type = method.getReturnType();
+            genericType = method.getGenericReturnType();
+            value = method.invoke(null);
+        }
+
+        final List<String> fileNames = new ArrayList<>();
+        if (type == String.class) {
+            fileNames.add((String) value);
+        } else if (type.isArray() && type.getComponentType() == String.class) {
+            fileNames.addAll(Arrays.asList((String[]) value));
+        } else if (type.isAssignableFrom(List.class) && genericType instanceof ParameterizedType
+                && ((ParameterizedType) genericType).getActualTypeArguments()[0] == String.class) {
+            fileNames.addAll((List<String>) value);
+        } else {
+            throw new IllegalArgumentException("The annotated static field/method '" + name + "' in class '"
+                    + testClass.getName() + "' as either to be of type String, String[] or List<String>!");
+        }
+        return fileNames;
+    }
+
+    private static boolean isAcceptable(final Field field) {
+        return Modifier.isStatic(field.getModifiers()) && isAcceptable(field.getType());
+    }
+
+    private static boolean isAcceptable(final Method method) {
+        return Modifier.isStatic(method.getModifiers()) && Modifier.isPublic(method.getModifiers())
+                && isAcceptable(method.getReturnType());
+    }
+
+    private static boolean isAcceptable(final Class<?> type) {
+        return type == String.class || type.isAssignableFrom(List.class)
+                || type.isArray() && type.getComponentType() == String.class;
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.jexunit.core.dataprovider;
+
+import com.jexunit.core.model.TestCase;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Reads the worksheets of an excel-file one after another. Each worksheet is only parsed on request, so the caller
+ * decides when (and if) the test cases of the next worksheet will be created.
+ *
+ * @author fabian
+ */
+interface WorksheetReader extends Closeable {
+
+    /**
+     * Check if there is another worksheet to read.
+     *
+     * @return true, if there is another worksheet, else false
+     */
+    boolean hasNextSheet();
+
+    /**
+     * Move to the next worksheet. The worksheet will be parsed by calling {@link #readSheet()}.
+     *
+     * @return the name of the next worksheet
+     * @throws Exception in case the next worksheet cannot be accessed
+     */
+    String nextSheet() throws Exception;
+
+    /**
+     * Parse the current worksheet and map it to test cases.
+     *
+     * @return list of test cases defined in the current worksheet
+     * @throws Exception in case that something goes wrong
+     */
+    List<TestCase<ExcelMetadata>> readSheet() throws Exception;
+
+    /**
+     * Iterate over the test cases of the current worksheet. The default implementation parses the whole worksheet at
+     * once, readers parsing the worksheet row by row may hand out the test cases as soon as they are complete.
+     *
+     * @return iterator over the test cases defined in the current worksheet
+     * @throws Exception in case that something goes wrong
+     */
+    default Iterator<TestCase<ExcelMetadata>> iterateSheet() throws Exception {
+        return readSheet().iterator();
+    }
+
+    /**
+     * Prepare the parsing of the current worksheet. The returned task is independent of the reader moving to the next
+     * worksheet, so it can be run in another thread (until the reader is closed).
+     *
+     * @return the task to parse the current worksheet and map it to test cases
+     */
+    Callable<List<TestCase<ExcelMetadata>>> prepareSheet();
+
+    /**
+     * Check if a value read so far is the result of a formula evaluated while reading the excel-file. Such values may
+     * change without changing the excel-file (i.e. <code>TODAY()</code>).
+     *
+     * @return true, if a formula was evaluated for a value read, else false
+     */
+    default boolean isFormulaEvaluated() {
+        return false;
+    }
+
+}
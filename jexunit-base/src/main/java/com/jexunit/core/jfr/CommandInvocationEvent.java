@@ -0,0 +1,36 @@
+package com.jexunit.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for the invocation of a test command (including the binding of its parameters).
+ *
+ * @author fabian
+ */
+@Name("com.jexunit.CommandInvocation")
+@Label("Test Command Invocation")
+@Category({"JExUnit", "Invoke"})
+@Description("Invocation of a test command")
+@StackTrace(false)
+final class CommandInvocationEvent extends Event {
+
+    @Label("Command")
+    String command;
+
+    @Label("Worksheet")
+    String sheet;
+
+    @Label("Cell")
+    @Description("Address of the cell (or identifier) of the test case")
+    String cell;
+
+    @Label("Outcome")
+    @Description("success, failure (assertion) or error")
+    String outcome;
+
+}
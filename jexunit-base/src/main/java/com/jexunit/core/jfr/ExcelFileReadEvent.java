@@ -0,0 +1,35 @@
+package com.jexunit.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for reading an excel-file (all its worksheets).
+ *
+ * @author fabian
+ */
+@Name("com.jexunit.ExcelFileRead")
+@Label("Excel File Read")
+@Category({"JExUnit", "Parse"})
+@Description("Reading the test cases of an excel-file")
+@StackTrace(false)
+final class ExcelFileReadEvent extends Event {
+
+    @Label("File")
+    String file;
+
+    @Label("Worksheets")
+    int sheets;
+
+    @Label("Test Cases")
+    int testCases;
+
+    @Label("Cached")
+    @Description("The test cases were taken from the workbook cache")
+    boolean cached;
+
+}
@@ -0,0 +1,244 @@
+package com.jexunit.core.jfr;
+
+import com.jexunit.core.model.TestCase;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Emits the JDK Flight Recorder events of the framework: reading the excel-files and worksheets (parse), creating the
+ * objects out of the test cases (bind) and invoking the test commands (invoke). So the framework overhead can be seen
+ * next to the time spent in the system under test with the standard JFR tooling, i.e. by running the tests with
+ * <code>-XX:StartFlightRecording</code>.
+ * <p>
+ * Each <code>begin...</code> method returns the started event or <code>null</code>, if the event is not recorded (or
+ * JFR is not available at all), so the values of the event are only collected if needed. The event classes are only
+ * loaded if JFR is available, so the framework still runs on Java 8 runtimes without JFR.
+ * </p>
+ *
+ * @author fabian
+ */
+public final class JfrEvents {
+
+    /**
+     * Outcome of a test command invocation: the test command has passed.
+     */
+    public static final String SUCCESS = "success";
+    /**
+     * Outcome of a test command invocation: an assertion of the test command has failed.
+     */
+    public static final String FAILURE = "failure";
+    /**
+     * Outcome of a test command invocation: the test command has thrown an exception.
+     */
+    public static final String ERROR = "error";
+
+    private static final boolean AVAILABLE = isJfrAvailable();
+
+    /**
+     * Private constructor -> only static access.
+     */
+    private JfrEvents() {
+    }
+
+    private static boolean isJfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, JfrEvents.class.getClassLoader());
+            return true;
+        } catch (final ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Check if the JFR events can be emitted on this runtime.
+     *
+     * @return true, if JFR is available, else false
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * Begin the event for reading an excel-file.
+     *
+     * @return the event or null, if the event is not recorded
+     */
+    public static Object beginExcelFileRead() {
+        if (!AVAILABLE) {
+            return null;
+        }
+        final ExcelFileReadEvent event = new ExcelFileReadEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commit the event for reading an excel-file.
+     *
+     * @param event  the event (out of {@link #beginExcelFileRead()}), may be null
+     * @param file   the path to the excel-file
+     * @param tests  the test cases read per worksheet
+     * @param cached true, if the test cases were taken from the workbook cache
+     */
+    public static void commitExcelFileRead(final Object event, final String file,
+                                           final Map<String, ? extends List<?>> tests, final boolean cached) {
+        if (event == null) {
+            return;
+        }
+        final ExcelFileReadEvent e = (ExcelFileReadEvent) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.file = file;
+            e.cached = cached;
+            if (tests != null) {
+                e.sheets = tests.size();
+                for (final List<?> testCases : tests.values()) {
+                    e.testCases += testCases.size();
+                }
+            }
+            e.commit();
+        }
+    }
+
+    /**
+     * Begin the event for reading a worksheet.
+     *
+     * @return the event or null, if the event is not recorded
+     */
+    public static Object beginWorksheetRead() {
+        if (!AVAILABLE) {
+            return null;
+        }
+        final WorksheetReadEvent event = new WorksheetReadEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commit the event for reading a worksheet.
+     *
+     * @param event     the event (out of {@link #beginWorksheetRead()}), may be null
+     * @param file      the path to the excel-file
+     * @param sheet     the name of the worksheet
+     * @param testCases the test cases read out of the worksheet
+     */
+    public static void commitWorksheetRead(final Object event, final String file, final String sheet,
+                                           final List<? extends TestCase<?>> testCases) {
+        if (event == null) {
+            return;
+        }
+        final WorksheetReadEvent e = (WorksheetReadEvent) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.file = file;
+            e.sheet = sheet;
+            if (testCases != null) {
+                e.rows = testCases.size();
+                for (final TestCase<?> testCase : testCases) {
+                    e.cells += testCase.getValues().size();
+                }
+            }
+            e.commit();
+        }
+    }
+
+    /**
+     * Begin the event for creating an object out of a test case.
+     *
+     * @return the event or null, if the event is not recorded
+     */
+    public static Object beginObjectCreation() {
+        if (!AVAILABLE) {
+            return null;
+        }
+        final ObjectCreationEvent event = new ObjectCreationEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commit the event for creating an object out of a test case.
+     *
+     * @param event      the event (out of {@link #beginObjectCreation()}), may be null
+     * @param type       the type of the object
+     * @param properties the number of properties set
+     */
+    public static void commitObjectCreation(final Object event, final Class<?> type, final int properties) {
+        if (event == null) {
+            return;
+        }
+        final ObjectCreationEvent e = (ObjectCreationEvent) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.type = type;
+            e.properties = properties;
+            e.commit();
+        }
+    }
+
+    /**
+     * Begin the event for invoking a test command.
+     *
+     * @return the event or null, if the event is not recorded
+     */
+    public static Object beginCommandInvocation() {
+        if (!AVAILABLE) {
+            return null;
+        }
+        final CommandInvocationEvent event = new CommandInvocationEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commit the event for invoking a test command.
+     *
+     * @param event   the event (out of {@link #beginCommandInvocation()}), may be null
+     * @param command the name of the test command
+     * @param sheet   the worksheet (test group) of the test case
+     * @param cell    the address of the cell (identifier) of the test case
+     * @param outcome the outcome of the invocation ({@link #SUCCESS}, {@link #FAILURE} or {@link #ERROR})
+     */
+    public static void commitCommandInvocation(final Object event, final String command, final String sheet,
+                                               final String cell, final String outcome) {
+        if (event == null) {
+            return;
+        }
+        final CommandInvocationEvent e = (CommandInvocationEvent) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.command = command;
+            e.sheet = sheet;
+            e.cell = cell;
+            e.outcome = outcome;
+            e.commit();
+        }
+    }
+
+    /**
+     * Get the outcome of a test command invocation for the given throwable.
+     *
+     * @param t the throwable thrown by the test command (or null)
+     * @return the outcome of the invocation
+     */
+    public static String getOutcome(final Throwable t) {
+        if (t == null) {
+            return SUCCESS;
+        }
+        return t instanceof AssertionError ? FAILURE : ERROR;
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.jexunit.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for creating (or populating) an object out of the values of a test case.
+ *
+ * @author fabian
+ */
+@Name("com.jexunit.ObjectCreation")
+@Label("Test Object Creation")
+@Category({"JExUnit", "Bind"})
+@Description("Creating an object and setting its properties out of the values of a test case")
+@StackTrace(false)
+final class ObjectCreationEvent extends Event {
+
+    @Label("Type")
+    Class<?> type;
+
+    @Label("Properties")
+    int properties;
+
+}
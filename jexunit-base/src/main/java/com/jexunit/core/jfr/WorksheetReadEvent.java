@@ -0,0 +1,36 @@
+package com.jexunit.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for reading a single worksheet of an excel-file.
+ *
+ * @author fabian
+ */
+@Name("com.jexunit.WorksheetRead")
+@Label("Worksheet Read")
+@Category({"JExUnit", "Parse"})
+@Description("Reading and mapping the cells of a worksheet to test cases")
+@StackTrace(false)
+final class WorksheetReadEvent extends Event {
+
+    @Label("File")
+    String file;
+
+    @Label("Worksheet")
+    String sheet;
+
+    @Label("Rows")
+    @Description("Number of test cases (rows, or columns if transposed) read from the worksheet")
+    int rows;
+
+    @Label("Cells")
+    @Description("Number of cells (parameter values) of the test cases")
+    int cells;
+
+}
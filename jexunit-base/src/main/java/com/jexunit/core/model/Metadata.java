@@ -22,6 +22,10 @@ public class Metadata {
 	 * Identifier for the test case.
 	 */
 	private String identifier;
+	/**
+	 * The data source (i.e. the path of the excel- or CSV-file) the test case was read from.
+	 */
+	private String source;
 
 	public String getDetailedIdentifier() {
 		return String.format("identifier: %s", identifier);
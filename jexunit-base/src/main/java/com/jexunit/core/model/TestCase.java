@@ -34,6 +34,7 @@ public class TestCase<T extends Metadata> {
     private boolean exceptionExpected = false;
     private Boolean fastFail = null;
     private Boolean multiline = null;
+    private Long timeout = null;
     private boolean breakpointEnabled = false;
 
     public TestCase() {
@@ -143,6 +144,19 @@ public class TestCase<T extends Metadata> {
         this.fastFail = fastFail;
     }
 
+    /**
+     * Timeout of the test command in milliseconds. This will override the default timeout of the test command.
+     *
+     * @return the timeout in milliseconds or null, if not set for the test-case (default)
+     */
+    public Long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(final long timeout) {
+        this.timeout = timeout;
+    }
+
     public boolean isMultiline() {
         return multiline != null && multiline;
     }
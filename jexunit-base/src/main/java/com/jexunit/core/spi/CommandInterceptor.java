@@ -0,0 +1,39 @@
+package com.jexunit.core.spi;
+
+import com.jexunit.core.commands.Command;
+import com.jexunit.core.commands.Invocable;
+
+/**
+ * Interceptor for the invocation of the test commands (i.e. for timing, tracing or auditing). The interceptors are
+ * loaded via {@link java.util.ServiceLoader} (see {@link ServiceRegistry}) and chained in the order they are found.
+ * <p>
+ * The interceptors for a test command are selected once (see {@link #supports(Command)}). If there is no interceptor
+ * registered, the test commands are invoked directly.
+ * </p>
+ *
+ * @author fabian
+ */
+public interface CommandInterceptor {
+
+    /**
+     * Check if the invocations of the given test command should be intercepted.
+     *
+     * @param command the test command
+     * @return true (default), if the invocations of the test command should be intercepted, else false
+     */
+    default boolean supports(final Command command) {
+        return true;
+    }
+
+    /**
+     * Intercept the invocation of the test command. The interceptor has to call <code>next.invoke(parameters)</code> to
+     * proceed with the next interceptor (or the test command itself).
+     *
+     * @param command    the test command invoked
+     * @param parameters the parameters for the test command
+     * @param next       the next interceptor of the chain (or the test command itself)
+     * @throws Exception the exception of the test command (or the interceptor)
+     */
+    void intercept(Command command, Object[] parameters, Invocable next) throws Exception;
+
+}
@@ -25,6 +25,7 @@ public class ServiceRegistry {
         if (instance == null) {
             instance = new ServiceRegistry();
             instance.loadExtensions(DataProvider.class);
+            instance.loadExtensions(CommandInterceptor.class);
         }
     }
 
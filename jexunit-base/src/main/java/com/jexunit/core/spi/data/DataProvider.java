@@ -3,6 +3,7 @@ package com.jexunit.core.spi.data;
 import com.jexunit.core.model.TestCase;
 
 import java.util.Collection;
+import java.util.stream.Stream;
 
 /**
  * DataProvider interface to read the data from file or anywhere and transform it to the internal representation.<br>
@@ -59,4 +60,19 @@ public interface DataProvider {
      */
     Collection<Object[]> loadTestData(final int test) throws Exception;
 
+    /**
+     * Load the test data lazily. The test data should be read not until the elements of the stream are requested, so
+     * the test data doesn't have to be held in memory completely. Each object has to be a list of type
+     * {@link TestCase}.<br>
+     * The stream has to be closed after use to release the underlying resources. The default implementation will load
+     * all the test data via {@link #loadTestData(int)}.
+     *
+     * @param test the number of the test to load the data for
+     * @return the stream of TestCases
+     * @throws Exception if something went wrong
+     */
+    default Stream<Object[]> streamTestData(final int test) throws Exception {
+        return loadTestData(test).stream();
+    }
+
 }
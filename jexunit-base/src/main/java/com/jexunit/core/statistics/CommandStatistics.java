@@ -0,0 +1,170 @@
+package com.jexunit.core.statistics;
+
+import com.jexunit.core.JExUnitConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Latency statistics of the test commands. The latencies are recorded per test command and per worksheet (test group)
+ * in {@link LatencyHistogram}s. At the end of each test class (by the JUnit runner or the Jupiter extension, see
+ * {@link #writeReport()}), a report with the number of calls, the total time and the percentiles of each test command
+ * and worksheet recorded so far is written to the configured file (see
+ * {@link JExUnitConfig.ConfigKey#STATISTICS_REPORT_FILE}). Each JVM writes its own report (the process id is added to
+ * the file name), so the forks of a test run don't overwrite each others reports.
+ *
+ * @author fabian
+ */
+public final class CommandStatistics {
+
+    private static final Logger LOG = Logger.getLogger(CommandStatistics.class.getName());
+
+    private static final Map<String, LatencyHistogram> COMMANDS = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> SHEETS = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor -> only static access.
+     */
+    private CommandStatistics() {
+    }
+
+    /**
+     * Check if the statistics should be recorded.
+     *
+     * @return true, if the statistics are enabled (default), else false
+     */
+    public static boolean isEnabled() {
+        return JExUnitConfig.getBooleanProperty(JExUnitConfig.ConfigKey.STATISTICS_ENABLED);
+    }
+
+    /**
+     * Record the latency of the invocation of a test command.
+     *
+     * @param command the name of the test command
+     * @param sheet   the worksheet (test group) the test command is defined in (or null)
+     * @param nanos   the latency in nanoseconds
+     */
+    public static void record(final String command, final String sheet, final long nanos) {
+        COMMANDS.computeIfAbsent(String.valueOf(command), c -> new LatencyHistogram()).record(nanos);
+        if (sheet != null) {
+            SHEETS.computeIfAbsent(sheet, s -> new LatencyHistogram()).record(nanos);
+        }
+    }
+
+    /**
+     * Get the histogram of the given test command.
+     *
+     * @param command the name of the test command
+     * @return the histogram of the test command or null, if there is nothing recorded for the test command
+     */
+    public static LatencyHistogram getCommandHistogram(final String command) {
+        return COMMANDS.get(command);
+    }
+
+    /**
+     * Get the histogram of the given worksheet (test group).
+     *
+     * @param sheet the worksheet (test group)
+     * @return the histogram of the worksheet or null, if there is nothing recorded for the worksheet
+     */
+    public static LatencyHistogram getSheetHistogram(final String sheet) {
+        return SHEETS.get(sheet);
+    }
+
+    /**
+     * Create the report of the statistics recorded. The test commands and worksheets are sorted by their total time
+     * (descending).
+     *
+     * @return the report
+     */
+    public static String createReport() {
+        final StringWriter report = new StringWriter();
+        final PrintWriter out = new PrintWriter(report);
+        out.println("JExUnit test command statistics (times in ms)");
+        printTable(out, "Command", COMMANDS);
+        out.println();
+        printTable(out, "Worksheet", SHEETS);
+        out.flush();
+        return report.toString();
+    }
+
+    private static void printTable(final PrintWriter out, final String title,
+                                   final Map<String, LatencyHistogram> histograms) {
+        final List<Map.Entry<String, LatencyHistogram>> entries = new ArrayList<>(histograms.entrySet());
+        entries.sort((e1, e2) -> Long.compare(e2.getValue().getTotal(), e1.getValue().getTotal()));
+
+        int width = title.length();
+        for (final Map.Entry<String, LatencyHistogram> entry : entries) {
+            width = Math.max(width, entry.getKey().length());
+        }
+        final String format = "%-" + width + "s %10s %12s %10s %10s %10s %10s%n";
+        out.printf(format, title, "calls", "total", "p50", "p90", "p99", "max");
+        for (final Map.Entry<String, LatencyHistogram> entry : entries) {
+            final LatencyHistogram histogram = entry.getValue();
+            out.printf(format, entry.getKey(), histogram.getCount(), millis(histogram.getTotal()),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getMax()));
+        }
+    }
+
+    private static String millis(final long nanos) {
+        return String.format("%.3f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Write the report of the statistics recorded so far (by this JVM) to the configured file. The report is written at
+     * the end of each test class, so the file always holds the statistics of all the tests run before.
+     */
+    public static synchronized void writeReport() {
+        if (COMMANDS.isEmpty()) {
+            return;
+        }
+        final String report = createReport();
+        final String file = JExUnitConfig.getStringProperty(JExUnitConfig.ConfigKey.STATISTICS_REPORT_FILE);
+        if (file == null || file.trim().isEmpty()) {
+            LOG.info(report);
+            return;
+        }
+        final Path path = Paths.get(getReportFileName(file.trim()));
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.write(path, report.getBytes(StandardCharsets.UTF_8));
+        } catch (final IOException e) {
+            LOG.log(Level.WARNING, String.format("Cannot write the statistics report '%s'.", path), e);
+        }
+    }
+
+    /**
+     * Get the name of the report file of this JVM: the process id is added to the configured file name (before the
+     * extension), i.e. <code>target/jexunit-statistics-4711.txt</code>.
+     *
+     * @param file the configured report file
+     * @return the name of the report file
+     */
+    static String getReportFileName(final String file) {
+        // the name of the runtime is "<pid>@<host>"
+        final String pid = ManagementFactory.getRuntimeMXBean().getName().split("@")[0];
+        final int separator = Math.max(file.lastIndexOf('/'), file.lastIndexOf(File.separatorChar));
+        final int extension = file.lastIndexOf('.');
+        if (extension > separator + 1) {
+            return file.substring(0, extension) + "-" + pid + file.substring(extension);
+        }
+        return file + "-" + pid;
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.jexunit.core.statistics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies (in nanoseconds) with logarithmic buckets, similar to the HdrHistogram. Each power of two is
+ * split into {@value #SUB_BUCKETS} linear sub-buckets, so the values are recorded with a relative error of at most
+ * about 3% in a fixed array of counters. Recording a value is lock-free and doesn't allocate, so the histograms can be
+ * recorded all the time.
+ *
+ * @author fabian
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // values below are counted exactly (one bucket per value)
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (62 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record the given value.
+     *
+     * @param nanos the latency in nanoseconds (negative values are recorded as 0)
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(nanos, 0);
+        counts.incrementAndGet(bucketIndex(value));
+        count.increment();
+        total.add(value);
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // retry
+        }
+    }
+
+    private static int bucketIndex(final long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        // keep the highest SUB_BUCKET_BITS + 1 bits of the value
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * Get the highest value recorded into the bucket with the given index.
+     */
+    private static long highestValue(final int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        final int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        final long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * @return the number of values recorded
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return the sum of the values recorded (in nanoseconds)
+     */
+    public long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * @return the maximum value recorded (in nanoseconds)
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Get the value at the given percentile. The value is the highest value of the bucket the percentile falls into, so
+     * it is at most about 3% higher than the value recorded (but never higher than the maximum).
+     *
+     * @param percentile the percentile (0 - 100)
+     * @return the value at the given percentile (in nanoseconds) or 0, if there are no values recorded
+     */
+    public long getValueAtPercentile(final double percentile) {
+        long counted = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counted += counts.get(i);
+        }
+        if (counted == 0) {
+            return 0;
+        }
+        final long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * counted));
+        long cumulated = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulated += counts.get(i);
+            if (cumulated >= target) {
+                return Math.min(highestValue(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+}
@@ -9,9 +9,11 @@ import com.jexunit.core.context.TestContextManager;
 import com.jexunit.core.junit.Parameterized;
 import com.jexunit.core.spi.ServiceRegistry;
 import com.jexunit.core.spi.data.DataProvider;
+import com.jexunit.core.statistics.CommandStatistics;
 
 import org.junit.Ignore;
 import org.junit.runner.Runner;
+import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.BlockJUnit4ClassRunner;
 import org.junit.runners.Suite;
 
@@ -74,4 +76,13 @@ public class JExUnit extends Suite {
         return runners;
     }
 
+    @Override
+    public void run(final RunNotifier notifier) {
+        try {
+            super.run(notifier);
+        } finally {
+            CommandStatistics.writeReport();
+        }
+    }
+
 }
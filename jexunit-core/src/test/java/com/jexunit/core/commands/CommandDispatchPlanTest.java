@@ -0,0 +1,160 @@
+package com.jexunit.core.commands;
+
+import com.jexunit.core.commands.annotation.InstanceScope;
+import com.jexunit.core.commands.annotation.TestCommand;
+import com.jexunit.core.commands.annotation.TestParam;
+import com.jexunit.core.context.Context;
+import com.jexunit.core.context.TestContext;
+import com.jexunit.core.context.TestContextManager;
+import com.jexunit.core.dataprovider.ExcelFile;
+import com.jexunit.core.model.Metadata;
+import com.jexunit.core.model.TestCase;
+import com.jexunit.core.model.TestCell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
+
+public class CommandDispatchPlanTest {
+
+    public static class Entity {
+        private int number;
+        private String text;
+
+        public int getNumber() {
+            return number;
+        }
+
+        public void setNumber(final int number) {
+            this.number = number;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public void setText(final String text) {
+            this.text = text;
+        }
+    }
+
+    public static class PlanTest {
+        @ExcelFile
+        static String file = "plan.xlsx";
+
+        @TestCommand("plan-method")
+        public void planMethod(final TestCase<?> testCase, final TestContext context,
+                               @TestParam("number") final int number, @Context final Entity contextEntity,
+                               @Context("named") final Entity namedEntity, final Entity entity) {
+        }
+    }
+
+    @TestCommand("plan-class")
+    public static class PlanClassCommand {
+        @TestParam
+        private String text;
+        @TestParam(value = "number", required = true)
+        private int value;
+
+        public void run() {
+        }
+    }
+
+    private final TestContext context = new TestContext();
+    private TestContext previousContext;
+
+    @Before
+    public void setTestContext() {
+        previousContext = TestContextManager.getTestContext();
+        TestContextManager.setTestContext(context);
+    }
+
+    @After
+    public void resetTestContext() {
+        TestContextManager.setTestContext(previousContext);
+    }
+
+    @Test
+    public void shouldBindMethodParameters() throws Exception {
+        final Method method = PlanTest.class.getMethod("planMethod", TestCase.class, TestContext.class, int.class,
+                Entity.class, Entity.class, Entity.class);
+        final CommandDispatchPlan plan = new CommandDispatchPlan(new Command("plan-method", PlanTest.class, method));
+        assertSame(method, plan.getMethod());
+        assertEquals(CommandDispatchPlan.Receiver.INSTANCE, plan.getReceiver());
+
+        final Entity contextEntity = new Entity();
+        final Entity namedEntity = new Entity();
+        TestContextManager.add(Entity.class, contextEntity);
+        TestContextManager.add("named", namedEntity);
+        final TestCase<?> testCase = testCase("42", "value");
+        final Object[] parameters = plan.bindParameters(testCase);
+
+        assertEquals(6, parameters.length);
+        assertSame(testCase, parameters[0]);
+        assertSame(context, parameters[1]);
+        assertEquals(42, parameters[2]);
+        assertSame(contextEntity, parameters[3]);
+        assertSame(namedEntity, parameters[4]);
+        assertThat(parameters[5], instanceOf(Entity.class));
+        assertNotSame(contextEntity, parameters[5]);
+        assertEquals(42, ((Entity) parameters[5]).getNumber());
+        assertEquals("value", ((Entity) parameters[5]).getText());
+    }
+
+    @Test
+    public void shouldInjectFieldsOfClassCommands() throws Exception {
+        final CommandDispatchPlan plan = new CommandDispatchPlan(new Command("plan-class", PlanClassCommand.class));
+        assertEquals("run", plan.getMethod().getName());
+        assertEquals(0, plan.bindParameters(testCase("42", "value")).length);
+
+        plan.prepareCommandInstance(testCase("42", "value"));
+        final PlanClassCommand instance = TestContextManager.get(PlanClassCommand.class);
+        assertEquals("value", instance.text);
+        assertEquals(42, instance.value);
+
+        try {
+            plan.prepareCommandInstance(testCase(null, "value"));
+            fail("The required parameter is missing.");
+        } catch (final IllegalArgumentException e) {
+            assertEquals("Required parameter not found: number", e.getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectFieldsOfSingletonCommands() {
+        final Command command = new Command("plan-class", PlanClassCommand.class);
+        command.setScope(InstanceScope.SINGLETON);
+        new CommandDispatchPlan(command);
+    }
+
+    @Test
+    public void shouldCachePlanPerTestTypeAndCommandName() {
+        TestCommandScanner.ensureScanned();
+        final CommandDispatchPlan plan = CommandDispatchPlan.get("plan-method", PlanTest.class);
+        assertEquals(PlanTest.class, plan.getCommand().getImplementation());
+        assertSame(plan, CommandDispatchPlan.get("plan-method", PlanTest.class));
+        // the command names are resolved ignoring the case
+        assertSame(plan.getCommand(), CommandDispatchPlan.get("PLAN-METHOD", PlanTest.class).getCommand());
+
+        // the test command methods of a test class are only available for the test class
+        assertSame(CommandDispatchPlan.NONE, CommandDispatchPlan.get("plan-method", null));
+        assertSame(CommandDispatchPlan.NONE, CommandDispatchPlan.get("plan-unknown", PlanTest.class));
+        assertEquals(PlanClassCommand.class,
+                CommandDispatchPlan.get("plan-class", PlanTest.class).getCommand().getImplementation());
+    }
+
+    private static TestCase<?> testCase(final String number, final String text) {
+        final TestCase<Metadata> testCase = new TestCase<>(new Metadata());
+        if (number != null) {
+            testCase.getValues().put("number", new TestCell("number", number));
+        }
+        testCase.getValues().put("text", new TestCell("text", text));
+        return testCase;
+    }
+
+}
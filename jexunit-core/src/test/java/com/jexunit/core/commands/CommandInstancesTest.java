@@ -0,0 +1,108 @@
+package com.jexunit.core.commands;
+
+import com.jexunit.core.commands.annotation.InstanceScope;
+import com.jexunit.core.model.Metadata;
+import com.jexunit.core.model.TestCase;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class CommandInstancesTest {
+
+    public static class RowCommand {
+        public void run() {
+        }
+    }
+
+    public static class SheetCommand {
+        public void run() {
+        }
+    }
+
+    public static class ThreadCommand {
+        public void run() {
+        }
+    }
+
+    public static class SingletonCommand {
+        public void run() {
+        }
+    }
+
+    public static class FailingCommand {
+        public FailingCommand() {
+            throw new IllegalStateException("failed");
+        }
+
+        public void run() {
+        }
+    }
+
+    @Test
+    public void shouldCreateNewInstanceForEachRow() throws Exception {
+        final Command command = command(RowCommand.class, InstanceScope.ROW);
+        final TestCase<?> testCase = testCase("sheet");
+        assertNotSame(CommandInstances.get(command, testCase), CommandInstances.get(command, testCase));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldThrowExceptionOfConstructor() throws Exception {
+        CommandInstances.get(command(FailingCommand.class, InstanceScope.ROW), testCase("sheet"));
+    }
+
+    @Test
+    public void shouldReuseInstanceForSheet() throws Exception {
+        final Command command = command(SheetCommand.class, InstanceScope.SHEET);
+        final Object instance = CommandInstances.get(command, testCase("file1.xlsx", "sheet1"));
+        assertSame(instance, CommandInstances.get(command, testCase("file1.xlsx", "sheet1")));
+        assertNotSame(instance, CommandInstances.get(command, testCase("file1.xlsx", "sheet2")));
+        // a worksheet with the same name in another excel-file
+        final Object otherFile = CommandInstances.get(command, testCase("file2.xlsx", "sheet1"));
+        assertNotSame(instance, otherFile);
+        assertSame(otherFile, CommandInstances.get(command, testCase("file2.xlsx", "sheet1")));
+    }
+
+    @Test
+    public void shouldReuseInstancePerThreadOrSingleton() throws Exception {
+        final Command threadCommand = command(ThreadCommand.class, InstanceScope.THREAD);
+        final Command singletonCommand = command(SingletonCommand.class, InstanceScope.SINGLETON);
+        final TestCase<?> testCase = testCase("sheet");
+
+        final Object threadInstance = CommandInstances.get(threadCommand, testCase);
+        final Object singleton = CommandInstances.get(singletonCommand, testCase);
+        assertSame(threadInstance, CommandInstances.get(threadCommand, testCase("other")));
+        assertSame(singleton, CommandInstances.get(singletonCommand, testCase("other")));
+
+        final CompletableFuture<Object[]> other = CompletableFuture.supplyAsync(() -> {
+            try {
+                return new Object[]{CommandInstances.get(threadCommand, testCase),
+                        CommandInstances.get(singletonCommand, testCase)};
+            } catch (final Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertNotSame(threadInstance, other.get()[0]);
+        assertSame(singleton, other.get()[1]);
+    }
+
+    private static Command command(final Class<?> type, final InstanceScope scope) {
+        final Command command = new Command(type.getSimpleName(), type);
+        command.setScope(scope);
+        return command;
+    }
+
+    private static TestCase<?> testCase(final String sheet) {
+        return testCase(null, sheet);
+    }
+
+    private static TestCase<?> testCase(final String source, final String sheet) {
+        final TestCase<Metadata> testCase = new TestCase<>(new Metadata());
+        testCase.getMetadata().setSource(source);
+        testCase.getMetadata().setTestGroup(sheet);
+        return testCase;
+    }
+
+}
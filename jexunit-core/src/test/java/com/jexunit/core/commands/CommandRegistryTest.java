@@ -0,0 +1,64 @@
+package com.jexunit.core.commands;
+
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CommandRegistryTest {
+
+    public static class BaseTest {
+
+        public void command() {
+        }
+    }
+
+    public static class SubTest extends BaseTest {
+    }
+
+    @Test
+    public void shouldLookupIgnoringCase() {
+        final Map<String, Map<Class<?>, Command>> commands = new HashMap<>();
+        // enough commands to collide in the hash table
+        for (int i = 0; i < 100; i++) {
+            register(commands, "command" + i, null, new Command("command" + i, BaseTest.class));
+        }
+        final CommandRegistry registry = new CommandRegistry(commands);
+
+        for (int i = 0; i < 100; i++) {
+            assertSame(commands.get("command" + i).get(null), registry.get("COMMAND" + i, null));
+            assertTrue(registry.contains("Command" + i));
+        }
+        assertFalse(registry.contains("command100"));
+        assertNull(registry.get("command", null));
+    }
+
+    @Test
+    public void shouldResolveCommandOfTheSuperclass() throws Exception {
+        final Method method = BaseTest.class.getMethod("command");
+        final Command baseCommand = new Command("command", BaseTest.class, method);
+        final Command defaultCommand = new Command("command", CommandRegistryTest.class);
+        final Map<String, Map<Class<?>, Command>> commands = new HashMap<>();
+        register(commands, "command", BaseTest.class, baseCommand);
+        register(commands, "command", null, defaultCommand);
+        final CommandRegistry registry = new CommandRegistry(commands);
+
+        assertSame(baseCommand, registry.get("Command", SubTest.class));
+        // memoized
+        assertSame(baseCommand, registry.get("Command", SubTest.class));
+        assertSame(defaultCommand, registry.get("command", CommandRegistryTest.class));
+        assertSame(defaultCommand, registry.get("command", null));
+    }
+
+    private static void register(final Map<String, Map<Class<?>, Command>> commands, final String name,
+                                 final Class<?> type, final Command command) {
+        commands.computeIfAbsent(name, n -> new HashMap<>()).put(type, command);
+    }
+
+}
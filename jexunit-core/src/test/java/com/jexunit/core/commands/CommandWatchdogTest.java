@@ -0,0 +1,123 @@
+package com.jexunit.core.commands;
+
+import com.jexunit.core.context.TestContext;
+import com.jexunit.core.context.TestContextManager;
+import com.jexunit.core.model.Metadata;
+import com.jexunit.core.model.TestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CommandWatchdogTest {
+
+    private final TestContext context = new TestContext();
+    private TestContext previousContext;
+
+    @Before
+    public void setTestContext() {
+        previousContext = TestContextManager.getTestContext();
+        TestContextManager.setTestContext(context);
+    }
+
+    @After
+    public void resetTestContext() {
+        TestContextManager.setTestContext(previousContext);
+    }
+
+    @Test
+    public void shouldInvokeCommandWithTestContext() throws Exception {
+        TestContextManager.add("watchdog", "value");
+        final String[] value = new String[1];
+        CommandWatchdog.invoke(p -> value[0] = TestContextManager.get(String.class, "watchdog") + p[0],
+                new Object[]{"1"}, 1000, testCase("sheet1"), "cell: A1");
+        assertEquals("value1", value[0]);
+    }
+
+    @Test
+    public void shouldPropagateException() throws Exception {
+        try {
+            CommandWatchdog.invoke(p -> {
+                throw new AssertionError("failed");
+            }, new Object[0], 1000, testCase("sheet1"), "cell: A1");
+            fail("AssertionError expected");
+        } catch (final AssertionError e) {
+            assertEquals("failed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldInterruptHangingCommand() throws Exception {
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final long start = System.nanoTime();
+        try {
+            CommandWatchdog.invoke(p -> {
+                try {
+                    Thread.sleep(60_000);
+                } catch (final InterruptedException e) {
+                    interrupted.countDown();
+                }
+            }, new Object[0], 50, testCase("sheet1"), "cell: B7");
+            fail("TimeoutException expected");
+        } catch (final TimeoutException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("cell: B7"));
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 10_000);
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldFailSheetFastAfterTimeout() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            CommandWatchdog.invoke(p -> {
+                boolean released = false;
+                while (!released) {
+                    try {
+                        released = release.await(10, TimeUnit.SECONDS);
+                    } catch (final InterruptedException e) {
+                        // ignore the interrupt, so the test command keeps running
+                    }
+                }
+            }, new Object[0], 50, testCase("sheet1"), "cell: C3");
+            fail("TimeoutException expected");
+        } catch (final TimeoutException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("cell: C3"));
+        } finally {
+            release.countDown();
+        }
+
+        try {
+            CommandWatchdog.checkTestContext(testCase("sheet1"));
+            fail("IllegalStateException expected");
+        } catch (final IllegalStateException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("cell: C3"));
+        }
+        assertSame(context, TestContextManager.getTestContext());
+
+        // the next worksheet gets a new test-context
+        TestContextManager.add("watchdog", "value");
+        CommandWatchdog.checkTestContext(testCase("sheet2"));
+        assertNotSame(context, TestContextManager.getTestContext());
+        assertNull(TestContextManager.get(String.class, "watchdog"));
+        CommandWatchdog.checkTestContext(testCase("sheet1"));
+    }
+
+    private static TestCase<?> testCase(final String sheet) {
+        final TestCase<Metadata> testCase = new TestCase<>(new Metadata());
+        testCase.getMetadata().setSource("watchdog.xlsx");
+        testCase.getMetadata().setTestGroup(sheet);
+        return testCase;
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.jexunit.core.commands;
+
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class MethodInvokerTest {
+
+    public static String concat(final String a, final int b) {
+        return a + b;
+    }
+
+    public long add(final long a, final long b) {
+        return a + b;
+    }
+
+    public void throwException(final String message) {
+        throw new IllegalStateException(message);
+    }
+
+    @Test
+    public void shouldInvokeStaticMethod() throws Exception {
+        final MethodInvoker invoker = MethodInvoker.of(getClass().getMethod("concat", String.class, int.class));
+        assertEquals("a1", invoker.invoke(null, "a", 1));
+        assertThat(MethodInvoker.of(getClass().getMethod("concat", String.class, int.class)), is(invoker));
+    }
+
+    @Test
+    public void shouldInvokeInstanceMethodLikeReflection() throws Exception {
+        final MethodInvoker invoker = MethodInvoker.of(getClass().getMethod("add", long.class, long.class));
+        assertEquals(3L, invoker.invoke(this, 1L, 2L));
+        // widening of the primitives is done by the reflection
+        assertEquals(3L, invoker.invoke(this, 1, 2L));
+
+        try {
+            invoker.invoke(this, null, 2L);
+            fail("IllegalArgumentException expected");
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            invoker.invoke(new Object(), 1L, 2L);
+            fail("IllegalArgumentException expected");
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void shouldWrapExceptions() throws Exception {
+        final MethodInvoker invoker = MethodInvoker.of(getClass().getMethod("throwException", String.class));
+        try {
+            invoker.invoke(this, "failure");
+            fail("InvocationTargetException expected");
+        } catch (final InvocationTargetException e) {
+            assertThat(e.getCause(), instanceOf(IllegalStateException.class));
+            assertEquals("failure", e.getCause().getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.jexunit.core.commands;
+
+import com.jexunit.core.commands.annotation.TestCommand;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestCommandClasspathScanTest {
+
+    public static class MethodCommands {
+
+        @TestCommand("classpath-scan-method")
+        public static void command() {
+        }
+
+        @TestCommand("classpath-scan-method2")
+        public static void command2() {
+        }
+    }
+
+    @TestCommand("classpath-scan-type")
+    public static class TypeCommand {
+
+        public void run() {
+        }
+    }
+
+    @Test
+    public void shouldScanRootsInParallelInOrderOfTheRoots() throws Exception {
+        final Path root1 = Files.createTempDirectory("jexunit-root");
+        final Path root2 = Files.createTempDirectory("jexunit-root");
+        copyClassFile(TypeCommand.class, root1);
+        copyClassFile(MethodCommands.class, root2);
+        final List<File> roots = Arrays.asList(root1.toFile(), root2.toFile());
+
+        final List<String> expected = Arrays.asList("type " + TypeCommand.class.getName(),
+                "method " + MethodCommands.class.getName());
+        assertEquals(expected, new ArrayList<>(TestCommandClasspathScan.scan(roots, null, 1)));
+        assertEquals(expected, new ArrayList<>(TestCommandClasspathScan.scan(roots, null, 2)));
+    }
+
+    private static void copyClassFile(final Class<?> clazz, final Path directory) throws Exception {
+        final String classFile = clazz.getName().replace('.', '/') + ".class";
+        final Path target = directory.resolve(classFile);
+        Files.createDirectories(target.getParent());
+        try (final InputStream in = clazz.getClassLoader().getResourceAsStream(classFile)) {
+            Files.copy(in, target);
+        }
+    }
+
+}
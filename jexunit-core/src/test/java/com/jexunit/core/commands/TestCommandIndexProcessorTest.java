@@ -0,0 +1,137 @@
+package com.jexunit.core.commands;
+
+import com.jexunit.core.commands.annotation.TestCommand;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class TestCommandIndexProcessorTest {
+
+    public static class MethodCommands {
+
+        @TestCommand("index-method")
+        public static void command() {
+        }
+    }
+
+    public static class OtherMethodCommands {
+
+        @TestCommand("index-other-method")
+        public static void command() {
+        }
+    }
+
+    @TestCommand("index-type")
+    public static class TypeCommand {
+
+        public void run() {
+        }
+    }
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldWriteAndMergeIndex() throws Exception {
+        final File sources = folder.newFolder("src", "index");
+        final File classes = folder.newFolder("classes");
+        final File methods = write(sources, "Methods.java", "package index;\n"
+                + "public class Methods {\n"
+                + "    @com.jexunit.core.commands.annotation.TestCommand(\"a\")\n"
+                + "    public static void a() {\n"
+                + "    }\n"
+                + "}\n");
+        final File type = write(sources, "Type.java", "package index;\n"
+                + "@com.jexunit.core.commands.annotation.TestCommand\n"
+                + "public class Type {\n"
+                + "    public void run() {\n"
+                + "    }\n"
+                + "}\n");
+        final File index = new File(classes, TestCommandIndexProcessor.INDEX_LOCATION);
+
+        compile(classes, methods);
+        assertEquals(Collections.singletonList("method index.Methods"), Files.readAllLines(index.toPath()));
+        // an incremental build only compiles the changed sources
+        compile(classes, type);
+        assertEquals(Arrays.asList("method index.Methods", "type index.Type"), Files.readAllLines(index.toPath()));
+    }
+
+    @Test
+    public void shouldScanRootsWithoutIndex() throws Exception {
+        final Path indexedRoot = folder.newFolder("indexed").toPath();
+        final Path scannedRoot = folder.newFolder("scanned").toPath();
+        copyClassFile(TypeCommand.class, indexedRoot);
+        // not listed in the index, so it must not be found
+        copyClassFile(OtherMethodCommands.class, indexedRoot);
+        final Path index = indexedRoot.resolve(TestCommandIndexProcessor.INDEX_LOCATION);
+        Files.createDirectories(index.getParent());
+        Files.write(index, ("type " + TypeCommand.class.getName() + "\n").getBytes(StandardCharsets.UTF_8));
+        copyClassFile(MethodCommands.class, scannedRoot);
+
+        final Map<File, Collection<String>> indexes;
+        try (final URLClassLoader classLoader = new URLClassLoader(
+                new URL[]{indexedRoot.toUri().toURL(), scannedRoot.toUri().toURL()}, null)) {
+            indexes = TestCommandClasspathScan.readIndexes(classLoader);
+        }
+        assertEquals(Collections.singleton(indexedRoot.toFile().getAbsoluteFile()), indexes.keySet());
+
+        final List<File> roots = Arrays.asList(indexedRoot.toFile(), scannedRoot.toFile());
+        final List<String> expected = Arrays.asList("type " + TypeCommand.class.getName(),
+                "method " + MethodCommands.class.getName());
+        assertEquals(expected, new ArrayList<>(TestCommandClasspathScan.scan(roots, indexes, null, 1)));
+        assertEquals(expected, new ArrayList<>(TestCommandClasspathScan.scan(roots, indexes, null, 2)));
+    }
+
+    @Test
+    public void shouldIgnoreOutdatedEntries() {
+        final TestCommandScanner scanner = new TestCommandScanner();
+        scanner.reportEntries(Arrays.asList("method com.jexunit.core.commands.Deleted",
+                "type com.jexunit.core.commands.Deleted", "type " + MethodCommands.class.getName(),
+                "method " + MethodCommands.class.getName(), "type " + TypeCommand.class.getName()), null);
+        final CommandRegistry registry = scanner.createRegistry();
+
+        assertTrue(registry.contains("index-method"));
+        assertTrue(registry.contains("index-type"));
+        assertFalse(registry.contains("index-other-method"));
+    }
+
+    private static File write(final File directory, final String name, final String source) throws Exception {
+        final File file = new File(directory, name);
+        Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static void compile(final File classes, final File source) throws Exception {
+        // the classes of jexunit-base (the annotations)
+        final String classpath = new File(TestCommand.class.getProtectionDomain().getCodeSource().getLocation()
+                .toURI()).getPath();
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(out.toString(), 0, compiler.run(null, out, out, "-classpath", classpath, "-processor",
+                TestCommandIndexProcessor.class.getName(), "-d", classes.getPath(), source.getPath()));
+    }
+
+    private static void copyClassFile(final Class<?> clazz, final Path directory) throws Exception {
+        final String classFile = clazz.getName().replace('.', '/') + ".class";
+        final Path target = directory.resolve(classFile);
+        Files.createDirectories(target.getParent());
+        try (final InputStream in = clazz.getClassLoader().getResourceAsStream(classFile)) {
+            Files.copy(in, target);
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.jexunit.core.commands;
+
+import com.jexunit.core.spi.CommandInterceptor;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+
+public class TestCommandInvocationHandlerTest {
+
+    private final List<String> calls = new ArrayList<>();
+
+    public void command(final String value) {
+        calls.add("command " + value);
+    }
+
+    private CommandInterceptor interceptor(final String name) {
+        return (command, parameters, next) -> {
+            calls.add(name + " before " + command.getName());
+            next.invoke(parameters[0] + name);
+            calls.add(name + " after");
+        };
+    }
+
+    @Test
+    public void shouldInvokeCommandWithoutInterceptorsDirectly() throws Exception {
+        final Method method = getClass().getMethod("command", String.class);
+        final Command command = new Command("cmd", getClass(), method);
+
+        final Invocable invocable = TestCommandInvocationHandler.getInvocationHandler(command, method, this);
+        assertThat(invocable, instanceOf(TestCommandInvocationHandler.class));
+        invocable.invoke("x");
+        TestCommandInvocationHandler.createChain(command, method, new CommandInterceptor[0]).invoke(this,
+                new Object[]{"y"});
+        assertEquals(Arrays.asList("command x", "command y"), calls);
+    }
+
+    @Test
+    public void shouldChainInterceptorsInOrder() throws Exception {
+        final Method method = getClass().getMethod("command", String.class);
+        final Command command = new Command("cmd", getClass(), method);
+
+        final TestCommandInvocationHandler.Chain chain = TestCommandInvocationHandler.createChain(command, method,
+                new CommandInterceptor[]{interceptor("a"), interceptor("b")});
+        chain.invoke(this, new Object[]{"x"});
+        assertEquals(Arrays.asList("a before cmd", "b before cmd", "command xab", "b after", "a after"), calls);
+
+        // the chain is reused for another instance
+        final TestCommandInvocationHandlerTest other = new TestCommandInvocationHandlerTest();
+        chain.invoke(other, new Object[]{"y"});
+        assertEquals(Arrays.asList("command yab"), other.calls);
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.jexunit.core.commands;
+
+import com.jexunit.core.commands.annotation.TestCommand;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+
+public class TestCommandScanCacheTest {
+
+    public static class ScanCacheCommands {
+
+        @TestCommand("scan-cache-test")
+        public static void command() {
+        }
+    }
+
+    private static final String ENTRY = "method " + ScanCacheCommands.class.getName();
+
+    @Test
+    public void shouldScanOnlyChangedClasspathEntries() throws Exception {
+        final Path classes = Files.createTempDirectory("jexunit-classes");
+        final Path cacheDirectory = Files.createTempDirectory("jexunit-scan-cache");
+        final TestCommandScanCache cache = new TestCommandScanCache(cacheDirectory);
+
+        // an empty directory doesn't contain any test commands
+        assertThat(cache.scan(classes.toFile()).isEmpty(), is(true));
+
+        copyClassFile(ScanCacheCommands.class, classes);
+        final Collection<String> entries = cache.scan(classes.toFile());
+        assertThat(entries, hasItem(ENTRY));
+
+        final File[] cacheEntries = cacheDirectory.toFile().listFiles((dir, name) -> name.endsWith(".idx"));
+        assertEquals(1, cacheEntries.length);
+
+        // the unchanged directory is read out of the cache
+        final Path cacheEntry = cacheEntries[0].toPath();
+        Files.write(cacheEntry, new String(Files.readAllBytes(cacheEntry), "UTF-8")
+                .replace(ENTRY, "method com.example.Cached").getBytes("UTF-8"));
+        assertThat(cache.scan(classes.toFile()),
+                is(Collections.singletonList("method com.example.Cached")));
+
+        // the changed directory is scanned again
+        Files.write(classes.resolve("readme.txt"), "changed".getBytes("UTF-8"));
+        final Collection<String> rescanned = cache.scan(classes.toFile());
+        assertThat(rescanned, hasItem(ENTRY));
+        assertThat(rescanned, not(hasItem("method com.example.Cached")));
+    }
+
+    private static void copyClassFile(final Class<?> clazz, final Path directory) throws Exception {
+        final String classFile = clazz.getName().replace('.', '/') + ".class";
+        final Path target = directory.resolve(classFile);
+        Files.createDirectories(target.getParent());
+        try (final InputStream in = clazz.getClassLoader().getResourceAsStream(classFile)) {
+            Files.copy(in, target);
+        }
+    }
+
+}
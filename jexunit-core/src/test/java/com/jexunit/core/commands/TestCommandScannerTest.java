@@ -0,0 +1,54 @@
+package com.jexunit.core.commands;
+
+import com.jexunit.core.commands.annotation.TestCommand;
+import com.jexunit.core.dataprovider.CsvFile;
+import com.jexunit.core.dataprovider.ExcelFile;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TestCommandScannerTest {
+
+    public static class FirstCsvTest {
+        @CsvFile
+        static String file = "first.csv";
+
+        @TestCommand("shared")
+        public void shared() {
+        }
+    }
+
+    public static class SecondCsvTest {
+        @CsvFile
+        static String file = "second.csv";
+
+        @TestCommand("shared")
+        public void shared() {
+        }
+    }
+
+    public static class ExcelTest {
+        @ExcelFile
+        static String file = "test.xlsx";
+
+        @TestCommand("shared")
+        public void shared() {
+        }
+    }
+
+    @Test
+    public void shouldScopeCommandMethodsToTheirTestClass() {
+        final TestCommandScanner scanner = new TestCommandScanner();
+        scanner.reportMethodAnnotation(TestCommand.class, FirstCsvTest.class.getName(), "shared");
+        scanner.reportMethodAnnotation(TestCommand.class, SecondCsvTest.class.getName(), "shared");
+        scanner.reportMethodAnnotation(TestCommand.class, ExcelTest.class.getName(), "shared");
+        final CommandRegistry registry = scanner.createRegistry();
+
+        assertEquals(FirstCsvTest.class, registry.get("shared", FirstCsvTest.class).getImplementation());
+        assertEquals(SecondCsvTest.class, registry.get("shared", SecondCsvTest.class).getImplementation());
+        assertEquals(ExcelTest.class, registry.get("shared", ExcelTest.class).getImplementation());
+        assertNull(registry.get("shared", null));
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.jexunit.core.data;
+
+import com.jexunit.core.JExUnitConfig;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class OgnlExpressionCacheTest {
+
+    @Test
+    public void shouldParseExpressionOnce() throws Exception {
+        final Object expression = OgnlExpressionCache.get("subEntityListAttr[intAttr=1].stringAttr");
+        assertSame(expression, OgnlExpressionCache.get("subEntityListAttr[intAttr=1].stringAttr"));
+        assertEquals("subEntityListAttr[\"intAttr=1\"].stringAttr", expression.toString());
+    }
+
+    @Test
+    public void shouldClearCacheIfFull() throws Exception {
+        final String cacheSize = JExUnitConfig.getStringProperty(JExUnitConfig.ConfigKey.OGNL_EXPRESSION_CACHE_SIZE);
+        try {
+            JExUnitConfig.setConfigProperty(JExUnitConfig.ConfigKey.OGNL_EXPRESSION_CACHE_SIZE.getKey(), "2");
+            OgnlExpressionCache.clear();
+            OgnlExpressionCache.get("attr1");
+            OgnlExpressionCache.get("attr2");
+            assertEquals(2, OgnlExpressionCache.size());
+            OgnlExpressionCache.get("attr3");
+            assertEquals(1, OgnlExpressionCache.size());
+        } finally {
+            JExUnitConfig.setConfigProperty(JExUnitConfig.ConfigKey.OGNL_EXPRESSION_CACHE_SIZE.getKey(), cacheSize);
+        }
+    }
+
+}
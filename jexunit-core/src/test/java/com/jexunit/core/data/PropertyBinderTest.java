@@ -0,0 +1,110 @@
+package com.jexunit.core.data;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PropertyBinderTest {
+
+    /**
+     * Entity recording if the setters are called via OGNL.
+     */
+    public static class Entity {
+        private int number;
+        private String text;
+        private Object tag;
+        private Entity child;
+        private final List<Entity> children = new ArrayList<>();
+        private boolean viaOgnl;
+
+        public int getNumber() {
+            return number;
+        }
+
+        public void setNumber(final int number) {
+            this.number = number;
+            this.viaOgnl = isCalledViaOgnl();
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public void setText(final String text) {
+            this.text = text;
+            this.viaOgnl = isCalledViaOgnl();
+        }
+
+        public Object getTag() {
+            return tag;
+        }
+
+        public void setTag(final Object tag) {
+            this.tag = tag;
+            this.viaOgnl = isCalledViaOgnl();
+        }
+
+        public Entity getChild() {
+            return child;
+        }
+
+        public void setChild(final Entity child) {
+            this.child = child;
+        }
+
+        public List<Entity> getChildren() {
+            return children;
+        }
+
+        private static boolean isCalledViaOgnl() {
+            for (final StackTraceElement element : new Throwable().getStackTrace()) {
+                if (element.getClassName().startsWith("ognl.")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @Test
+    public void shouldSetSimpleAndNestedPropertiesDirectly() throws Exception {
+        final Entity entity = new Entity();
+        PropertyBinder.setProperty(entity, "number", "42.0");
+        assertEquals(42, entity.getNumber());
+        assertFalse(entity.viaOgnl);
+        PropertyBinder.setProperty(entity, "text", "value");
+        assertEquals("value", entity.getText());
+        assertFalse(entity.viaOgnl);
+
+        entity.setChild(new Entity());
+        PropertyBinder.setProperty(entity, "child.number", "7");
+        assertEquals(7, entity.getChild().getNumber());
+        assertFalse(entity.getChild().viaOgnl);
+    }
+
+    @Test
+    public void shouldFallBackToOgnl() throws Exception {
+        final Entity entity = new Entity();
+        // type not converted by the PropertyUtils
+        PropertyBinder.setProperty(entity, "tag", "value");
+        assertEquals("value", entity.getTag());
+        assertTrue(entity.viaOgnl);
+
+        // the child has to be created by the null handler
+        PropertyBinder.setProperty(entity, "child.number", "3");
+        assertEquals(3, entity.getChild().getNumber());
+        assertTrue(entity.getChild().viaOgnl);
+
+        // indexed and conditional expressions
+        PropertyBinder.setProperty(entity, "children[0].text", "first");
+        PropertyBinder.setProperty(entity, "children[text=first].number", "2");
+        assertEquals(2, entity.getChildren().get(0).getNumber());
+        assertTrue(entity.getChildren().get(0).viaOgnl);
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.jexunit.core.data;
+
+import com.jexunit.core.JExUnitConfig;
+import org.junit.After;
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TestDataFormatterTest {
+
+    @After
+    public void resetConfig() {
+        JExUnitConfig.setConfigProperty(JExUnitConfig.ConfigKey.DATE_PATTERN.getKey(),
+                JExUnitConfig.ConfigKey.DATE_PATTERN.getDefaultConfig());
+    }
+
+    @Test
+    public void shouldFormatLikeSimpleDateFormat() {
+        final Date date = new GregorianCalendar(2020, Calendar.FEBRUARY, 1, 13, 14, 15).getTime();
+        final String datePattern = JExUnitConfig.getStringProperty(JExUnitConfig.ConfigKey.DATE_PATTERN);
+        final String dateTimePattern = JExUnitConfig.getStringProperty(JExUnitConfig.ConfigKey.DATETIME_PATTERN);
+
+        assertThat(TestDataFormatter.formatDate(date), equalTo(new SimpleDateFormat(datePattern).format(date)));
+        assertThat(TestDataFormatter.formatDateTime(date),
+                equalTo(new SimpleDateFormat(dateTimePattern).format(date)));
+    }
+
+    @Test
+    public void shouldUseChangedPattern() throws Exception {
+        final Date date = new GregorianCalendar(2020, Calendar.FEBRUARY, 1).getTime();
+        assertThat(TestDataFormatter.formatDate(date), equalTo("01.02.2020"));
+
+        JExUnitConfig.setConfigProperty(JExUnitConfig.ConfigKey.DATE_PATTERN.getKey(), "yyyy-MM-dd");
+        assertThat(TestDataFormatter.formatDate(date), equalTo("2020-02-01"));
+        assertThat(TestDataFormatter.parseDate("2020-02-01"), equalTo(date));
+    }
+
+    @Test
+    public void shouldParseLenient() throws Exception {
+        final Date date = new GregorianCalendar(2020, Calendar.FEBRUARY, 1).getTime();
+
+        assertThat(TestDataFormatter.parseDate("01.02.2020"), equalTo(date));
+        assertThat(TestDataFormatter.parseDate("1.2.2020"), equalTo(date));
+        assertThat(TestDataFormatter.parseDate("01.02.2020 13:14:15"), equalTo(date));
+    }
+
+    @Test
+    public void shouldParseTwoDigitYearLikeSimpleDateFormat() throws Exception {
+        JExUnitConfig.setConfigProperty(JExUnitConfig.ConfigKey.DATE_PATTERN.getKey(), "dd.MM.yy");
+        final SimpleDateFormat simpleDateFormat = new SimpleDateFormat("dd.MM.yy");
+
+        assertThat(TestDataFormatter.parseDate("15.03.85"),
+                equalTo(new GregorianCalendar(1985, Calendar.MARCH, 15).getTime()));
+        assertThat(TestDataFormatter.parseDate("15.03.20"), equalTo(simpleDateFormat.parse("15.03.20")));
+        assertThat(TestDataFormatter.parseDate("15.03.1885"), equalTo(simpleDateFormat.parse("15.03.1885")));
+        assertThat(TestDataFormatter.formatDate(new GregorianCalendar(1985, Calendar.MARCH, 15).getTime()),
+                equalTo("15.03.85"));
+    }
+
+    @Test
+    public void shouldUseSimpleDateFormatForDifferentPatternLetters() throws Exception {
+        final Date date = new GregorianCalendar(2020, Calendar.FEBRUARY, 1, 13, 14, 15).getTime();
+        for (final String pattern : new String[]{"dd.MM.yyyy u", "HH:mm:ss.S"}) {
+            JExUnitConfig.setConfigProperty(JExUnitConfig.ConfigKey.DATE_PATTERN.getKey(), pattern);
+            final SimpleDateFormat simpleDateFormat = new SimpleDateFormat(pattern);
+            assertThat(TestDataFormatter.formatDate(date), equalTo(simpleDateFormat.format(date)));
+            assertThat(TestDataFormatter.parseDate(simpleDateFormat.format(date)),
+                    equalTo(simpleDateFormat.parse(simpleDateFormat.format(date))));
+        }
+    }
+
+    @Test
+    public void shouldFormatNumbers() {
+        assertThat(TestDataFormatter.formatNumber(1d), equalTo("1"));
+        assertThat(TestDataFormatter.formatNumber(-200d), equalTo("-200"));
+        assertThat(TestDataFormatter.formatNumber(123456789d), equalTo("123456789"));
+        assertThat(TestDataFormatter.formatNumber(1.999d), equalTo("1.999"));
+        assertThat(TestDataFormatter.formatNumber(1e12), equalTo(String.valueOf(Integer.MAX_VALUE)));
+    }
+
+}
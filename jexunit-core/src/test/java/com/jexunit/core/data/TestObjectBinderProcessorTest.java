@@ -0,0 +1,120 @@
+package com.jexunit.core.data;
+
+import com.jexunit.core.model.Metadata;
+import com.jexunit.core.model.TestCase;
+import com.jexunit.core.model.TestCell;
+import ognl.MethodFailedException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class TestObjectBinderProcessorTest {
+
+    private static final String ENTITY_SOURCE = "package binder.model;\n"
+            + "public class Entity {\n"
+            + "    public enum Kind { SMALL, LARGE }\n"
+            + "    private int number;\n"
+            + "    private String text;\n"
+            + "    private Kind kind;\n"
+            + "    private Entity child;\n"
+            + "    public int getNumber() { return number; }\n"
+            + "    public void setNumber(final int number) { this.number = number; }\n"
+            + "    public String getText() { return text; }\n"
+            + "    public void setText(final String text) {\n"
+            + "        if (\"fail\".equals(text)) {\n"
+            + "            throw new IllegalArgumentException(text);\n"
+            + "        }\n"
+            + "        this.text = text;\n"
+            + "    }\n"
+            + "    public Kind getKind() { return kind; }\n"
+            + "    public void setKind(final Kind kind) { this.kind = kind; }\n"
+            + "    public Entity getChild() { return child; }\n"
+            + "    public void setChild(final Entity child) { this.child = child; }\n"
+            + "}\n";
+
+    private static final String COMMANDS_SOURCE = "package binder;\n"
+            + "public class Commands {\n"
+            + "    @com.jexunit.core.commands.annotation.TestCommand(\"entity\")\n"
+            + "    public static void entity(final binder.model.Entity entity) {\n"
+            + "    }\n"
+            + "}\n";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldGenerateBinderForCommandParameterTypes() throws Exception {
+        final File generatedSources = folder.newFolder("generated");
+        final File sources = folder.newFolder("src", "binder", "model");
+        final File classes = folder.newFolder("classes");
+        final File entitySource = new File(sources, "Entity.java");
+        final File commandsSource = new File(sources.getParentFile(), "Commands.java");
+        Files.write(entitySource.toPath(), ENTITY_SOURCE.getBytes(StandardCharsets.UTF_8));
+        Files.write(commandsSource.toPath(), COMMANDS_SOURCE.getBytes(StandardCharsets.UTF_8));
+
+        // the classes of jexunit-base (the annotations and the binder interface) and OGNL
+        final String classpath = new File(TestObjectBinder.class.getProtectionDomain().getCodeSource().getLocation()
+                .toURI()).getPath() + File.pathSeparator + new File(MethodFailedException.class.getProtectionDomain()
+                .getCodeSource().getLocation().toURI()).getPath();
+        // the binder is generated into the package of the command (not into the package of the type)
+        final File binder = new File(generatedSources, "binder/binder_model_Entity" + TestObjectBinders.SUFFIX
+                + ".java");
+        compile(classpath, "-proc:only", "-processor", TestObjectBinderProcessor.class.getName(), "-s",
+                generatedSources.getPath(), "-d", classes.getPath(), entitySource.getPath(),
+                commandsSource.getPath());
+        assertTrue(binder.exists());
+        assertEquals("binder.model.Entity binder.binder_model_Entity" + TestObjectBinders.SUFFIX + "\n",
+                new String(Files.readAllBytes(new File(classes, TestObjectBinderProcessor.INDEX_LOCATION).toPath()),
+                        StandardCharsets.UTF_8));
+        compile(classpath, "-proc:none", "-d", classes.getPath(), entitySource.getPath(), binder.getPath());
+
+        try (final URLClassLoader classLoader = new URLClassLoader(new URL[]{classes.toURI().toURL()},
+                getClass().getClassLoader())) {
+            final Class<?> type = classLoader.loadClass("binder.model.Entity");
+            final TestObjectBinder<Object> generated = TestObjectBinders.getBinder(type);
+            assertNotNull(generated);
+            assertFalse(generated.setProperty(type.getDeclaredConstructor().newInstance(), "child.text", "nested"));
+            try {
+                generated.setProperty(type.getDeclaredConstructor().newInstance(), "text", "fail");
+                fail("The exception of the setter is expected.");
+            } catch (final MethodFailedException e) {
+                // the same exception like OGNL throws
+                assertTrue(e.getReason() instanceof IllegalArgumentException);
+            }
+
+            final TestCase<Metadata> testCase = new TestCase<>(new Metadata());
+            testCase.getValues().put("number", new TestCell("number", "42.0"));
+            testCase.getValues().put("text", new TestCell("text", "value"));
+            testCase.getValues().put("kind", new TestCell("kind", "LARGE"));
+            testCase.getValues().put("child.text", new TestCell("child.text", "nested"));
+            final Object entity = TestObjectHelper.createObject(testCase, type);
+
+            assertEquals(42, TestObjectHelper.getProperty(entity, "number"));
+            assertEquals("value", TestObjectHelper.getProperty(entity, "text"));
+            assertEquals("LARGE", String.valueOf(TestObjectHelper.getProperty(entity, "kind")));
+            assertEquals("nested", TestObjectHelper.getProperty(entity, "child.text"));
+        }
+        assertNull(TestObjectBinders.getBinder(PropertyBinderTest.Entity.class));
+    }
+
+    private static void compile(final String classpath, final String... arguments) {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final String[] args = Arrays.copyOf(new String[]{"-classpath", classpath}, arguments.length + 2);
+        System.arraycopy(arguments, 0, args, 2, arguments.length);
+        assertEquals(out.toString(), 0, compiler.run(null, out, out, args));
+    }
+
+}
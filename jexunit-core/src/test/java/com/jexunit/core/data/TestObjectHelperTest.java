@@ -7,8 +7,11 @@ import com.jexunit.core.model.TestCell;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -166,6 +169,38 @@ public class TestObjectHelperTest {
         assertThat(actual.getSubEntityListAttr2().get(1).getIntAttr(), is(2));
     }
 
+    /**
+     * Test creating new instances of the test-object in parallel. Each thread uses its own (reused) OGNL context.
+     *
+     * @throws Exception in case that something goes wrong
+     */
+    @Test
+    public void testCreateObjectTestCaseClassOfT_parallel() throws Exception {
+        // prepare
+        final List<TestCase<?>> testCases = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            final TestCase<?> testCase = new TestCase<>();
+            testCase.getValues().putAll(testValuesSubElement2);
+            testCase.getValues().put("intAttr", new TestCell("A", String.valueOf(i)));
+            testCases.add(testCase);
+        }
+
+        // act
+        final List<TestModelBase> actual = testCases.parallelStream().map(testCase -> {
+            try {
+                return TestObjectHelper.createObject(testCase, TestModelBase.class);
+            } catch (final Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).collect(Collectors.toList());
+
+        // assert
+        for (int i = 0; i < actual.size(); i++) {
+            assertThat(actual.get(i).getIntAttr(), is(i));
+            assertThat(actual.get(i).getSubEntityAttr2().getIntAttr(), is(38));
+        }
+    }
+
     /**
      * Test to set only a subset of an already existing instance of the test-object.
      *
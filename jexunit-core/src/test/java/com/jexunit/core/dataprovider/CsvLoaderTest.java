@@ -0,0 +1,149 @@
+package com.jexunit.core.dataprovider;
+
+import com.jexunit.core.model.TestCase;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class CsvLoaderTest {
+
+    private static final String CSV = "﻿this is a comment line\n"
+            + "command,val1,val2,exception,comment\r\n"
+            + "test,1,\"2,5\",true,\"a \"\"quoted\"\" comment\"\n"
+            + ",ignored\n"
+            + "test,\"multi\nline\",äöü,,\n"
+            + "command,val1,multiline\n"
+            + "multi,1,true\n"
+            + "multi,2\n"
+            + "multi,3\n"
+            + "report,some message,\"\"";
+
+    @Test
+    public void shouldReadCsv() throws Exception {
+        final Path file = createFile("csv-loader-test.csv", CSV);
+        try {
+            final List<TestCase<ExcelMetadata>> testCases = readTestCases(
+                    new CsvLoader(false, '\0', "UTF-8").loadTestData(file.toString()));
+            assertTestCases(file, testCases);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void shouldStreamTsv() throws Exception {
+        final Path file = createFile("csv-loader-test.tsv", CSV.replace(',', '\t').replace("2\t5", "2,5"));
+        try (final Stream<Object[]> testData = new CsvLoader(false, '\0', "UTF-8").streamTestData(file.toString())) {
+            assertTestCases(file, readTestCases(testData.collect(Collectors.toList())));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void shouldReadFileAsTest() throws Exception {
+        final Path file = createFile("csv-loader-test.csv", CSV);
+        try {
+            final Collection<Object[]> testData = new CsvLoader().loadTestData(file.toString());
+            assertEquals(1, testData.size());
+            assertEquals(4, readTestCases(testData).size());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void shouldReadTimeout() throws Exception {
+        final Path file = createFile("csv-loader-timeout.csv", "command,val1,timeout\ntest,1,250\ntest,2,\n");
+        try {
+            final List<TestCase<ExcelMetadata>> testCases = readTestCases(
+                    new CsvLoader(false, '\0', "UTF-8").loadTestData(file.toString()));
+            assertEquals(2, testCases.size());
+            assertEquals(Long.valueOf(250), testCases.get(0).getTimeout());
+            assertNull(testCases.get(1).getTimeout());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void shouldReadLinesExceedingTheMappedWindow() throws Exception {
+        final Path file = createFile("csv-reader-test.csv", CSV);
+        try {
+            final List<List<String>> expected = readLines(file, CsvReader.DEFAULT_WINDOW_SIZE);
+            assertEquals(10, expected.size());
+            for (int windowSize = 1; windowSize <= 16; windowSize++) {
+                assertEquals("window size " + windowSize, expected, readLines(file, windowSize));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void assertTestCases(final Path file, final List<TestCase<ExcelMetadata>> testCases) {
+        assertEquals(4, testCases.size());
+
+        final TestCase<ExcelMetadata> first = testCases.get(0);
+        assertEquals("test", first.getTestCommand());
+        assertEquals(file.getFileName().toString(), first.getMetadata().getSheet());
+        assertEquals("A3", first.getMetadata().getIdentifier());
+        assertEquals("1", first.getValues().get("val1").getValue());
+        assertEquals("2,5", first.getValues().get("val2").getValue());
+        assertEquals("C3", first.getValues().get("val2").getIdentifier());
+        assertTrue(first.isExceptionExpected());
+        assertEquals("a \"quoted\" comment", first.getComment());
+
+        final TestCase<ExcelMetadata> second = testCases.get(1);
+        assertEquals("multi\nline", second.getValues().get("val1").getValue());
+        assertEquals("äöü", second.getValues().get("val2").getValue());
+        assertFalse(second.getValues().containsKey("exception"));
+
+        final TestCase<ExcelMetadata> multiline = testCases.get(2);
+        assertEquals("multi", multiline.getTestCommand());
+        assertTrue(multiline.isMultiline());
+        assertEquals(3, multiline.getMultilineValues().size());
+        assertEquals("3", multiline.getMultilineValues().get(2).get("val1").getValue());
+
+        final TestCase<ExcelMetadata> report = testCases.get(3);
+        assertEquals("report", report.getTestCommand());
+        assertEquals("some message", report.getValues().get("val1").getValue());
+        assertFalse(report.isMultiline());
+    }
+
+    private Path createFile(final String name, final String content) throws Exception {
+        final Path directory = Files.createTempDirectory("jexunit-csv");
+        directory.toFile().deleteOnExit();
+        return Files.write(directory.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TestCase<ExcelMetadata>> readTestCases(final Collection<Object[]> testData) {
+        final List<TestCase<ExcelMetadata>> testCases = new ArrayList<>();
+        for (final Object[] test : testData) {
+            testCases.addAll((List<TestCase<ExcelMetadata>>) test[0]);
+        }
+        return testCases;
+    }
+
+    private List<List<String>> readLines(final Path file, final int windowSize) throws Exception {
+        final List<List<String>> lines = new ArrayList<>();
+        try (final CsvReader reader = new CsvReader(file, ',', StandardCharsets.UTF_8, windowSize)) {
+            List<ExcelCell> line;
+            while ((line = reader.nextLine()) != null) {
+                lines.add(line.stream().map(c -> c == null ? null : c.getAddress() + "=" + c.getValue())
+                        .collect(Collectors.toList()));
+            }
+        }
+        return lines;
+    }
+
+}
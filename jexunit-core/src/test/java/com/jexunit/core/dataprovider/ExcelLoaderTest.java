@@ -1,11 +1,24 @@
 package com.jexunit.core.dataprovider;
 
+import com.jexunit.core.JExUnitConfig;
 import com.jexunit.core.model.TestCase;
+import com.jexunit.core.model.TestCell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -71,4 +84,209 @@ public class ExcelLoaderTest {
         assertEquals(4, testCases.get(0).getValues().size());
     }
 
+    @Test
+    public void shouldReadExcelStreaming() throws Exception {
+        final String excelFile = Paths.get("", "src", "test", "resources", "loader-test.xlsx").toAbsolutePath()
+                .toString();
+        final Map<String, List<TestCase<ExcelMetadata>>> expected = new ExcelLoader(true, false, false)
+                .readExcel(excelFile);
+        final Map<String, List<TestCase<ExcelMetadata>>> data = new ExcelLoader(true, false, true)
+                .readExcel(excelFile);
+        assertSameTestCases(expected, data);
+    }
+
+    @Test
+    public void shouldReadExcelTransposedStreaming() throws Exception {
+        final String excelFile = Paths.get("", "src", "test", "resources", "loader-test-transpose.xlsx")
+                .toAbsolutePath().toString();
+        final Map<String, List<TestCase<ExcelMetadata>>> expected = new ExcelLoader(false, true, false)
+                .readExcel(excelFile);
+        final Map<String, List<TestCase<ExcelMetadata>>> data = new ExcelLoader(false, true, true)
+                .readExcel(excelFile);
+        assertSameTestCases(expected, data);
+    }
+
+    @Test
+    public void shouldStreamTestData() throws Exception {
+        final String excelFile = Paths.get("", "src", "test", "resources", "loader-test.xlsx").toAbsolutePath()
+                .toString();
+        final ExcelLoader target = new ExcelLoader(false, false, true);
+        final Collection<Object[]> expected = target.loadTestData(excelFile);
+        try (final Stream<Object[]> testData = target.streamTestData(excelFile)) {
+            final List<Object[]> data = testData.collect(Collectors.toList());
+            assertEquals(expected.size(), data.size());
+            assertEquals(8, data.size());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldStreamTestCasesOneByOne() throws Exception {
+        final String excelFile = Paths.get("", "src", "test", "resources", "loader-test.xlsx").toAbsolutePath()
+                .toString();
+        final List<Object[]> expected = new ArrayList<>(new ExcelLoader(false, false, false).loadTestData(excelFile));
+        try (final Stream<Object[]> testData = new ExcelLoader(false, false, true).streamTestData(excelFile)) {
+            final List<Object[]> data = testData.collect(Collectors.toList());
+            assertEquals(expected.size(), data.size());
+            for (int i = 0; i < data.size(); i++) {
+                final List<TestCase<ExcelMetadata>> expectedTestCases = (List<TestCase<ExcelMetadata>>) expected.get(i)[0];
+                final List<TestCase<ExcelMetadata>> testCases = (List<TestCase<ExcelMetadata>>) data.get(i)[0];
+                assertEquals(1, testCases.size());
+                final TestCase<ExcelMetadata> testCase = testCases.get(0);
+                assertEquals(expectedTestCases.get(0).getTestCommand(), testCase.getTestCommand());
+                assertEquals(expectedTestCases.get(0).getMetadata().getDetailedIdentifier(),
+                        testCase.getMetadata().getDetailedIdentifier());
+                assertEquals(excelFile, testCase.getMetadata().getSource());
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectFormulaEvaluationWhenStreaming() {
+        new ExcelLoader(true, false, true, FormulaEvaluation.ON_READ);
+    }
+
+    @Test
+    public void shouldEvaluateFormulas() throws Exception {
+        final File excelFile = File.createTempFile("formula-test", ".xlsx");
+        excelFile.deleteOnExit();
+        try (final XSSFWorkbook workbook = new XSSFWorkbook();
+             final FileOutputStream out = new FileOutputStream(excelFile)) {
+            final Sheet helper = workbook.createSheet("helper");
+            helper.createRow(0).createCell(0).setCellFormula("1+2");
+            final Sheet worksheet = workbook.createSheet("worksheet1");
+            final Row header = worksheet.createRow(0);
+            header.createCell(0).setCellValue("command");
+            header.createCell(1).setCellValue("val1");
+            final Row row = worksheet.createRow(1);
+            row.createCell(0).setCellValue("test");
+            row.createCell(1).setCellFormula("helper!A1*2");
+            // the formulas are not evaluated on writing, so there are no cached results
+            workbook.write(out);
+        }
+
+        assertEquals("6", readFirstValue(excelFile, FormulaEvaluation.ALL));
+        assertEquals("6", readFirstValue(excelFile, FormulaEvaluation.ON_READ));
+        assertEquals("0", readFirstValue(excelFile, FormulaEvaluation.CACHED));
+    }
+
+    private String readFirstValue(final File excelFile, final FormulaEvaluation formulaEvaluation) throws Exception {
+        final Map<String, List<TestCase<ExcelMetadata>>> data = new ExcelLoader(true, false, false, formulaEvaluation)
+                .readExcel(excelFile.getAbsolutePath());
+        return data.get("worksheet1").get(0).getValues().get("val1").getValue();
+    }
+
+    @Test
+    public void shouldReadWorksheetsInParallel() throws Exception {
+        final File excelFile = File.createTempFile("parallel-test", ".xlsx");
+        excelFile.deleteOnExit();
+        try (final XSSFWorkbook workbook = new XSSFWorkbook();
+             final FileOutputStream out = new FileOutputStream(excelFile)) {
+            for (int i = 0; i < 20; i++) {
+                final Sheet worksheet = workbook.createSheet("worksheet" + i);
+                final Row header = worksheet.createRow(0);
+                header.createCell(0).setCellValue("command");
+                header.createCell(1).setCellValue("val1");
+                for (int r = 1; r <= 50; r++) {
+                    final Row row = worksheet.createRow(r);
+                    row.createCell(0).setCellValue("test");
+                    row.createCell(1).setCellValue(i * 1000 + r);
+                }
+            }
+            workbook.write(out);
+        }
+
+        final Map<String, List<TestCase<ExcelMetadata>>> expected = new ExcelLoader(true, false, false)
+                .readExcel(excelFile.getAbsolutePath());
+        final String parallelism = JExUnitConfig.getStringProperty(JExUnitConfig.ConfigKey.EXCEL_PARALLELISM);
+        try {
+            JExUnitConfig.setConfigProperty(JExUnitConfig.ConfigKey.EXCEL_PARALLELISM.getKey(), "4");
+            assertSameTestCases(expected, new ExcelLoader(true, false, false).readExcel(excelFile.getAbsolutePath()));
+            assertSameTestCases(expected, new ExcelLoader(true, false, true).readExcel(excelFile.getAbsolutePath()));
+        } finally {
+            JExUnitConfig.setConfigProperty(JExUnitConfig.ConfigKey.EXCEL_PARALLELISM.getKey(), parallelism);
+        }
+        assertEquals(20, expected.size());
+        assertEquals("worksheet19", new ArrayList<>(expected.keySet()).get(19));
+    }
+
+    @Test
+    public void shouldCacheTestData() throws Exception {
+        final String excelFile = Paths.get("", "src", "test", "resources", "loader-test.xlsx").toAbsolutePath()
+                .toString();
+        final Map<String, List<TestCase<ExcelMetadata>>> expected = new ExcelLoader().readExcel(excelFile);
+
+        final Path cacheDirectory = Files.createTempDirectory("jexunit-cache");
+        final String directory = JExUnitConfig.getStringProperty(JExUnitConfig.ConfigKey.EXCEL_CACHE_DIRECTORY);
+        try {
+            JExUnitConfig.setConfigProperty(JExUnitConfig.ConfigKey.EXCEL_CACHE_DIRECTORY.getKey(),
+                    cacheDirectory.toString());
+            assertSameTestCases(expected, new ExcelLoader().readExcel(excelFile));
+            final File[] entries = cacheDirectory.toFile().listFiles();
+            assertNotNull(entries);
+            assertEquals(1, entries.length);
+
+            // the second read will come from the cache
+            assertSameTestCases(expected, new ExcelLoader().readExcel(excelFile));
+            assertEquals(1, cacheDirectory.toFile().listFiles().length);
+
+            // changed configuration -> new cache entry
+            new ExcelLoader(true, true).readExcel(excelFile);
+            assertEquals(2, cacheDirectory.toFile().listFiles().length);
+        } finally {
+            JExUnitConfig.setConfigProperty(JExUnitConfig.ConfigKey.EXCEL_CACHE_DIRECTORY.getKey(), directory);
+            for (final File file : cacheDirectory.toFile().listFiles()) {
+                file.delete();
+            }
+            Files.delete(cacheDirectory);
+        }
+    }
+
+    @Test
+    public void shouldReuseParsedWorkbook() throws Exception {
+        final String excelFile = Paths.get("", "src", "test", "resources", "loader-test.xlsx").toAbsolutePath()
+                .toString();
+        final String cacheSize = JExUnitConfig.getStringProperty(JExUnitConfig.ConfigKey.EXCEL_WORKBOOK_CACHE_SIZE);
+        try {
+            JExUnitConfig.setConfigProperty(JExUnitConfig.ConfigKey.EXCEL_WORKBOOK_CACHE_SIZE.getKey(), "2");
+            final Map<String, List<TestCase<ExcelMetadata>>> first = new ExcelLoader().readExcel(excelFile);
+            final Map<String, List<TestCase<ExcelMetadata>>> expected = ExcelWorkbookCache.copy(first);
+            // modifying the test data (i.e. on validating the commands) must not change the cached test data
+            first.get("worksheet1").clear();
+
+            final Map<String, List<TestCase<ExcelMetadata>>> second = new ExcelLoader().readExcel(excelFile);
+            assertSameTestCases(expected, second);
+            assertNotSame(second.get("worksheet1").get(0),
+                    new ExcelLoader().readExcel(excelFile).get("worksheet1").get(0));
+        } finally {
+            JExUnitConfig.setConfigProperty(JExUnitConfig.ConfigKey.EXCEL_WORKBOOK_CACHE_SIZE.getKey(), cacheSize);
+            ExcelWorkbookCache.clear();
+        }
+    }
+
+    private void assertSameTestCases(final Map<String, List<TestCase<ExcelMetadata>>> expected,
+                                     final Map<String, List<TestCase<ExcelMetadata>>> actual) {
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+        for (final Map.Entry<String, List<TestCase<ExcelMetadata>>> sheet : expected.entrySet()) {
+            final List<TestCase<ExcelMetadata>> testCases = actual.get(sheet.getKey());
+            assertEquals(sheet.getValue().size(), testCases.size());
+            for (int i = 0; i < testCases.size(); i++) {
+                final TestCase<ExcelMetadata> expectedTestCase = sheet.getValue().get(i);
+                final TestCase<ExcelMetadata> testCase = testCases.get(i);
+                assertEquals(expectedTestCase.getTestCommand(), testCase.getTestCommand());
+                assertEquals(expectedTestCase.getMetadata().getIdentifier(), testCase.getMetadata().getIdentifier());
+                assertEquals(expectedTestCase.getMetadata().getSheet(), testCase.getMetadata().getSheet());
+                assertEquals(expectedTestCase.getMultiline(), testCase.getMultiline());
+                assertEquals(expectedTestCase.isDisabled(), testCase.isDisabled());
+                assertEquals(expectedTestCase.getMultilineValues().size(), testCase.getMultilineValues().size());
+                assertEquals(expectedTestCase.getValues().keySet(), testCase.getValues().keySet());
+                for (final Map.Entry<String, TestCell> value : expectedTestCase.getValues().entrySet()) {
+                    assertEquals(value.getValue().getValue(), testCase.getValues().get(value.getKey()).getValue());
+                    assertEquals(value.getValue().getIdentifier(),
+                            testCase.getValues().get(value.getKey()).getIdentifier());
+                }
+            }
+        }
+    }
+
 }
@@ -0,0 +1,64 @@
+package com.jexunit.core.dataprovider;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestDataFilesTest {
+
+    public static class ExcelFieldTest {
+        @ExcelFile
+        private static final String FILE = "src/test/resources/excel.xlsx";
+    }
+
+    public static class CsvMethodTest {
+        @CsvFile
+        public static List<String> getFiles() {
+            return Arrays.asList("first.csv", "second.csv");
+        }
+    }
+
+    public static class AmbiguousTest {
+        @CsvFile
+        static String[] files = {"first.csv"};
+
+        @CsvFile
+        public static String getFile() {
+            return "second.csv";
+        }
+    }
+
+    @Test
+    public void shouldReadFileNamesOfAnnotatedField() throws Exception {
+        assertTrue(TestDataFiles.isAnnotatedOnce(ExcelFieldTest.class, ExcelFile.class));
+        assertFalse(TestDataFiles.isAnnotatedOnce(ExcelFieldTest.class, CsvFile.class));
+        assertEquals(Collections.singletonList("src/test/resources/excel.xlsx"), TestDataFiles.getFileNames(
+                ExcelFieldTest.class, TestDataFiles.getAnnotatedElement(ExcelFieldTest.class, ExcelFile.class)));
+    }
+
+    @Test
+    public void shouldReadFileNamesOfAnnotatedMethod() throws Exception {
+        assertTrue(TestDataFiles.isAnnotatedOnce(CsvMethodTest.class, CsvFile.class));
+        assertEquals(Arrays.asList("first.csv", "second.csv"), TestDataFiles.getFileNames(CsvMethodTest.class,
+                TestDataFiles.getAnnotatedElement(CsvMethodTest.class, CsvFile.class)));
+    }
+
+    @Test
+    public void shouldPreferFieldOfAmbiguousDefinition() throws Exception {
+        assertFalse(TestDataFiles.isAnnotatedOnce(AmbiguousTest.class, CsvFile.class));
+        assertEquals(Collections.singletonList("first.csv"), TestDataFiles.getFileNames(AmbiguousTest.class,
+                TestDataFiles.getAnnotatedElement(AmbiguousTest.class, CsvFile.class)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectClassWithoutDefinition() {
+        TestDataFiles.getAnnotatedElement(TestDataFilesTest.class, ExcelFile.class);
+    }
+
+}
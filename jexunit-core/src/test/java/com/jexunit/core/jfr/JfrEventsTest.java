@@ -0,0 +1,70 @@
+package com.jexunit.core.jfr;
+
+import com.jexunit.core.data.TestObjectHelper;
+import com.jexunit.core.model.Metadata;
+import com.jexunit.core.model.TestCase;
+import com.jexunit.core.model.TestCell;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assume.assumeTrue;
+
+public class JfrEventsTest {
+
+    public static class Person {
+        private String name;
+        private int age;
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        public void setAge(final int age) {
+            this.age = age;
+        }
+    }
+
+    @Test
+    public void shouldNotBeginEventsWithoutRecording() {
+        assertNull(JfrEvents.beginObjectCreation());
+        assertNull(JfrEvents.beginCommandInvocation());
+    }
+
+    @Test
+    public void shouldRecordObjectCreation() throws Exception {
+        assumeTrue(JfrEvents.isAvailable());
+
+        final TestCase<Metadata> testCase = new TestCase<>(new Metadata());
+        testCase.getValues().put("name", new TestCell("name", "Max"));
+        testCase.getValues().put("age", new TestCell("age", "42"));
+
+        final Path file = Files.createTempFile("jexunit", ".jfr");
+        try {
+            try (final Recording recording = new Recording()) {
+                recording.enable("com.jexunit.ObjectCreation").withoutThreshold();
+                recording.start();
+                TestObjectHelper.createObject(testCase, Person.class);
+                recording.stop();
+                recording.dump(file);
+            }
+            final List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().equals("com.jexunit.ObjectCreation"))
+                    .collect(Collectors.toList());
+            assertEquals(1, events.size());
+            assertEquals(Person.class.getName(), events.get(0).getClass("type").getName());
+            assertEquals(2, events.get(0).getInt("properties"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.jexunit.core.statistics;
+
+import com.jexunit.core.JExUnitConfig;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CommandStatisticsTest {
+
+    private static final String PID = ManagementFactory.getRuntimeMXBean().getName().split("@")[0];
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldAddProcessIdToReportFileName() {
+        assertEquals("target/jexunit-statistics-" + PID + ".txt",
+                CommandStatistics.getReportFileName("target/jexunit-statistics.txt"));
+        assertEquals("target/statistics-" + PID, CommandStatistics.getReportFileName("target/statistics"));
+        assertEquals("target.dir/statistics-" + PID, CommandStatistics.getReportFileName("target.dir/statistics"));
+    }
+
+    @Test
+    public void shouldWriteReportPerProcess() throws Exception {
+        final String key = JExUnitConfig.ConfigKey.STATISTICS_REPORT_FILE.getKey();
+        final String file = JExUnitConfig.getStringProperty(JExUnitConfig.ConfigKey.STATISTICS_REPORT_FILE);
+        try {
+            JExUnitConfig.setConfigProperty(key, new File(folder.getRoot(), "reports/statistics.txt").getPath());
+            CommandStatistics.record("statistics-command", "statistics-sheet", 1_000_000L);
+            CommandStatistics.writeReport();
+
+            final File report = new File(folder.getRoot(), "reports/statistics-" + PID + ".txt");
+            final String content = new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8);
+            assertTrue(content, content.contains("statistics-command"));
+            assertTrue(content, content.contains("statistics-sheet"));
+        } finally {
+            JExUnitConfig.setConfigProperty(key, file);
+        }
+    }
+
+}
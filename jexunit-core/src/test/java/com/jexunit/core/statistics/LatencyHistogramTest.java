@@ -0,0 +1,52 @@
+package com.jexunit.core.statistics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void shouldCountSmallValuesExactly() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 50; i++) {
+            histogram.record(i);
+        }
+        assertEquals(50, histogram.getCount());
+        assertEquals(1275, histogram.getTotal());
+        assertEquals(50, histogram.getMax());
+        assertEquals(25, histogram.getValueAtPercentile(50));
+        assertEquals(50, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void shouldRecordLargeValuesWithSmallRelativeError() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000_000L);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000_000L, histogram.getMax());
+        assertWithinError(500_000_000L, histogram.getValueAtPercentile(50));
+        assertWithinError(900_000_000L, histogram.getValueAtPercentile(90));
+        assertWithinError(990_000_000L, histogram.getValueAtPercentile(99));
+        assertEquals(1_000_000_000L, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void shouldHandleEmptyAndExtremeValues() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        histogram.record(-1);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+    }
+
+    private static void assertWithinError(final long expected, final long actual) {
+        assertTrue(String.format("expected %d, but was %d", expected, actual),
+                actual >= expected && actual <= expected * 1.04);
+    }
+
+}
@@ -9,11 +9,12 @@ import com.jexunit.core.spi.AfterSheet;
 import com.jexunit.core.spi.BeforeSheet;
 import com.jexunit.core.spi.ServiceRegistry;
 import com.jexunit.core.spi.data.DataProvider;
+import com.jexunit.core.statistics.CommandStatistics;
 import org.junit.jupiter.api.extension.*;
 
-import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 public class JExUnitExtension implements TestTemplateInvocationContextProvider, BeforeAllCallback, AfterAllCallback {
@@ -33,6 +34,8 @@ public class JExUnitExtension implements TestTemplateInvocationContextProvider,
 
     @Override
     public void afterAll(final ExtensionContext context) throws Exception {
+        CommandStatistics.writeReport();
+
         final String afterClass = JExUnitConfig.getStringProperty(JExUnitConfig.ConfigKey.AFTER_EXCEL);
         if (afterClass != null && !afterClass.isEmpty()) {
             final Class<?> cls = Class.forName(afterClass);
@@ -75,25 +78,34 @@ public class JExUnitExtension implements TestTemplateInvocationContextProvider,
             throw new IllegalStateException("Failed to initialize DataProvider", e);
         }
 
-        final List<TestTemplateInvocationContext> invocations = new ArrayList<>();
-        final int sheetCount = dataProvider.numberOfTests();
-
-        for (int i = 0; i < sheetCount; i++) {
-            try {
-                final Collection<Object[]> testData = dataProvider.loadTestData(i);
-                CommandValidator.validateCommands(testData);
-                final String identifier = dataProvider.getIdentifier(i);
+        // the test data is read lazily: each file (and worksheet) will be read not until its invocation is requested
+        final DataProvider provider = dataProvider;
+        return IntStream.range(0, provider.numberOfTests()).boxed()
+                .flatMap(i -> provideInvocationContexts(provider, i));
+    }
 
-                for (final Object[] row : testData) {
-                    @SuppressWarnings("unchecked")
-                    final List<TestCase<?>> testCases = (List<TestCase<?>>) row[0];
-                    invocations.add(new JExUnitInvocationContext(testCases, identifier));
-                }
-            } catch (final Exception e) {
-                throw new IllegalStateException("Failed to load test data for sheet " + i, e);
-            }
+    /**
+     * Create the invocation contexts for the test (file) with the given number. The test data will be read, when the
+     * stream is consumed.
+     *
+     * @param dataProvider the data provider to load the test data with
+     * @param test         the number of the test (file)
+     * @return the stream of invocation contexts
+     */
+    @SuppressWarnings("unchecked")
+    private Stream<TestTemplateInvocationContext> provideInvocationContexts(final DataProvider dataProvider,
+                                                                            final int test) {
+        final String identifier = dataProvider.getIdentifier(test);
+        final Stream<Object[]> testData;
+        try {
+            testData = dataProvider.streamTestData(test);
+        } catch (final Exception e) {
+            throw new IllegalStateException("Failed to load test data for sheet " + test, e);
         }
 
-        return invocations.stream();
+        return testData.map(row -> {
+            CommandValidator.validateCommands(Collections.singletonList(row));
+            return new JExUnitInvocationContext((List<TestCase<?>>) row[0], identifier);
+        });
     }
 }
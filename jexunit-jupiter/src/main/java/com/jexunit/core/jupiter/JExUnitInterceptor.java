@@ -22,7 +22,8 @@ class JExUnitInterceptor implements InvocationInterceptor {
 
     private static final Logger log = Logger.getLogger(JExUnitInterceptor.class.getName());
 
-    private final List<TestCase<?>> testCases;
+    // released after running the test cases (the interceptor is held by the engine until the end of the test run)
+    private List<TestCase<?>> testCases;
     private final String identifier;
 
     JExUnitInterceptor(final List<TestCase<?>> testCases, final String identifier) {
@@ -38,6 +39,8 @@ class JExUnitInterceptor implements InvocationInterceptor {
 
         invocation.skip();
 
+        final List<TestCase<?>> testCases = this.testCases;
+        this.testCases = null;
         if (testCases == null || testCases.isEmpty()) {
             return;
         }
@@ -9,25 +9,32 @@ import java.util.List;
 
 class JExUnitInvocationContext implements TestTemplateInvocationContext {
 
-    private final List<TestCase<?>> testCases;
+    // the test cases are handed over to the interceptor, so they can be released after running them
+    private List<TestCase<?>> testCases;
     private final String identifier;
+    private final String displayName;
 
     JExUnitInvocationContext(final List<TestCase<?>> testCases, final String identifier) {
         this.testCases = testCases;
         this.identifier = identifier;
-    }
 
-    @Override
-    public String getDisplayName(final int invocationIndex) {
         final String name = identifier.substring(identifier.lastIndexOf('/') + 1);
         if (testCases != null && !testCases.isEmpty() && testCases.get(0).getMetadata() != null) {
-            return "[" + name + " - " + testCases.get(0).getMetadata().getTestGroup() + "]";
+            this.displayName = "[" + name + " - " + testCases.get(0).getMetadata().getTestGroup() + "]";
+        } else {
+            this.displayName = "[" + name + "]";
         }
-        return "[" + name + "]";
+    }
+
+    @Override
+    public String getDisplayName(final int invocationIndex) {
+        return displayName;
     }
 
     @Override
     public List<Extension> getAdditionalExtensions() {
-        return Collections.singletonList(new JExUnitInterceptor(testCases, identifier));
+        final List<TestCase<?>> cases = testCases;
+        testCases = null;
+        return Collections.singletonList(new JExUnitInterceptor(cases, identifier));
     }
 }